@@ -1,5 +1,7 @@
 package com.luxegem.dashboard.controller;
 
+import com.luxegem.dashboard.model.ChangeFeedResponse;
+import com.luxegem.dashboard.model.CreateBroadcastRequest;
 import com.luxegem.dashboard.model.DashboardResponse;
 import com.luxegem.dashboard.model.CreateInvoiceRequest;
 import com.luxegem.dashboard.model.CreateInventoryRequest;
@@ -138,8 +140,9 @@ public class DashboardController {
     @PatchMapping("/notifications/{id}/read")
     public NotificationResponse markNotificationRead(
             @RequestHeader("Authorization") String authorization,
-            @PathVariable Long id) {
-        return dashboardAggregationService.markNotificationRead(authorization, id);
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "SHOP") String scope) {
+        return dashboardAggregationService.markNotificationRead(authorization, id, scope);
     }
 
     @PatchMapping("/notifications/read-all")
@@ -154,4 +157,21 @@ public class DashboardController {
             @Valid @RequestBody CreateNotificationRequest request) {
         return dashboardAggregationService.createNotification(authorization, request);
     }
+
+    @PostMapping("/notifications/broadcasts")
+    public NotificationResponse createBroadcast(
+            @RequestHeader("Authorization") String authorization,
+            @Valid @RequestBody CreateBroadcastRequest request) {
+        return dashboardAggregationService.createBroadcast(authorization, request);
+    }
+
+    @GetMapping("/sync/changes")
+    @Operation(summary = "Delta Sync", description = "Invoices, inventory and notifications changed after the given cursor, plus deletions")
+    public ChangeFeedResponse changesSince(
+            @RequestHeader("Authorization") String authorization,
+            @RequestParam(defaultValue = "0") long since,
+            @RequestParam(defaultValue = "500") int limit,
+            @RequestParam(required = false) String types) {
+        return dashboardAggregationService.changesSince(authorization, since, limit, types);
+    }
 }
@@ -0,0 +1,13 @@
+package com.luxegem.dashboard.model;
+
+import java.util.List;
+
+public record ChangeFeedResponse(
+        long since,
+        long nextSince,
+        boolean hasMore,
+        List<InvoiceResponse> invoices,
+        List<InventoryItemResponse> inventory,
+        List<NotificationResponse> notifications,
+        List<SyncTombstone> tombstones) {
+}
@@ -0,0 +1,16 @@
+package com.luxegem.dashboard.model;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record CreateBroadcastRequest(
+        @NotBlank @Size(max = 120) String title,
+        @NotBlank @Size(max = 600) String message,
+        String type,
+        @NotNull String audience,
+        String role,
+        List<String> shopIds) {
+}
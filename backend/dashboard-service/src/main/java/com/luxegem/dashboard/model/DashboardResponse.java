@@ -7,6 +7,7 @@ public record DashboardResponse(
         List<MarketRateResponse> marketRates,
         List<InvoiceResponse> invoices,
         List<SalesCategoryResponse> salesByCategory,
-        List<StockAlertResponse> stockAlerts
+        List<StockAlertResponse> stockAlerts,
+        InventoryValuationResponse inventoryValuation
 ) {
 }
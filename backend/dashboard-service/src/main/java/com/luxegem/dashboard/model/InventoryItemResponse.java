@@ -0,0 +1,16 @@
+package com.luxegem.dashboard.model;
+
+public record InventoryItemResponse(
+                String itemCode,
+                String itemName,
+                String category,
+                String metalType,
+                String purity,
+                double grossWeight,
+                Double netWeight,
+                Double makingCharge,
+                double ratePerGram,
+                int stockQuantity,
+                String hsnCode,
+                String description) {
+}
@@ -0,0 +1,14 @@
+package com.luxegem.dashboard.model;
+
+import java.util.List;
+
+public record InventoryValuationResponse(
+        long rateVersion,
+        String ratesChangedAt,
+        List<MetalValuationResponse> metals,
+        long pieces,
+        double netWeightGrams,
+        double totalValue,
+        double unquotedWeightGrams
+) {
+}
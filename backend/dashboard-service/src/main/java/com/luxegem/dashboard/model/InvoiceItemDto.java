@@ -6,5 +6,8 @@ public record InvoiceItemDto(
         Double weight,
         Double rate,
         Double makingChargePercent,
-        Double gstRatePercent) {
+        Double gstRatePercent,
+        String itemCode,
+        String hsnCode,
+        Integer quantity) {
 }
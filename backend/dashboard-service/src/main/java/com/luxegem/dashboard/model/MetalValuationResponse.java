@@ -0,0 +1,11 @@
+package com.luxegem.dashboard.model;
+
+public record MetalValuationResponse(
+        String metalType,
+        String purity,
+        long pieces,
+        double netWeightGrams,
+        Double ratePerGram,
+        Double value
+) {
+}
@@ -0,0 +1,7 @@
+package com.luxegem.dashboard.model;
+
+public record SyncTombstone(
+        String entityType,
+        String key,
+        long changeSeq) {
+}
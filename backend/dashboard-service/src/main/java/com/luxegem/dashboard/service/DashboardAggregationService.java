@@ -1,11 +1,14 @@
 package com.luxegem.dashboard.service;
 
+import com.luxegem.dashboard.model.ChangeFeedResponse;
+import com.luxegem.dashboard.model.CreateBroadcastRequest;
 import com.luxegem.dashboard.model.DashboardResponse;
 import com.luxegem.dashboard.model.CreateInvoiceRequest;
 import com.luxegem.dashboard.model.CreateInventoryRequest;
 import com.luxegem.dashboard.model.CreateNotificationRequest;
 import com.luxegem.dashboard.model.InvoiceResponse;
 import com.luxegem.dashboard.model.InventoryResponse;
+import com.luxegem.dashboard.model.InventoryValuationResponse;
 import com.luxegem.dashboard.model.MarkAllReadResponse;
 import com.luxegem.dashboard.model.MarketRateResponse;
 import com.luxegem.dashboard.model.NotificationResponse;
@@ -95,7 +98,18 @@ public class DashboardAggregationService {
                 } catch (Exception e) {
                 }
 
-                return new DashboardResponse(overview, rates, invoices, categories, alerts);
+                InventoryValuationResponse valuation = null;
+                try {
+                        valuation = invoiceClient.get()
+                                        .uri("/api/inventory/valuation")
+                                        .header("Authorization", authorizationHeader)
+                                        .retrieve()
+                                        .bodyToMono(InventoryValuationResponse.class)
+                                        .block();
+                } catch (Exception e) {
+                }
+
+                return new DashboardResponse(overview, rates, invoices, categories, alerts, valuation);
         }
 
         public InvoiceResponse createInvoice(String authorizationHeader, CreateInvoiceRequest request) {
@@ -153,9 +167,11 @@ public class DashboardAggregationService {
                                 .block();
         }
 
-        public NotificationResponse markNotificationRead(String authorizationHeader, Long id) {
+        public NotificationResponse markNotificationRead(String authorizationHeader, Long id, String scope) {
                 return invoiceClient.method(HttpMethod.PATCH)
-                                .uri("/api/notifications/{id}/read", id)
+                                .uri(uriBuilder -> uriBuilder.path("/api/notifications/{id}/read")
+                                                .queryParam("scope", scope)
+                                                .build(id))
                                 .header("Authorization", authorizationHeader)
                                 .retrieve()
                                 .bodyToMono(NotificationResponse.class)
@@ -180,4 +196,31 @@ public class DashboardAggregationService {
                                 .bodyToMono(NotificationResponse.class)
                                 .block();
         }
+
+        public NotificationResponse createBroadcast(String authorizationHeader, CreateBroadcastRequest request) {
+                return invoiceClient.post()
+                                .uri("/api/notifications/broadcasts")
+                                .header("Authorization", authorizationHeader)
+                                .bodyValue(request)
+                                .retrieve()
+                                .bodyToMono(NotificationResponse.class)
+                                .block();
+        }
+
+        public ChangeFeedResponse changesSince(String authorizationHeader, long since, int limit, String types) {
+                return invoiceClient.get()
+                                .uri(uriBuilder -> {
+                                        var builder = uriBuilder.path("/api/sync/changes")
+                                                        .queryParam("since", since)
+                                                        .queryParam("limit", limit);
+                                        if (types != null && !types.isBlank()) {
+                                                builder.queryParam("types", types);
+                                        }
+                                        return builder.build();
+                                })
+                                .header("Authorization", authorizationHeader)
+                                .retrieve()
+                                .bodyToMono(ChangeFeedResponse.class)
+                                .block();
+        }
 }
@@ -0,0 +1,102 @@
+package com.luxegem.invoice.model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Prices a detailed invoice the way billing does now, in {@link Money} paise,
+ * against the BigDecimal and double round trips it replaced. Inputs are the
+ * inventory columns as loaded: weight to the milligram, rate and making charge
+ * to the paisa. Run with {@code -prof gc} to compare allocation per invoice.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class MoneyBenchmark {
+
+    private static final int GST_BASIS_POINTS = 300;
+
+    @Param({"1", "20", "500"})
+    private int lines;
+
+    private BigDecimal[] weights;
+    private BigDecimal[] rates;
+    private BigDecimal[] makingCharges;
+    private int[] quantities;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        weights = new BigDecimal[lines];
+        rates = new BigDecimal[lines];
+        makingCharges = new BigDecimal[lines];
+        quantities = new int[lines];
+        for (int i = 0; i < lines; i++) {
+            weights[i] = BigDecimal.valueOf(500 + random.nextInt(80_000), 3);
+            rates[i] = BigDecimal.valueOf(600_000 + random.nextInt(200_000), 2);
+            makingCharges[i] = BigDecimal.valueOf(random.nextInt(5_000_000), 2);
+            quantities[i] = 1 + random.nextInt(3);
+        }
+    }
+
+    /** Current path: every line in long paise, BigDecimal only for the invoice totals. */
+    @Benchmark
+    public TaxAndTotal money() {
+        long gross = 0;
+        long tax = 0;
+        for (int i = 0; i < lines; i++) {
+            long base = Money.lineValue(weights[i], rates[i], quantities[i]);
+            long taxable = base + Money.times(Money.of(makingCharges[i]), quantities[i]);
+            gross += taxable;
+            tax += Money.basisPoints(taxable, GST_BASIS_POINTS);
+        }
+        return TaxAndTotal.ofPaise(gross, Money.ratioBasisPoints(tax, gross), tax, gross + tax);
+    }
+
+    /**
+     * Previous path: BigDecimal line values and a making charge percentage for
+     * the line, then the calculator's double products and BigDecimal totals.
+     */
+    @Benchmark
+    public BigDecimal bigDecimalAndDouble(Blackhole lineTotals) {
+        long gross = 0;
+        long tax = 0;
+        for (int i = 0; i < lines; i++) {
+            BigDecimal sold = BigDecimal.valueOf(quantities[i]);
+            BigDecimal base = weights[i].multiply(rates[i]).multiply(sold);
+            BigDecimal making = makingCharges[i].multiply(sold);
+            double makingChargePercent = base.signum() == 0 ? 0.0
+                    : making.movePointRight(2).divide(base, 10, RoundingMode.HALF_UP).doubleValue();
+            lineTotals.consume(base.add(making).setScale(2, RoundingMode.HALF_UP).doubleValue());
+
+            long basePaise = Math.round(weights[i].doubleValue() * rates[i].doubleValue() * quantities[i] * 100);
+            long makingPaise = Math.round(basePaise * makingChargePercent / 100);
+            long taxable = basePaise + makingPaise;
+            gross += taxable;
+            tax += (taxable * GST_BASIS_POINTS + 5_000) / 10_000;
+        }
+        BigDecimal grossAmount = BigDecimal.valueOf(gross, 2);
+        BigDecimal taxAmount = BigDecimal.valueOf(tax, 2);
+        lineTotals.consume(gross == 0 ? BigDecimal.ZERO
+                : BigDecimal.valueOf(tax * 100).divide(BigDecimal.valueOf(gross), 2, RoundingMode.HALF_UP));
+        return grossAmount.add(taxAmount).subtract(BigDecimal.ZERO.setScale(2, RoundingMode.HALF_UP));
+    }
+}
@@ -2,8 +2,10 @@ package com.luxegem.invoice;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class InvoiceServiceApplication {
     public static void main(String[] args) {
         SpringApplication.run(InvoiceServiceApplication.class, args);
@@ -1,15 +1,19 @@
 package com.luxegem.invoice.controller;
 
+import com.luxegem.invoice.model.BillingStatsResponse;
 import com.luxegem.invoice.model.CreateDetailedInvoiceRequest;
 import com.luxegem.invoice.model.InvoiceDetailedResponse;
-import com.luxegem.invoice.model.InventoryItemResponse;
+import com.luxegem.invoice.model.InventoryPageResponse;
 import com.luxegem.invoice.service.BillingService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
+import java.security.Principal;
 import java.util.Map;
 
 @RestController
@@ -30,9 +34,9 @@ public class BillingController {
     @PostMapping("/invoices/detailed")
     @ResponseStatus(HttpStatus.CREATED)
     public InvoiceDetailedResponse createDetailedInvoice(
-            @RequestBody CreateDetailedInvoiceRequest request) {
+            @RequestBody CreateDetailedInvoiceRequest request, Principal principal) {
         logger.info("POST /api/billing/invoices/detailed - Creating detailed invoice for: {}", request.customer());
-        return billingService.createDetailedInvoice(request);
+        return billingService.createDetailedInvoice(request, shopId(principal));
     }
 
     /**
@@ -45,44 +49,73 @@ public class BillingController {
     }
 
     /**
-     * Get all available inventory items for billing
+     * Get the caller's available inventory items for billing, one page at a time
      */
-    @GetMapping("/items/available")
-    public List<InventoryItemResponse> getAvailableItems() {
-        logger.info("GET /api/billing/items/available - Fetching all available items");
-        return billingService.getAvailableItems();
+    @GetMapping(value = "/items/available", produces = MediaType.APPLICATION_JSON_VALUE)
+    public InventoryPageResponse getAvailableItems(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size,
+            Principal principal) {
+        String shopId = shopId(principal);
+        logger.info("GET /api/billing/items/available - Fetching page {} of available items for shop: {}", page, shopId);
+        return billingService.getCatalogue(shopId, null, null, page, size);
     }
 
     /**
-     * Search items by type (GOLD_18K, GOLD_22K, SILVER, DIAMOND, etc.)
+     * Stream every available item as NDJSON (Accept: application/x-ndjson)
      */
-    @GetMapping("/items/search")
-    public List<InventoryItemResponse> searchItemsByType(@RequestParam String type) {
+    @GetMapping(value = "/items/available", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAvailableItems(Principal principal) {
+        String shopId = shopId(principal);
+        logger.info("GET /api/billing/items/available - Streaming available items for shop: {}", shopId);
+        return streamCatalogue(shopId, null, null);
+    }
+
+    /**
+     * Search items by category (Necklace, Ring, Coin, etc.)
+     */
+    @GetMapping(value = "/items/search", produces = MediaType.APPLICATION_JSON_VALUE)
+    public InventoryPageResponse searchItemsByType(
+            @RequestParam String type,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size,
+            Principal principal) {
         logger.info("GET /api/billing/items/search?type={} - Searching items by type", type);
-        return billingService.searchItemsByType(type);
+        return billingService.getCatalogue(shopId(principal), type, null, page, size);
+    }
+
+    @GetMapping(value = "/items/search", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamItemsByType(@RequestParam String type, Principal principal) {
+        logger.info("GET /api/billing/items/search?type={} - Streaming items by type", type);
+        return streamCatalogue(shopId(principal), type, null);
     }
 
     /**
      * Get low stock alert items
      */
-    @GetMapping("/items/low-stock")
-    public List<InventoryItemResponse> getLowStockItems() {
+    @GetMapping(value = "/items/low-stock", produces = MediaType.APPLICATION_JSON_VALUE)
+    public InventoryPageResponse getLowStockItems(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size,
+            Principal principal) {
         logger.info("GET /api/billing/items/low-stock - Fetching low stock items");
-        return billingService.getLowStockItems();
+        return billingService.getCatalogue(shopId(principal), null, BillingService.LOW_STOCK_THRESHOLD, page, size);
+    }
+
+    @GetMapping(value = "/items/low-stock", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamLowStockItems(Principal principal) {
+        logger.info("GET /api/billing/items/low-stock - Streaming low stock items");
+        return streamCatalogue(shopId(principal), null, BillingService.LOW_STOCK_THRESHOLD);
     }
 
     /**
-     * Get billing statistics
+     * Get billing statistics for the caller's shop
      */
     @GetMapping("/stats")
-    public Map<String, Object> getBillingStats() {
-        logger.info("GET /api/billing/stats - Fetching billing statistics");
-        return Map.of(
-                "totalItems", billingService.getAvailableItems().size(),
-                "lowStockItems", billingService.getLowStockItems().size(),
-                "timestamp", System.currentTimeMillis(),
-                "status", "success"
-        );
+    public BillingStatsResponse getBillingStats(Principal principal) {
+        String shopId = shopId(principal);
+        logger.info("GET /api/billing/stats - Fetching billing statistics for shop: {}", shopId);
+        return billingService.getBillingStats(shopId);
     }
 
     /**
@@ -113,4 +146,14 @@ public class BillingController {
                 "description", "Create invoice with detailed items from inventory"
         );
     }
+
+    /** Written on an async dispatch, which SecurityConfig must permit. */
+    private ResponseEntity<StreamingResponseBody> streamCatalogue(String shopId, String category, Integer maxStock) {
+        StreamingResponseBody body = out -> billingService.writeCatalogue(shopId, category, maxStock, out);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    private String shopId(Principal principal) {
+        return principal != null ? principal.getName() : "admin";
+    }
 }
@@ -0,0 +1,56 @@
+package com.luxegem.invoice.controller;
+
+import com.luxegem.invoice.model.DomainEvent;
+import com.luxegem.invoice.security.JwtService;
+import com.luxegem.invoice.service.OutboxService;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+/**
+ * Read side of the outbox for other services. Callers keep their own offset
+ * (the id of the last event they processed) and pass it back as {@code after}.
+ * The feed spans every shop, so only service and admin tokens may read it.
+ */
+@RestController
+@RequestMapping("/api/events")
+public class EventController {
+
+    private final OutboxService outboxService;
+    private final JwtService jwtService;
+
+    public EventController(OutboxService outboxService, JwtService jwtService) {
+        this.outboxService = outboxService;
+        this.jwtService = jwtService;
+    }
+
+    @GetMapping
+    public List<DomainEvent> events(
+            @RequestHeader(value = "Authorization", required = false) String authorization,
+            @RequestParam(defaultValue = "0") long after,
+            @RequestParam(defaultValue = "500") int limit) {
+        String role = resolveRole(authorization);
+        if (!"service".equalsIgnoreCase(role) && !"admin".equalsIgnoreCase(role)) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Event feed requires a service token");
+        }
+        int safeLimit = Math.max(1, Math.min(limit, 1000));
+        return outboxService.readAfter(after, safeLimit);
+    }
+
+    private String resolveRole(String authorizationHeader) {
+        if (authorizationHeader == null || !authorizationHeader.startsWith("Bearer ")) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Bearer token required");
+        }
+        try {
+            return jwtService.extractRole(authorizationHeader.substring(7));
+        } catch (Exception e) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid token");
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.luxegem.invoice.controller;
+
+import com.luxegem.invoice.model.ExportFormat;
+import com.luxegem.invoice.service.ExportService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Principal;
+import java.time.LocalDate;
+
+/**
+ * File downloads of a shop's invoices and inventory, e.g. a year of invoices
+ * for GST filing: {@code GET /api/exports/invoices?from=2025-04-01&to=2026-03-31&format=CSV&gzip=true}.
+ */
+@RestController
+@RequestMapping("/api/exports")
+public class ExportController {
+
+    private static final MediaType TEXT_CSV = new MediaType("text", "csv", StandardCharsets.UTF_8);
+    private static final MediaType APPLICATION_GZIP = new MediaType("application", "gzip");
+
+    private final ExportService exportService;
+
+    public ExportController(ExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    @GetMapping("/invoices")
+    public ResponseEntity<StreamingResponseBody> exportInvoices(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String status,
+            @RequestParam(defaultValue = "CSV") ExportFormat format,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            Principal principal) {
+        String shopId = principal != null ? principal.getName() : "admin";
+        checkRange(from, to);
+        String selectedStatus = status == null || status.isBlank() ? null : status.trim();
+        StreamingResponseBody body = out -> exportService.writeInvoices(shopId, from, to, selectedStatus, format,
+                gzip, out);
+        return download("invoices", format, gzip, body);
+    }
+
+    @GetMapping("/inventory")
+    public ResponseEntity<StreamingResponseBody> exportInventory(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String category,
+            @RequestParam(defaultValue = "CSV") ExportFormat format,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            Principal principal) {
+        String shopId = principal != null ? principal.getName() : "admin";
+        checkRange(from, to);
+        String selectedCategory = category == null || category.isBlank() ? null : category.trim();
+        StreamingResponseBody body = out -> exportService.writeInventory(shopId, selectedCategory, from, to, format,
+                gzip, out);
+        return download("inventory", format, gzip, body);
+    }
+
+    private static void checkRange(LocalDate from, LocalDate to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "from must not be after to");
+        }
+    }
+
+    private static ResponseEntity<StreamingResponseBody> download(String name, ExportFormat format, boolean gzip,
+            StreamingResponseBody body) {
+        String filename = name + "-" + LocalDate.now() + (format == ExportFormat.CSV ? ".csv" : ".ndjson")
+                + (gzip ? ".gz" : "");
+        MediaType contentType = gzip ? APPLICATION_GZIP
+                : format == ExportFormat.CSV ? TEXT_CSV : MediaType.APPLICATION_NDJSON;
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+}
@@ -0,0 +1,59 @@
+package com.luxegem.invoice.controller;
+
+import com.luxegem.invoice.model.GstReportSnapshotResponse;
+import com.luxegem.invoice.service.GstReportService;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.security.Principal;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.Optional;
+
+/**
+ * Monthly GST summaries, e.g. {@code GET /api/reports/gst/2026-09}. Open months
+ * are aggregated on every request; finalized months are served from their
+ * stored snapshot.
+ */
+@RestController
+@RequestMapping("/api/reports/gst")
+public class GstReportController {
+
+    private final GstReportService gstReportService;
+
+    public GstReportController(GstReportService gstReportService) {
+        this.gstReportService = gstReportService;
+    }
+
+    @GetMapping("/{period}")
+    public ResponseEntity<StreamingResponseBody> monthlyReport(@PathVariable YearMonth period, Principal principal) {
+        String shopId = principal != null ? principal.getName() : "admin";
+        Optional<byte[]> finalized = gstReportService.finalizedReport(shopId, period);
+        if (finalized.isPresent()) {
+            byte[] body = finalized.get();
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .contentLength(body.length)
+                    .cacheControl(CacheControl.maxAge(Duration.ofDays(365)).cachePrivate().immutable())
+                    .body(out -> out.write(body));
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CacheControl.noStore())
+                .body(out -> gstReportService.writeLiveReport(shopId, period, out));
+    }
+
+    /** Freeze a past month once its return has been filed. */
+    @PostMapping("/{period}/finalize")
+    public GstReportSnapshotResponse finalizeReport(@PathVariable YearMonth period, Principal principal) {
+        String shopId = principal != null ? principal.getName() : "admin";
+        return gstReportService.finalizeReport(shopId, period);
+    }
+}
@@ -2,19 +2,27 @@ package com.luxegem.invoice.controller;
 
 import com.luxegem.invoice.entity.InventoryEntity;
 import com.luxegem.invoice.model.CreateInventoryRequest;
+import com.luxegem.invoice.model.InventoryImportJobResponse;
 import com.luxegem.invoice.model.InventoryResponse;
-import com.luxegem.invoice.model.NotificationType;
+import com.luxegem.invoice.model.InventoryValuationResponse;
 import com.luxegem.invoice.repository.InventoryRepository;
-import com.luxegem.invoice.service.NotificationService;
+import com.luxegem.invoice.service.InventoryImportService;
+import com.luxegem.invoice.service.InventoryValuationService;
+import com.luxegem.invoice.service.OutboxService;
+import com.luxegem.invoice.service.SkuAllocator;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -25,11 +33,19 @@ import java.security.Principal;
 public class InventoryController {
 
     private final InventoryRepository inventoryRepository;
-    private final NotificationService notificationService;
+    private final OutboxService outboxService;
+    private final SkuAllocator skuAllocator;
+    private final InventoryImportService importService;
+    private final InventoryValuationService valuationService;
 
-    public InventoryController(InventoryRepository inventoryRepository, NotificationService notificationService) {
+    public InventoryController(InventoryRepository inventoryRepository, OutboxService outboxService,
+            SkuAllocator skuAllocator, InventoryImportService importService,
+            InventoryValuationService valuationService) {
         this.inventoryRepository = inventoryRepository;
-        this.notificationService = notificationService;
+        this.outboxService = outboxService;
+        this.skuAllocator = skuAllocator;
+        this.importService = importService;
+        this.valuationService = valuationService;
     }
 
     @GetMapping
@@ -44,10 +60,11 @@ public class InventoryController {
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
+    @Transactional
     public InventoryResponse createInventory(@Valid @RequestBody CreateInventoryRequest request, Principal principal) {
         String shopId = principal != null ? principal.getName() : "admin";
         String itemCode = (request.itemCode() == null || request.itemCode().isBlank())
-                ? generateSku()
+                ? skuAllocator.next()
                 : request.itemCode().trim().toUpperCase();
 
         InventoryEntity entity = new InventoryEntity(
@@ -65,20 +82,35 @@ public class InventoryController {
                 request.description());
         entity.setShopId(shopId);
         InventoryEntity saved = inventoryRepository.save(entity);
-        notificationService.createSystemNotification(
-                shopId,
-                "Inventory item added",
-                String.format("%s (%s) added to inventory", saved.getItemName(), saved.getItemCode()),
-                NotificationType.INFO);
+        outboxService.stockChanged(saved, saved.getStockQuantity(), "CREATED");
 
         return toResponse(saved);
     }
 
-    private String generateSku() {
-        long nextId = inventoryRepository.findTopByOrderByIdDesc()
-                .map(InventoryEntity::getId)
-                .orElse(0L) + 1;
-        return "AJ-INV-" + String.format("%04d", nextId);
+    /**
+     * Bulk import from a CSV or NDJSON upload. Returns at once with a job id;
+     * poll {@code GET /api/inventory/imports/{jobId}} for progress and row errors.
+     */
+    @PostMapping(value = "/imports", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public InventoryImportJobResponse importInventory(@RequestParam("file") MultipartFile file, Principal principal) {
+        String shopId = principal != null ? principal.getName() : "admin";
+        return importService.submit(shopId, file);
+    }
+
+    @GetMapping("/imports/{jobId}")
+    public InventoryImportJobResponse importStatus(@PathVariable Long jobId, Principal principal) {
+        String shopId = principal != null ? principal.getName() : "admin";
+        return importService.getJob(jobId, shopId);
+    }
+
+    /**
+     * Stock on hand per metal and purity, valued at the current market rate.
+     */
+    @GetMapping("/valuation")
+    public InventoryValuationResponse valuation(Principal principal) {
+        String shopId = principal != null ? principal.getName() : "admin";
+        return valuationService.valuation(shopId);
     }
 
     private InventoryResponse toResponse(InventoryEntity entity) {
@@ -1,21 +1,31 @@
 package com.luxegem.invoice.controller;
 
 import com.luxegem.invoice.entity.InvoiceEntity;
+import com.luxegem.invoice.model.BulkInvoiceRequest;
+import com.luxegem.invoice.model.BulkInvoiceResponse;
 import com.luxegem.invoice.model.CreateInvoiceRequest;
 
 import com.luxegem.invoice.model.InvoiceResponse;
-import com.luxegem.invoice.model.NotificationType;
 import com.luxegem.invoice.model.OverviewResponse;
+import com.luxegem.invoice.model.TaxedInvoice;
+import com.luxegem.invoice.model.UpdateInvoiceStatusRequest;
 import com.luxegem.invoice.repository.InvoiceRepository;
-import com.luxegem.invoice.service.NotificationService;
+import com.luxegem.invoice.service.InvoiceIngestionService;
+import com.luxegem.invoice.service.InvoiceNumberAllocator;
+import com.luxegem.invoice.service.InvoiceTaxCalculator;
+import com.luxegem.invoice.service.OutboxService;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -27,11 +37,19 @@ import java.security.Principal;
 public class InvoiceController {
 
         private final InvoiceRepository invoiceRepository;
-        private final NotificationService notificationService;
+        private final OutboxService outboxService;
+        private final InvoiceIngestionService ingestionService;
+        private final InvoiceNumberAllocator invoiceNumberAllocator;
+        private final InvoiceTaxCalculator taxCalculator;
 
-        public InvoiceController(InvoiceRepository invoiceRepository, NotificationService notificationService) {
+        public InvoiceController(InvoiceRepository invoiceRepository, OutboxService outboxService,
+                        InvoiceIngestionService ingestionService, InvoiceNumberAllocator invoiceNumberAllocator,
+                        InvoiceTaxCalculator taxCalculator) {
                 this.invoiceRepository = invoiceRepository;
-                this.notificationService = notificationService;
+                this.outboxService = outboxService;
+                this.ingestionService = ingestionService;
+                this.invoiceNumberAllocator = invoiceNumberAllocator;
+                this.taxCalculator = taxCalculator;
         }
 
         @GetMapping("/overview")
@@ -76,38 +94,71 @@ public class InvoiceController {
                                 .toList();
         }
 
+        /**
+         * Totals and GST rates are recomputed from the lines; only the client's discount is kept.
+         */
         @PostMapping
         @ResponseStatus(HttpStatus.CREATED)
+        @Transactional
         public InvoiceResponse createInvoice(@Valid @RequestBody CreateInvoiceRequest request, Principal principal) {
-                long lastId = invoiceRepository.findTopByOrderByIdDesc()
-                                .map(InvoiceEntity::getId)
-                                .orElse(0L);
-                String invoiceId = String.format("#INV-%d", lastId + 1);
+                TaxedInvoice taxed = taxCalculator.calculate(request.items(), BigDecimal.valueOf(request.discount()));
+                String invoiceId = invoiceNumberAllocator.next();
                 InvoiceEntity entity = new InvoiceEntity(
                                 invoiceId,
                                 request.customer(),
                                 request.mobilenumber(),
                                 request.address(),
-                                request.items(),
+                                taxed.items(),
                                 request.type(),
-                                BigDecimal.valueOf(request.amount()),
+                                taxed.netAmount(),
                                 request.status(),
                                 LocalDate.now(),
-                                BigDecimal.valueOf(request.grossAmount()),
-                                BigDecimal.valueOf(request.netAmount()),
-                                BigDecimal.valueOf(request.discount()),
-                                BigDecimal.valueOf(request.makingCharge()),
-                                BigDecimal.valueOf(request.gstRate()),
+                                taxed.grossAmount(),
+                                taxed.netAmount(),
+                                taxed.discount(),
+                                taxed.makingCharge(),
+                                taxed.gstRate(),
                                 request.paymentMethod() == null ? "CASH" : request.paymentMethod());
 
                 String shopId = principal != null ? principal.getName() : "admin";
                 entity.setShopId(shopId);
                 invoiceRepository.save(entity);
-                notificationService.createSystemNotification(
-                                shopId,
-                                "Invoice created successfully",
-                                String.format("%s created for %s", invoiceId, request.customer()),
-                                NotificationType.SUCCESS);
+                outboxService.invoiceCreated(entity);
+                return toResponse(entity);
+        }
+
+        /**
+         * Upload invoices queued offline. Each carries a client idempotency key, so a
+         * retried upload reports DUPLICATE (with the original invoice id) instead of
+         * creating the invoice twice. Invalid invoices are rejected individually.
+         */
+        @PostMapping("/batch")
+        public BulkInvoiceResponse ingestInvoices(@Valid @RequestBody BulkInvoiceRequest request,
+                        Principal principal) {
+                String shopId = principal != null ? principal.getName() : "admin";
+                return ingestionService.ingest(shopId, request.invoices());
+        }
+
+        @PatchMapping("/{invoiceId}/status")
+        @Transactional
+        public InvoiceResponse updateStatus(@PathVariable String invoiceId,
+                        @Valid @RequestBody UpdateInvoiceStatusRequest request, Principal principal) {
+                String shopId = principal != null ? principal.getName() : "admin";
+                InvoiceEntity entity = invoiceRepository.findByInvoiceId(invoiceId)
+                                .filter(invoice -> shopId.equals(invoice.getShopId()))
+                                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
+                                                "Invoice not found"));
+
+                String previousStatus = entity.getStatus();
+                if (!previousStatus.equals(request.status())) {
+                        entity.setStatus(request.status());
+                        invoiceRepository.save(entity);
+                        outboxService.invoiceStatusChanged(entity, previousStatus);
+                }
+                return toResponse(entity);
+        }
+
+        private InvoiceResponse toResponse(InvoiceEntity entity) {
                 return new InvoiceResponse(
                                 entity.getInvoiceId(),
                                 entity.getCustomer(),
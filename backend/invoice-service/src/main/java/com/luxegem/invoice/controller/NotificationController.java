@@ -1,8 +1,10 @@
 package com.luxegem.invoice.controller;
 
+import com.luxegem.invoice.model.CreateBroadcastRequest;
 import com.luxegem.invoice.model.CreateNotificationRequest;
 import com.luxegem.invoice.model.MarkAllReadResponse;
 import com.luxegem.invoice.model.NotificationResponse;
+import com.luxegem.invoice.model.NotificationScope;
 import com.luxegem.invoice.model.UnreadCountResponse;
 import com.luxegem.invoice.security.JwtService;
 import com.luxegem.invoice.service.NotificationService;
@@ -56,11 +58,12 @@ public class NotificationController {
     @PatchMapping("/{id}/read")
     public NotificationResponse markAsRead(
             @PathVariable Long id,
+            @RequestParam(defaultValue = "SHOP") NotificationScope scope,
             @RequestHeader("Authorization") String authorization,
             Principal principal) {
         String role = resolveRole(authorization);
         String shopId = resolveShopId(principal);
-        return notificationService.markAsRead(id, shopId, role);
+        return notificationService.markAsRead(id, shopId, role, scope);
     }
 
     @PatchMapping("/read-all")
@@ -84,6 +87,17 @@ public class NotificationController {
         return notificationService.createForContext(shopId, role, request);
     }
 
+    @PostMapping("/broadcasts")
+    @ResponseStatus(HttpStatus.CREATED)
+    public NotificationResponse createBroadcast(
+            @RequestHeader("Authorization") String authorization,
+            @Valid @RequestBody CreateBroadcastRequest request,
+            Principal principal) {
+        String role = resolveRole(authorization);
+        String shopId = resolveShopId(principal);
+        return notificationService.createBroadcast(shopId, role, request);
+    }
+
     private String resolveRole(String authorizationHeader) {
         try {
             String token = extractToken(authorizationHeader);
@@ -0,0 +1,48 @@
+package com.luxegem.invoice.controller;
+
+import com.luxegem.invoice.model.QuotePageResponse;
+import com.luxegem.invoice.model.QuoteRequest;
+import com.luxegem.invoice.model.QuoteResponse;
+import com.luxegem.invoice.service.QuoteService;
+import jakarta.validation.Valid;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.security.Principal;
+
+@RestController
+@RequestMapping("/api/quotes")
+public class QuoteController {
+
+    private final QuoteService quoteService;
+
+    public QuoteController(QuoteService quoteService) {
+        this.quoteService = quoteService;
+    }
+
+    /**
+     * Price a cart at the current market rate. Nothing is reserved or saved.
+     */
+    @PostMapping
+    public QuoteResponse quote(@Valid @RequestBody QuoteRequest request, Principal principal) {
+        String shopId = principal != null ? principal.getName() : "admin";
+        return quoteService.quote(shopId, request.lines());
+    }
+
+    /**
+     * Price one page of the caller's catalogue at the current market rate.
+     */
+    @GetMapping("/catalogue")
+    public QuotePageResponse quoteCatalogue(
+            @RequestParam(required = false) String category,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size,
+            Principal principal) {
+        String shopId = principal != null ? principal.getName() : "admin";
+        return quoteService.quoteCatalogue(shopId, category, page, size);
+    }
+}
@@ -0,0 +1,42 @@
+package com.luxegem.invoice.controller;
+
+import com.luxegem.invoice.model.ChangeFeedResponse;
+import com.luxegem.invoice.model.SyncEntityType;
+import com.luxegem.invoice.service.ChangeFeedService;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.security.Principal;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Delta sync for clients that keep a local replica. Start with {@code since=0}
+ * for a full load, then pass back {@code nextSince} from each response.
+ */
+@RestController
+@RequestMapping("/api/sync")
+public class SyncController {
+
+    private final ChangeFeedService changeFeedService;
+
+    public SyncController(ChangeFeedService changeFeedService) {
+        this.changeFeedService = changeFeedService;
+    }
+
+    @GetMapping("/changes")
+    public ChangeFeedResponse changesSince(
+            @RequestParam(defaultValue = "0") long since,
+            @RequestParam(defaultValue = "500") int limit,
+            @RequestParam(required = false) Set<SyncEntityType> types,
+            Principal principal) {
+        String shopId = principal != null ? principal.getName() : "admin";
+        int safeLimit = Math.max(1, Math.min(limit, 1000));
+        Set<SyncEntityType> selected = types == null || types.isEmpty()
+                ? EnumSet.allOf(SyncEntityType.class)
+                : EnumSet.copyOf(types);
+        return changeFeedService.changesSince(shopId, Math.max(since, 0), safeLimit, selected);
+    }
+}
@@ -0,0 +1,72 @@
+package com.luxegem.invoice.controller;
+
+import com.luxegem.invoice.model.TaxRuleRequest;
+import com.luxegem.invoice.model.TaxRuleResponse;
+import com.luxegem.invoice.security.JwtService;
+import com.luxegem.invoice.service.TaxRuleService;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * GST rules used for every invoice line. Anyone can read them; only admins can change them.
+ */
+@RestController
+@RequestMapping("/api/tax/rules")
+public class TaxRuleController {
+
+    private final TaxRuleService taxRuleService;
+    private final JwtService jwtService;
+
+    public TaxRuleController(TaxRuleService taxRuleService, JwtService jwtService) {
+        this.taxRuleService = taxRuleService;
+        this.jwtService = jwtService;
+    }
+
+    @GetMapping
+    public List<TaxRuleResponse> listRules() {
+        return taxRuleService.list();
+    }
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public TaxRuleResponse createRule(@RequestHeader("Authorization") String authorization,
+            @Valid @RequestBody TaxRuleRequest request) {
+        return taxRuleService.create(resolveRole(authorization), request);
+    }
+
+    @PutMapping("/{id}")
+    public TaxRuleResponse updateRule(@RequestHeader("Authorization") String authorization, @PathVariable Long id,
+            @Valid @RequestBody TaxRuleRequest request) {
+        return taxRuleService.update(resolveRole(authorization), id, request);
+    }
+
+    @DeleteMapping("/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void deleteRule(@RequestHeader("Authorization") String authorization, @PathVariable Long id) {
+        taxRuleService.delete(resolveRole(authorization), id);
+    }
+
+    private String resolveRole(String authorizationHeader) {
+        try {
+            String token = authorizationHeader != null && authorizationHeader.startsWith("Bearer ")
+                    ? authorizationHeader.substring(7)
+                    : "";
+            String role = jwtService.extractRole(token);
+            return (role == null || role.isBlank()) ? "shop" : role;
+        } catch (Exception ignored) {
+            return "shop";
+        }
+    }
+}
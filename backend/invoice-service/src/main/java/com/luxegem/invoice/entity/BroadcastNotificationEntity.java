@@ -0,0 +1,116 @@
+package com.luxegem.invoice.entity;
+
+import com.luxegem.invoice.model.BroadcastAudience;
+import com.luxegem.invoice.model.NotificationType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * A notification stored once and delivered to every shop matching its audience.
+ * Read state lives in {@link BroadcastReceiptEntity}, one row per shop that has
+ * actually read it.
+ */
+@Entity
+@Table(name = "broadcast_notifications")
+public class BroadcastNotificationEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 120)
+    private String title;
+
+    @Column(nullable = false, length = 600)
+    private String message;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private NotificationType type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private BroadcastAudience audience;
+
+    @Column(length = 40)
+    private String audienceRole;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(columnDefinition = "jsonb")
+    private List<String> audienceShopIds;
+
+    @Column(nullable = false)
+    private String createdBy;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    public BroadcastNotificationEntity() {
+    }
+
+    public BroadcastNotificationEntity(String title, String message, NotificationType type,
+            BroadcastAudience audience, String audienceRole, List<String> audienceShopIds, String createdBy) {
+        this.title = title;
+        this.message = message;
+        this.type = type;
+        this.audience = audience;
+        this.audienceRole = audienceRole;
+        this.audienceShopIds = audienceShopIds;
+        this.createdBy = createdBy;
+    }
+
+    @PrePersist
+    void onCreate() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public NotificationType getType() {
+        return type;
+    }
+
+    public BroadcastAudience getAudience() {
+        return audience;
+    }
+
+    public String getAudienceRole() {
+        return audienceRole;
+    }
+
+    public List<String> getAudienceShopIds() {
+        return audienceShopIds == null ? List.of() : audienceShopIds;
+    }
+
+    public String getCreatedBy() {
+        return createdBy;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
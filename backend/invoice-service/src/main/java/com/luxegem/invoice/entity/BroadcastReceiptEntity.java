@@ -0,0 +1,55 @@
+package com.luxegem.invoice.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "broadcast_receipts",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"broadcast_id", "shop_id"}))
+public class BroadcastReceiptEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "broadcast_id", nullable = false)
+    private Long broadcastId;
+
+    @Column(name = "shop_id", nullable = false)
+    private String shopId;
+
+    @Column(nullable = false)
+    private LocalDateTime readAt;
+
+    public BroadcastReceiptEntity() {
+    }
+
+    public BroadcastReceiptEntity(Long broadcastId, String shopId) {
+        this.broadcastId = broadcastId;
+        this.shopId = shopId;
+        this.readAt = LocalDateTime.now();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getBroadcastId() {
+        return broadcastId;
+    }
+
+    public String getShopId() {
+        return shopId;
+    }
+
+    public LocalDateTime getReadAt() {
+        return readAt;
+    }
+}
@@ -0,0 +1,55 @@
+package com.luxegem.invoice.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Table;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "outbox_consumer_offsets")
+public class ConsumerOffsetEntity {
+
+    @Id
+    @Column(length = 80)
+    private String consumerName;
+
+    @Column(nullable = false)
+    private long lastEventId;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    public ConsumerOffsetEntity() {
+    }
+
+    public ConsumerOffsetEntity(String consumerName) {
+        this.consumerName = consumerName;
+        this.lastEventId = 0L;
+    }
+
+    @PrePersist
+    @PreUpdate
+    void touchUpdatedAt() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    public String getConsumerName() {
+        return consumerName;
+    }
+
+    public long getLastEventId() {
+        return lastEventId;
+    }
+
+    public void setLastEventId(long lastEventId) {
+        this.lastEventId = lastEventId;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+}
@@ -0,0 +1,65 @@
+package com.luxegem.invoice.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * The rendered GST report of a finalized (filed) month. Written once and served
+ * byte for byte afterwards, so a re-download matches what was filed even if
+ * invoices of that month change later.
+ */
+@Entity
+@Immutable
+@Table(name = "gst_report_snapshots",
+        uniqueConstraints = @UniqueConstraint(name = "uk_gst_report_snapshots_shop_period",
+                columnNames = {"shop_id", "period"}))
+public class GstReportSnapshotEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String shopId;
+
+    /** yyyy-MM */
+    @Column(nullable = false, length = 7)
+    private String period;
+
+    @Column(nullable = false)
+    private byte[] body;
+
+    @Column(nullable = false)
+    private LocalDateTime finalizedAt;
+
+    protected GstReportSnapshotEntity() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getShopId() {
+        return shopId;
+    }
+
+    public String getPeriod() {
+        return period;
+    }
+
+    public byte[] getBody() {
+        return body;
+    }
+
+    public LocalDateTime getFinalizedAt() {
+        return finalizedAt;
+    }
+}
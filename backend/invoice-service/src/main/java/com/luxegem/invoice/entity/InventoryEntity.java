@@ -35,6 +35,24 @@ public class InventoryEntity {
     @Column
     private String purity;
 
+    @Column(nullable = false, precision = 10, scale = 3)
+    private BigDecimal grossWeight;
+
+    @Column(precision = 10, scale = 3)
+    private BigDecimal netWeight;
+
+    @Column(precision = 10, scale = 2)
+    private BigDecimal makingCharge;
+
+    @Column(nullable = false, precision = 12, scale = 2)
+    private BigDecimal ratePerGram;
+
+    @Column(nullable = false)
+    private Integer stockQuantity;
+
+    @Column
+    private String hsnCode;
+
     @Column(length = 2000)
     private String description;
 
@@ -47,6 +65,10 @@ public class InventoryEntity {
     @Column(nullable = false)
     private String shopId;
 
+    /** Per-shop change sequence, stamped by a database trigger on every insert and update. */
+    @Column(insertable = false, updatable = false)
+    private Long changeSeq;
+
     public InventoryEntity() {
     }
 
@@ -56,12 +78,24 @@ public class InventoryEntity {
             String category,
             String metalType,
             String purity,
+            BigDecimal grossWeight,
+            BigDecimal netWeight,
+            BigDecimal makingCharge,
+            BigDecimal ratePerGram,
+            Integer stockQuantity,
+            String hsnCode,
             String description) {
         this.itemCode = itemCode;
         this.itemName = itemName;
         this.category = category;
         this.metalType = metalType;
         this.purity = purity;
+        this.grossWeight = grossWeight;
+        this.netWeight = netWeight;
+        this.makingCharge = makingCharge;
+        this.ratePerGram = ratePerGram;
+        this.stockQuantity = stockQuantity;
+        this.hsnCode = hsnCode;
         this.description = description;
     }
 
@@ -147,4 +181,8 @@ public class InventoryEntity {
     public void setStockQuantity(Integer stockQuantity) {
         this.stockQuantity = stockQuantity;
     }
+
+    public Long getChangeSeq() {
+        return changeSeq;
+    }
 }
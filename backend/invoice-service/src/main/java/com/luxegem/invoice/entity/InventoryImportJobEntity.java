@@ -0,0 +1,168 @@
+package com.luxegem.invoice.entity;
+
+import com.luxegem.invoice.model.ImportJobStatus;
+import com.luxegem.invoice.model.ImportRowError;
+import com.luxegem.invoice.model.InventoryImportFormat;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Progress of a background bulk inventory import. Counters are updated after
+ * every committed batch; only the first rejected rows are kept in {@code errors}.
+ */
+@Entity
+@Table(name = "inventory_import_jobs")
+public class InventoryImportJobEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String shopId;
+
+    @Column
+    private String fileName;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private InventoryImportFormat format;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private ImportJobStatus status;
+
+    @Column(nullable = false)
+    private long processedRows;
+
+    @Column(nullable = false)
+    private long importedRows;
+
+    @Column(nullable = false)
+    private long failedRows;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(columnDefinition = "jsonb")
+    private List<ImportRowError> errors;
+
+    @Column(length = 600)
+    private String failureReason;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column
+    private LocalDateTime completedAt;
+
+    public InventoryImportJobEntity() {
+    }
+
+    public InventoryImportJobEntity(String shopId, String fileName, InventoryImportFormat format) {
+        this.shopId = shopId;
+        this.fileName = fileName;
+        this.format = format;
+        this.status = ImportJobStatus.QUEUED;
+        this.errors = new ArrayList<>();
+    }
+
+    @PrePersist
+    void onCreate() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+    }
+
+    public void start() {
+        this.status = ImportJobStatus.RUNNING;
+    }
+
+    public void recordProgress(long processed, long imported, long failed) {
+        this.processedRows = processed;
+        this.importedRows = imported;
+        this.failedRows = failed;
+    }
+
+    public void recordErrors(List<ImportRowError> rowErrors, int maxErrors) {
+        if (errors == null) {
+            errors = new ArrayList<>();
+        }
+        for (ImportRowError error : rowErrors) {
+            if (errors.size() >= maxErrors) {
+                return;
+            }
+            errors.add(error);
+        }
+    }
+
+    public void complete() {
+        this.status = ImportJobStatus.COMPLETED;
+        this.completedAt = LocalDateTime.now();
+    }
+
+    public void fail(String reason) {
+        this.status = ImportJobStatus.FAILED;
+        this.failureReason = reason == null ? null : reason.substring(0, Math.min(reason.length(), 600));
+        this.completedAt = LocalDateTime.now();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getShopId() {
+        return shopId;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public InventoryImportFormat getFormat() {
+        return format;
+    }
+
+    public ImportJobStatus getStatus() {
+        return status;
+    }
+
+    public long getProcessedRows() {
+        return processedRows;
+    }
+
+    public long getImportedRows() {
+        return importedRows;
+    }
+
+    public long getFailedRows() {
+        return failedRows;
+    }
+
+    public List<ImportRowError> getErrors() {
+        return errors == null ? List.of() : errors;
+    }
+
+    public String getFailureReason() {
+        return failureReason;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+}
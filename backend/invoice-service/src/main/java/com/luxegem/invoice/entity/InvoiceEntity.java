@@ -5,7 +5,9 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -15,7 +17,10 @@ import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.type.SqlTypes;
 
 @Entity
-@Table(name = "invoices")
+@Table(name = "invoices",
+        uniqueConstraints = @UniqueConstraint(name = "uk_invoices_shop_idempotency_key",
+                columnNames = {"shop_id", "idempotency_key"}),
+        indexes = @Index(name = "idx_invoices_shop_issue_date", columnList = "shop_id, issue_date"))
 public class InvoiceEntity {
 
     @Id
@@ -71,6 +76,14 @@ public class InvoiceEntity {
     @Column(precision = 5, scale = 2)
     private BigDecimal gstRate;
 
+    /** Client-supplied key for offline uploads; unique per shop so retries are no-ops. */
+    @Column(name = "idempotency_key", length = 100)
+    private String idempotencyKey;
+
+    /** Per-shop change sequence, stamped by a database trigger on every insert and update. */
+    @Column(insertable = false, updatable = false)
+    private Long changeSeq;
+
     public InvoiceEntity() {
     }
 
@@ -90,7 +103,7 @@ public class InvoiceEntity {
         this.netAmount = amount;
         this.discount = BigDecimal.ZERO;
         this.makingCharge = BigDecimal.ZERO;
-        this.gstRate = BigDecimal.valueOf(0.03);
+        this.gstRate = BigDecimal.ZERO;
         this.paymentMethod = "CASH";
     }
 
@@ -153,6 +166,10 @@ public class InvoiceEntity {
         return status;
     }
 
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
     public LocalDate getIssueDate() {
         return issueDate;
     }
@@ -192,4 +209,16 @@ public class InvoiceEntity {
     public void setPaymentMethod(String paymentMethod) {
         this.paymentMethod = paymentMethod;
     }
+
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    public void setIdempotencyKey(String idempotencyKey) {
+        this.idempotencyKey = idempotencyKey;
+    }
+
+    public Long getChangeSeq() {
+        return changeSeq;
+    }
 }
@@ -10,8 +10,12 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 @Entity
 @Table(name = "notifications")
@@ -40,6 +44,23 @@ public class NotificationEntity {
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
+    @Column(length = 60)
+    private String digestKey;
+
+    @Column
+    private Integer occurrenceCount;
+
+    @Column
+    private LocalDateTime lastOccurredAt;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(columnDefinition = "jsonb")
+    private List<String> referenceIds;
+
+    /** Per-shop change sequence, stamped by a database trigger on every insert and update. */
+    @Column(insertable = false, updatable = false)
+    private Long changeSeq;
+
     public NotificationEntity() {
     }
 
@@ -51,11 +72,43 @@ public class NotificationEntity {
         this.isRead = false;
     }
 
+    public NotificationEntity(String shopId, String title, String message, NotificationType type, String digestKey,
+            String referenceId) {
+        this(shopId, title, message, type);
+        this.digestKey = digestKey;
+        this.occurrenceCount = 1;
+        this.referenceIds = new ArrayList<>();
+        if (referenceId != null) {
+            this.referenceIds.add(referenceId);
+        }
+    }
+
     @PrePersist
     void onCreate() {
         if (createdAt == null) {
             createdAt = LocalDateTime.now();
         }
+        if (lastOccurredAt == null) {
+            lastOccurredAt = createdAt;
+        }
+    }
+
+    /**
+     * Folds another occurrence of the same event into this digest row. Only the
+     * first {@code maxReferences} references are kept so the row stays bounded.
+     */
+    public void absorb(String referenceId, String digestTitle, String digestMessage, int maxReferences) {
+        this.occurrenceCount = getOccurrenceCount() + 1;
+        this.lastOccurredAt = LocalDateTime.now();
+        this.title = digestTitle;
+        this.message = digestMessage;
+        if (referenceIds == null) {
+            referenceIds = new ArrayList<>();
+        }
+        if (referenceId != null && referenceIds.size() < maxReferences) {
+            referenceIds = new ArrayList<>(referenceIds);
+            referenceIds.add(referenceId);
+        }
     }
 
     public Long getId() {
@@ -89,4 +142,24 @@ public class NotificationEntity {
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
+
+    public String getDigestKey() {
+        return digestKey;
+    }
+
+    public int getOccurrenceCount() {
+        return occurrenceCount == null ? 1 : occurrenceCount;
+    }
+
+    public LocalDateTime getLastOccurredAt() {
+        return lastOccurredAt;
+    }
+
+    public List<String> getReferenceIds() {
+        return referenceIds == null ? List.of() : referenceIds;
+    }
+
+    public Long getChangeSeq() {
+        return changeSeq;
+    }
 }
@@ -0,0 +1,98 @@
+package com.luxegem.invoice.entity;
+
+import com.luxegem.invoice.model.DomainEventType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Domain event written in the same transaction as the entity change it
+ * describes. {@code commitSeq} is the event offset for consumers; it is
+ * assigned in commit order by the database when the transaction commits
+ * (see {@code OutboxSequenceInstaller}), so it is null until then.
+ */
+@Entity
+@Table(name = "outbox_events")
+public class OutboxEventEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 40)
+    private DomainEventType eventType;
+
+    @Column(nullable = false)
+    private String aggregateId;
+
+    @Column
+    private String shopId;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(nullable = false, columnDefinition = "jsonb")
+    private Map<String, Object> payload;
+
+    @Column(insertable = false, updatable = false)
+    private Long commitSeq;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    public OutboxEventEntity() {
+    }
+
+    public OutboxEventEntity(DomainEventType eventType, String aggregateId, String shopId,
+            Map<String, Object> payload) {
+        this.eventType = eventType;
+        this.aggregateId = aggregateId;
+        this.shopId = shopId;
+        this.payload = payload;
+    }
+
+    @PrePersist
+    void onCreate() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getCommitSeq() {
+        return commitSeq;
+    }
+
+    public DomainEventType getEventType() {
+        return eventType;
+    }
+
+    public String getAggregateId() {
+        return aggregateId;
+    }
+
+    public String getShopId() {
+        return shopId;
+    }
+
+    public Map<String, Object> getPayload() {
+        return payload;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -0,0 +1,70 @@
+package com.luxegem.invoice.entity;
+
+import com.luxegem.invoice.model.SyncEntityType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * A deleted invoice, inventory item or notification. Rows are written by a
+ * database trigger so deletes from any code path reach the change feed.
+ */
+@Entity
+@Table(name = "sync_tombstones")
+public class SyncTombstoneEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column
+    private String shopId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private SyncEntityType entityType;
+
+    @Column(nullable = false)
+    private String entityKey;
+
+    /** Assigned when the deleting transaction commits. */
+    @Column
+    private Long changeSeq;
+
+    @Column(nullable = false)
+    private LocalDateTime deletedAt;
+
+    public SyncTombstoneEntity() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getShopId() {
+        return shopId;
+    }
+
+    public SyncEntityType getEntityType() {
+        return entityType;
+    }
+
+    public String getEntityKey() {
+        return entityKey;
+    }
+
+    public Long getChangeSeq() {
+        return changeSeq;
+    }
+
+    public LocalDateTime getDeletedAt() {
+        return deletedAt;
+    }
+}
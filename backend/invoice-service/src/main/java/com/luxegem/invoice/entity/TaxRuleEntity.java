@@ -0,0 +1,110 @@
+package com.luxegem.invoice.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Table;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * A GST rate and what it applies to: an HSN code (or heading prefix), a
+ * category and/or metal, or, with no criteria at all, everything else.
+ */
+@Entity
+@Table(name = "tax_rules")
+public class TaxRuleEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(length = 8)
+    private String hsnCode;
+
+    @Column
+    private String category;
+
+    @Column
+    private String metalType;
+
+    @Column(nullable = false, precision = 5, scale = 2)
+    private BigDecimal ratePercent;
+
+    @Column
+    private String description;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    public TaxRuleEntity() {
+    }
+
+    public TaxRuleEntity(String hsnCode, String category, String metalType, BigDecimal ratePercent,
+            String description) {
+        this.hsnCode = hsnCode;
+        this.category = category;
+        this.metalType = metalType;
+        this.ratePercent = ratePercent;
+        this.description = description;
+    }
+
+    @PrePersist
+    @PreUpdate
+    void touch() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getHsnCode() {
+        return hsnCode;
+    }
+
+    public void setHsnCode(String hsnCode) {
+        this.hsnCode = hsnCode;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public String getMetalType() {
+        return metalType;
+    }
+
+    public void setMetalType(String metalType) {
+        this.metalType = metalType;
+    }
+
+    public BigDecimal getRatePercent() {
+        return ratePercent;
+    }
+
+    public void setRatePercent(BigDecimal ratePercent) {
+        this.ratePercent = ratePercent;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+}
@@ -0,0 +1,12 @@
+package com.luxegem.invoice.model;
+
+import java.util.List;
+
+public record BillingStatsResponse(
+        long totalItems,
+        long lowStockItems,
+        double valueAtCost,
+        List<MetalStockCount> itemsByMetal,
+        long timestamp,
+        String status) {
+}
@@ -0,0 +1,9 @@
+package com.luxegem.invoice.model;
+
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+public record BulkInvoiceRequest(
+        @NotEmpty List<IngestInvoiceRequest> invoices
+) {}
@@ -0,0 +1,11 @@
+package com.luxegem.invoice.model;
+
+import java.util.List;
+
+public record BulkInvoiceResponse(
+        int received,
+        int created,
+        int duplicates,
+        int rejected,
+        List<IngestInvoiceResult> results
+) {}
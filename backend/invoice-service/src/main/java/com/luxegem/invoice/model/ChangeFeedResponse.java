@@ -0,0 +1,24 @@
+package com.luxegem.invoice.model;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Everything that changed in a shop after {@code since}, up to and including
+ * {@code nextSince}. Apply tombstones before upserts, then pass
+ * {@code nextSince} back on the next call; {@code hasMore} means call again
+ * straight away.
+ *
+ * @param notificationsRetainedFrom notifications created before this have expired and are removed
+ *                                  without tombstones; drop local copies older than it
+ */
+public record ChangeFeedResponse(
+        long since,
+        long nextSince,
+        boolean hasMore,
+        LocalDateTime notificationsRetainedFrom,
+        List<InvoiceResponse> invoices,
+        List<InventoryItemResponse> inventory,
+        List<NotificationResponse> notifications,
+        List<SyncTombstone> tombstones
+) {}
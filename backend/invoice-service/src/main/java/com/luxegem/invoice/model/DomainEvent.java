@@ -0,0 +1,16 @@
+package com.luxegem.invoice.model;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * @param id the event's commit sequence number; consumers pass the last one processed as {@code after}
+ */
+public record DomainEvent(
+        long id,
+        DomainEventType type,
+        String aggregateId,
+        String shopId,
+        Map<String, Object> payload,
+        LocalDateTime createdAt) {
+}
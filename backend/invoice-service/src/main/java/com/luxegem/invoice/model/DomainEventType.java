@@ -0,0 +1,7 @@
+package com.luxegem.invoice.model;
+
+public enum DomainEventType {
+    INVOICE_CREATED,
+    INVOICE_STATUS_CHANGED,
+    STOCK_CHANGED
+}
@@ -0,0 +1,14 @@
+package com.luxegem.invoice.model;
+
+import java.math.BigDecimal;
+
+/** HSN-wise totals for one GST rate, as reported in the HSN summary of a return. */
+public record GstHsnSummary(
+        String hsnCode,
+        BigDecimal ratePercent,
+        long lines,
+        long quantity,
+        BigDecimal weightGrams,
+        BigDecimal taxableValue,
+        BigDecimal taxAmount
+) {}
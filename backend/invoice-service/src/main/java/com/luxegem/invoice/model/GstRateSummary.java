@@ -0,0 +1,10 @@
+package com.luxegem.invoice.model;
+
+import java.math.BigDecimal;
+
+public record GstRateSummary(
+        BigDecimal ratePercent,
+        long lines,
+        BigDecimal taxableValue,
+        BigDecimal taxAmount
+) {}
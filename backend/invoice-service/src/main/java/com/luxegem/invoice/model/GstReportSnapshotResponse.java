@@ -0,0 +1,9 @@
+package com.luxegem.invoice.model;
+
+import java.time.LocalDateTime;
+
+public record GstReportSnapshotResponse(
+        String period,
+        LocalDateTime finalizedAt,
+        int sizeBytes
+) {}
@@ -0,0 +1,8 @@
+package com.luxegem.invoice.model;
+
+public enum ImportJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
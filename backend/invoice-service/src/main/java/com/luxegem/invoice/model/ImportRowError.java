@@ -0,0 +1,10 @@
+package com.luxegem.invoice.model;
+
+/**
+ * @param row line number in the uploaded file (the CSV header is line 1)
+ */
+public record ImportRowError(
+        long row,
+        String itemCode,
+        String message
+) {}
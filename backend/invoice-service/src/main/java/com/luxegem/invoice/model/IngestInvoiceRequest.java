@@ -0,0 +1,15 @@
+package com.luxegem.invoice.model;
+
+import java.time.LocalDate;
+
+/**
+ * One invoice queued by an offline counter.
+ *
+ * @param idempotencyKey unique per shop; resending the same key never creates a second invoice
+ * @param issueDate      date the invoice was raised at the counter; defaults to today
+ */
+public record IngestInvoiceRequest(
+        String idempotencyKey,
+        LocalDate issueDate,
+        CreateInvoiceRequest invoice
+) {}
@@ -0,0 +1,11 @@
+package com.luxegem.invoice.model;
+
+/**
+ * @param invoiceId the new invoice for CREATED, the original one for DUPLICATE, null for REJECTED
+ */
+public record IngestInvoiceResult(
+        String idempotencyKey,
+        IngestOutcome outcome,
+        String invoiceId,
+        String message
+) {}
@@ -0,0 +1,20 @@
+package com.luxegem.invoice.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/** One inventory item as exported, selected column by column so no entity is hydrated. */
+public record InventoryExportRow(
+        String itemCode,
+        String itemName,
+        String category,
+        String metalType,
+        String purity,
+        BigDecimal grossWeight,
+        BigDecimal netWeight,
+        BigDecimal makingCharge,
+        BigDecimal ratePerGram,
+        Integer stockQuantity,
+        String hsnCode,
+        LocalDateTime updatedAt
+) {}
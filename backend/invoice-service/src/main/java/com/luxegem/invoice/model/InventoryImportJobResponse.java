@@ -0,0 +1,18 @@
+package com.luxegem.invoice.model;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record InventoryImportJobResponse(
+        long jobId,
+        String fileName,
+        InventoryImportFormat format,
+        ImportJobStatus status,
+        long processedRows,
+        long importedRows,
+        long failedRows,
+        List<ImportRowError> errors,
+        String failureReason,
+        LocalDateTime createdAt,
+        LocalDateTime completedAt
+) {}
@@ -6,5 +6,11 @@ public record InventoryItemResponse(
                 String category,
                 String metalType,
                 String purity,
+                double grossWeight,
+                Double netWeight,
+                Double makingCharge,
+                double ratePerGram,
+                int stockQuantity,
+                String hsnCode,
                 String description) {
 }
@@ -0,0 +1,11 @@
+package com.luxegem.invoice.model;
+
+import java.util.List;
+
+public record InventoryPageResponse(
+        List<InventoryItemResponse> items,
+        int page,
+        int size,
+        long totalItems,
+        int totalPages
+) {}
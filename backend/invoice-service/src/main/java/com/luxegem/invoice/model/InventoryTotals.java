@@ -0,0 +1,6 @@
+package com.luxegem.invoice.model;
+
+import java.math.BigDecimal;
+
+public record InventoryTotals(long totalItems, long lowStockItems, BigDecimal valueAtCost) {
+}
@@ -0,0 +1,20 @@
+package com.luxegem.invoice.model;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * @param rateVersion          version of the market rate table the stock was valued at
+ * @param ratesChangedAt       when that version was published
+ * @param totalValue           sum of the quoted metals' values
+ * @param unquotedWeightGrams  net weight of metals the market does not quote, left out of the total
+ */
+public record InventoryValuationResponse(
+        long rateVersion,
+        LocalDateTime ratesChangedAt,
+        List<MetalValuation> metals,
+        long pieces,
+        double netWeightGrams,
+        double totalValue,
+        double unquotedWeightGrams
+) {}
@@ -1,7 +1,6 @@
 package com.luxegem.invoice.model;
 
 import java.util.List;
-import java.util.Map;
 
 public record InvoiceDetailedResponse(
         String invoiceId,
@@ -11,5 +10,5 @@ public record InvoiceDetailedResponse(
         double subtotal,
         String status,
         String issueDate,
-        Map<String, Object> taxAndTotal
+        TaxAndTotal taxAndTotal
 ) {}
@@ -0,0 +1,21 @@
+package com.luxegem.invoice.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/** One invoice as exported, selected column by column so no entity is hydrated. */
+public record InvoiceExportRow(
+        String invoiceId,
+        LocalDate issueDate,
+        String customer,
+        String mobilenumber,
+        String type,
+        String status,
+        String paymentMethod,
+        BigDecimal grossAmount,
+        BigDecimal discount,
+        BigDecimal makingCharge,
+        BigDecimal gstRate,
+        BigDecimal netAmount,
+        BigDecimal amount
+) {}
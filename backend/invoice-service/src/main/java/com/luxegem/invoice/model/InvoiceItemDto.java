@@ -1,10 +1,29 @@
 package com.luxegem.invoice.model;
 
+/**
+ * One invoice line as stored in {@code invoices.items}.
+ *
+ * @param itemCode     inventory SKU the line was sold from, if any
+ * @param hsnCode      HSN code at the time of sale, for the GST HSN summary
+ * @param quantity     units sold; {@code null} means one
+ * @param taxablePaise taxable value of the line as billed, set when the invoice is priced
+ * @param taxPaise     GST on the line as billed; reports sum these rather than re-deriving them
+ */
 public record InvoiceItemDto(
         String description,
         String type,
         Double weight,
         Double rate,
         Double makingChargePercent,
-        Double gstRatePercent) {
+        Double gstRatePercent,
+        String itemCode,
+        String hsnCode,
+        Integer quantity,
+        Long taxablePaise,
+        Long taxPaise) {
+
+    public InvoiceItemDto(String description, String type, Double weight, Double rate,
+            Double makingChargePercent, Double gstRatePercent) {
+        this(description, type, weight, rate, makingChargePercent, gstRatePercent, null, null, null, null, null);
+    }
 }
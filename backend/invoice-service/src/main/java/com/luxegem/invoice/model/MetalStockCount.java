@@ -0,0 +1,4 @@
+package com.luxegem.invoice.model;
+
+public record MetalStockCount(String metalType, long items, long units) {
+}
@@ -0,0 +1,15 @@
+package com.luxegem.invoice.model;
+
+/**
+ * @param netWeightGrams net weight of all pieces in stock
+ * @param ratePerGram    live market rate, or {@code null} when the market does not quote this metal and purity
+ * @param value          net weight x rate, or {@code null} when unquoted
+ */
+public record MetalValuation(
+        String metalType,
+        String purity,
+        long pieces,
+        double netWeightGrams,
+        Double ratePerGram,
+        Double value
+) {}
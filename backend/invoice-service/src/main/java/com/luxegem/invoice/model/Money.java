@@ -0,0 +1,115 @@
+package com.luxegem.invoice.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Fixed-point rupee amounts held as a {@code long} count of paise. Billing
+ * arithmetic stays in primitive longs and is exact; amounts are converted to
+ * {@link BigDecimal} (for entities) or {@code double} (for JSON responses)
+ * only at the edges.
+ *
+ * <p>Every operation that drops precision rounds half away from zero to the
+ * paisa, the same as {@link RoundingMode#HALF_UP}. Results that do not fit in
+ * a {@code long} throw {@link ArithmeticException} rather than wrap.
+ */
+public final class Money {
+
+    public static final long ZERO = 0L;
+
+    /** Percentages are taken to eight decimal places, enough to carry a derived making charge to the paisa. */
+    private static final long PERCENT_SCALE = 100_000_000L;
+
+    private Money() {
+    }
+
+    public static long of(BigDecimal rupees) {
+        return rupees == null ? ZERO : fixed(rupees, 2);
+    }
+
+    public static long of(double rupees) {
+        return fixed(rupees, 100);
+    }
+
+    /** Grams as whole milligrams, the precision weights are stored to. */
+    public static long milligrams(BigDecimal grams) {
+        return grams == null ? ZERO : fixed(grams, 3);
+    }
+
+    public static BigDecimal toBigDecimal(long paise) {
+        return BigDecimal.valueOf(paise, 2);
+    }
+
+    public static double toDouble(long paise) {
+        return paise / 100.0;
+    }
+
+    public static long times(long paise, int quantity) {
+        return Math.multiplyExact(paise, (long) quantity);
+    }
+
+    /**
+     * Metal value of a line. Weights are taken to the milligram and rates to the
+     * paisa, as they are stored, so the product is exact before the one rounding.
+     */
+    public static long lineValue(BigDecimal weightGrams, BigDecimal ratePerGram, int quantity) {
+        return lineValue(milligrams(weightGrams), of(ratePerGram), quantity);
+    }
+
+    public static long lineValue(long milligrams, long ratePaise, int quantity) {
+        return mulDivHalfUp(Math.multiplyExact(milligrams, (long) quantity), ratePaise, 1_000);
+    }
+
+    public static long percent(long paise, double percent) {
+        return mulDivHalfUp(paise, fixed(percent, PERCENT_SCALE), 100 * PERCENT_SCALE);
+    }
+
+    /**
+     * @param basisPoints rate in hundredths of a percent (3% = 300)
+     */
+    public static long basisPoints(long paise, int basisPoints) {
+        return mulDivHalfUp(paise, basisPoints, 10_000);
+    }
+
+    /** {@code part} as a share of {@code whole}, in basis points; zero when {@code whole} is zero. */
+    public static int ratioBasisPoints(long part, long whole) {
+        return whole == 0 ? 0 : Math.toIntExact(mulDivHalfUp(part, 10_000, whole));
+    }
+
+    /** {@code a * b / divisor}, rounded once. Stays in longs unless the product itself overflows. */
+    private static long mulDivHalfUp(long a, long b, long divisor) {
+        long product = a * b;
+        if (Math.multiplyHigh(a, b) == (product >> 63)) {
+            return divideHalfUp(product, divisor);
+        }
+        return BigDecimal.valueOf(a).multiply(BigDecimal.valueOf(b))
+                .divide(BigDecimal.valueOf(divisor), 0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    private static long divideHalfUp(long dividend, long divisor) {
+        long quotient = dividend / divisor;
+        long remainder = dividend % divisor;
+        if (Math.abs(remainder) >= Math.abs(divisor) - Math.abs(remainder)) {
+            quotient += Long.signum(dividend) * Long.signum(divisor);
+        }
+        return quotient;
+    }
+
+    /** {@code value} in units of {@code 10^-scale}; only values more precise than that are rounded. */
+    private static long fixed(BigDecimal value, int scale) {
+        if (value.scale() <= scale) {
+            return value.movePointRight(scale).longValueExact();
+        }
+        return value.setScale(scale, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    /** {@code value} in units of {@code 1 / scale}, rounded half away from zero. */
+    private static long fixed(double value, long scale) {
+        double scaled = value * scale;
+        if (Double.isNaN(scaled) || Math.abs(scaled) >= 0x1p62) {
+            throw new ArithmeticException("Amount out of range: " + value);
+        }
+        // Math.round rounds ties towards positive infinity; mirror it for negatives.
+        return scaled < 0 ? -Math.round(-scaled) : Math.round(scaled);
+    }
+}
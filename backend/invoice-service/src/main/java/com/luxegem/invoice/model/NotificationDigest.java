@@ -0,0 +1,44 @@
+package com.luxegem.invoice.model;
+
+import java.time.Duration;
+
+/**
+ * System events that are coalesced into a single digest notification when
+ * they repeat for the same shop within the configured window, or within the
+ * digest's own window for events that are spaced further apart.
+ */
+public enum NotificationDigest {
+    INVENTORY_ADDED("Inventory items added", "%d items added to inventory", NotificationType.INFO, null),
+    INVOICE_CREATED("Invoices created", "%d invoices created", NotificationType.SUCCESS, null),
+    INVENTORY_REPRICED("Inventory repriced", "Inventory repriced to market rates %d times", NotificationType.INFO,
+            Duration.ofHours(12));
+
+    private final String title;
+    private final String messageFormat;
+    private final NotificationType type;
+    private final Duration window;
+
+    NotificationDigest(String title, String messageFormat, NotificationType type, Duration window) {
+        this.title = title;
+        this.messageFormat = messageFormat;
+        this.type = type;
+        this.window = window;
+    }
+
+    public String title() {
+        return title;
+    }
+
+    public String message(int occurrences) {
+        return String.format(messageFormat, occurrences);
+    }
+
+    public NotificationType type() {
+        return type;
+    }
+
+    /** @return this digest's window, or {@code null} for the configured default */
+    public Duration window() {
+        return window;
+    }
+}
@@ -1,6 +1,7 @@
 package com.luxegem.invoice.model;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 public record NotificationResponse(
         Long id,
@@ -9,5 +10,8 @@ public record NotificationResponse(
         String message,
         String type,
         boolean isRead,
-        LocalDateTime createdAt) {
+        LocalDateTime createdAt,
+        int occurrenceCount,
+        List<String> referenceIds,
+        String scope) {
 }
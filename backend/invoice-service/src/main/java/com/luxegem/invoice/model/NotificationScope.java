@@ -0,0 +1,6 @@
+package com.luxegem.invoice.model;
+
+public enum NotificationScope {
+    SHOP,
+    BROADCAST
+}
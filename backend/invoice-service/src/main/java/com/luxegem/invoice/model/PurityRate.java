@@ -0,0 +1,13 @@
+package com.luxegem.invoice.model;
+
+/**
+ * @param pricePerGram INR per gram
+ * @param derived      true when computed from the metal's base rate by fineness rather than quoted
+ */
+public record PurityRate(
+        String metal,
+        String purity,
+        double pricePerGram,
+        boolean derived
+) {
+}
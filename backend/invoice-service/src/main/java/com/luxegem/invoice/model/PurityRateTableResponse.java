@@ -0,0 +1,14 @@
+package com.luxegem.invoice.model;
+
+import java.util.List;
+
+/**
+ * @param version   increases every time any rate changes; unchanged refreshes keep it
+ * @param changedAt when this version was published, epoch millis
+ */
+public record PurityRateTableResponse(
+        long version,
+        long changedAt,
+        List<PurityRate> rates
+) {
+}
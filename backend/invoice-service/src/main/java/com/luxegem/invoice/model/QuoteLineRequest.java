@@ -0,0 +1,23 @@
+package com.luxegem.invoice.model;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+
+/**
+ * One line to price. A line naming only an inventory item is priced from that
+ * item; any other field given overrides the item's value, and a line with no
+ * item code must give metal, purity and weight itself.
+ *
+ * @param makingCharge making charge per piece, in rupees
+ * @param quantity     defaults to 1
+ */
+public record QuoteLineRequest(
+        String itemCode,
+        String metalType,
+        String purity,
+        String category,
+        String hsnCode,
+        @DecimalMin("0.000") Double weightGrams,
+        @DecimalMin("0.00") Double makingCharge,
+        @Min(1) Integer quantity
+) {}
@@ -0,0 +1,17 @@
+package com.luxegem.invoice.model;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * One catalogue page, each item priced for a single piece.
+ */
+public record QuotePageResponse(
+        long rateVersion,
+        LocalDateTime ratesChangedAt,
+        List<QuotedLine> items,
+        int page,
+        int size,
+        long totalItems,
+        int totalPages
+) {}
@@ -0,0 +1,10 @@
+package com.luxegem.invoice.model;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+public record QuoteRequest(
+        @NotEmpty List<@Valid QuoteLineRequest> lines
+) {}
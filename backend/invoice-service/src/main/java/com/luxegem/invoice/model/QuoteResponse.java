@@ -0,0 +1,17 @@
+package com.luxegem.invoice.model;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * @param rateVersion    version of the market rate table every line was priced against
+ * @param ratesChangedAt when that version was published
+ */
+public record QuoteResponse(
+        long rateVersion,
+        LocalDateTime ratesChangedAt,
+        List<QuotedLine> lines,
+        double subtotal,
+        double taxAmount,
+        double total
+) {}
@@ -0,0 +1,21 @@
+package com.luxegem.invoice.model;
+
+/**
+ * @param rateSource  LIVE for the current market rate, STOCKED for the item's own rate per gram
+ *                    when the market does not quote its metal and purity
+ * @param metalValue  weight x rate x quantity
+ * @param total       metal value plus making charge plus GST
+ */
+public record QuotedLine(
+        String itemCode,
+        String type,
+        double weightGrams,
+        int quantity,
+        double ratePerGram,
+        String rateSource,
+        double metalValue,
+        double makingCharge,
+        double gstRatePercent,
+        double gstAmount,
+        double total
+) {}
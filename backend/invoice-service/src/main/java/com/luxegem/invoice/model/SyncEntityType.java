@@ -0,0 +1,7 @@
+package com.luxegem.invoice.model;
+
+public enum SyncEntityType {
+    INVOICE,
+    INVENTORY,
+    NOTIFICATION
+}
@@ -0,0 +1,10 @@
+package com.luxegem.invoice.model;
+
+/**
+ * @param key invoiceId, itemCode or notification id, depending on {@code entityType}
+ */
+public record SyncTombstone(
+        SyncEntityType entityType,
+        String key,
+        long changeSeq
+) {}
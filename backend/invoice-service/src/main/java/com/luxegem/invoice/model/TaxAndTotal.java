@@ -0,0 +1,17 @@
+package com.luxegem.invoice.model;
+
+/**
+ * @param taxRate effective GST rate over the invoice, in percent
+ */
+public record TaxAndTotal(
+        double subtotal,
+        double taxRate,
+        double taxAmount,
+        double total
+) {
+
+    public static TaxAndTotal ofPaise(long subtotalPaise, int taxRateBasisPoints, long taxPaise, long totalPaise) {
+        return new TaxAndTotal(Money.toDouble(subtotalPaise), taxRateBasisPoints / 100.0, Money.toDouble(taxPaise),
+                Money.toDouble(totalPaise));
+    }
+}
@@ -0,0 +1,20 @@
+package com.luxegem.invoice.model;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+
+import java.math.BigDecimal;
+
+/**
+ * Either {@code hsnCode} alone, or {@code category} and/or {@code metalType};
+ * leave all three empty for the default rate.
+ */
+public record TaxRuleRequest(
+        @Pattern(regexp = "\\d{2,8}") String hsnCode,
+        String category,
+        String metalType,
+        @NotNull @DecimalMin("0.00") @DecimalMax("100.00") BigDecimal ratePercent,
+        String description
+) {}
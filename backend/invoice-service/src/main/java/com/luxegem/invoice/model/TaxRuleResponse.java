@@ -0,0 +1,14 @@
+package com.luxegem.invoice.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record TaxRuleResponse(
+        Long id,
+        String hsnCode,
+        String category,
+        String metalType,
+        BigDecimal ratePercent,
+        String description,
+        LocalDateTime updatedAt
+) {}
@@ -0,0 +1,49 @@
+package com.luxegem.invoice.model;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Invoice lines with their authoritative GST rates, and the totals that follow.
+ * Amounts are in paise (see {@link Money}); the {@code BigDecimal} accessors
+ * are for the invoice entity.
+ *
+ * @param grossPaise         taxable value: metal value plus making charges
+ * @param gstRateBasisPoints effective rate over the whole invoice (3% = 300)
+ * @param netPaise           gross plus tax, less discount
+ */
+public record TaxedInvoice(
+        List<InvoiceItemDto> items,
+        long grossPaise,
+        long makingPaise,
+        long taxPaise,
+        int gstRateBasisPoints,
+        long discountPaise,
+        long netPaise
+) {
+
+    public BigDecimal grossAmount() {
+        return Money.toBigDecimal(grossPaise);
+    }
+
+    public BigDecimal makingCharge() {
+        return Money.toBigDecimal(makingPaise);
+    }
+
+    public BigDecimal taxAmount() {
+        return Money.toBigDecimal(taxPaise);
+    }
+
+    /** Effective rate in percent. */
+    public BigDecimal gstRate() {
+        return BigDecimal.valueOf(gstRateBasisPoints, 2);
+    }
+
+    public BigDecimal discount() {
+        return Money.toBigDecimal(discountPaise);
+    }
+
+    public BigDecimal netAmount() {
+        return Money.toBigDecimal(netPaise);
+    }
+}
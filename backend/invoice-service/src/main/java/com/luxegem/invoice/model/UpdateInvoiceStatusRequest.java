@@ -0,0 +1,6 @@
+package com.luxegem.invoice.model;
+
+import jakarta.validation.constraints.NotBlank;
+
+public record UpdateInvoiceStatusRequest(@NotBlank String status) {
+}
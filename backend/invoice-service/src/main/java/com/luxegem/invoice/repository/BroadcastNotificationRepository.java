@@ -0,0 +1,34 @@
+package com.luxegem.invoice.repository;
+
+import com.luxegem.invoice.entity.BroadcastNotificationEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface BroadcastNotificationRepository extends JpaRepository<BroadcastNotificationEntity, Long> {
+
+    /**
+     * Audience predicate shared by the queries below; {@code b} is the broadcast row.
+     */
+    String AUDIENCE_MATCHES = """
+            (b.audience = 'ALL_SHOPS'
+               OR (b.audience = 'ROLE' AND lower(b.audience_role) = lower(:role))
+               OR (b.audience = 'SHOPS' AND b.audience_shop_ids @> jsonb_build_array(CAST(:shopId AS text))))
+            """;
+
+    @Query(value = "SELECT b.* FROM broadcast_notifications b WHERE " + AUDIENCE_MATCHES
+            + " ORDER BY b.created_at DESC LIMIT :limit", nativeQuery = true)
+    List<BroadcastNotificationEntity> findVisible(String shopId, String role, int limit);
+
+    @Query(value = "SELECT b.* FROM broadcast_notifications b WHERE b.id = :id AND " + AUDIENCE_MATCHES,
+            nativeQuery = true)
+    Optional<BroadcastNotificationEntity> findVisibleById(Long id, String shopId, String role);
+
+    @Query(value = "SELECT count(*) FROM broadcast_notifications b WHERE " + AUDIENCE_MATCHES + """
+             AND NOT EXISTS (
+                SELECT 1 FROM broadcast_receipts r WHERE r.broadcast_id = b.id AND r.shop_id = :shopId)
+            """, nativeQuery = true)
+    long countUnread(String shopId, String role);
+}
@@ -0,0 +1,28 @@
+package com.luxegem.invoice.repository;
+
+import com.luxegem.invoice.entity.BroadcastReceiptEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface BroadcastReceiptRepository extends JpaRepository<BroadcastReceiptEntity, Long> {
+
+    List<BroadcastReceiptEntity> findByShopIdAndBroadcastIdIn(String shopId, Collection<Long> broadcastIds);
+
+    /** Records the receipt unless one exists; safe against concurrent requests for the same shop. */
+    @Modifying
+    @Query(value = "INSERT INTO broadcast_receipts (broadcast_id, shop_id, read_at) "
+            + "VALUES (:broadcastId, :shopId, now()) ON CONFLICT (broadcast_id, shop_id) DO NOTHING",
+            nativeQuery = true)
+    int markRead(Long broadcastId, String shopId);
+
+    @Modifying
+    @Query(value = "INSERT INTO broadcast_receipts (broadcast_id, shop_id, read_at) "
+            + "SELECT b.id, :shopId, now() FROM broadcast_notifications b WHERE "
+            + BroadcastNotificationRepository.AUDIENCE_MATCHES
+            + " ON CONFLICT (broadcast_id, shop_id) DO NOTHING", nativeQuery = true)
+    int markAllRead(String shopId, String role);
+}
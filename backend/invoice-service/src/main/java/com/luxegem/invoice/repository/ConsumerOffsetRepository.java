@@ -0,0 +1,7 @@
+package com.luxegem.invoice.repository;
+
+import com.luxegem.invoice.entity.ConsumerOffsetEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface ConsumerOffsetRepository extends JpaRepository<ConsumerOffsetEntity, String> {
+}
@@ -0,0 +1,11 @@
+package com.luxegem.invoice.repository;
+
+import com.luxegem.invoice.entity.GstReportSnapshotEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface GstReportSnapshotRepository extends JpaRepository<GstReportSnapshotEntity, Long> {
+
+    Optional<GstReportSnapshotEntity> findByShopIdAndPeriod(String shopId, String period);
+}
@@ -0,0 +1,11 @@
+package com.luxegem.invoice.repository;
+
+import com.luxegem.invoice.entity.InventoryImportJobEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface InventoryImportJobRepository extends JpaRepository<InventoryImportJobEntity, Long> {
+
+    Optional<InventoryImportJobEntity> findByIdAndShopId(Long id, String shopId);
+}
@@ -1,14 +1,36 @@
 package com.luxegem.invoice.repository;
 
 import com.luxegem.invoice.entity.InventoryEntity;
+import com.luxegem.invoice.model.InventoryExportRow;
+import com.luxegem.invoice.model.InventoryTotals;
+import com.luxegem.invoice.model.MetalStockCount;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface InventoryRepository extends JpaRepository<InventoryEntity, Long> {
 
+    /** Rows fetched per round trip when the catalogue is streamed through a cursor. */
+    String CATALOGUE_FETCH_SIZE = "500";
+
+    /** Shop catalogue, optionally narrowed to a category and/or a maximum stock level. */
+    String CATALOGUE = """
+            SELECT i FROM InventoryEntity i
+            WHERE i.shopId = :shopId
+              AND (:category IS NULL OR i.category = :category)
+              AND (:maxStock IS NULL OR i.stockQuantity <= :maxStock)
+            """;
+
     Optional<InventoryEntity> findTopByOrderByIdDesc();
 
     @Query("""
@@ -28,7 +50,70 @@ public interface InventoryRepository extends JpaRepository<InventoryEntity, Long
     // New methods for billing
     Optional<InventoryEntity> findByItemCode(String itemCode);
 
-    List<InventoryEntity> findByCategory(String category);
+    Optional<InventoryEntity> findByShopIdAndItemCode(String shopId, String itemCode);
+
+    List<InventoryEntity> findByShopIdAndItemCodeIn(String shopId, Collection<String> itemCodes);
 
-    
+    List<InventoryEntity> findByShopIdAndChangeSeqGreaterThanOrderByChangeSeqAsc(String shopId, long since,
+            Pageable pageable);
+
+    @Query(CATALOGUE)
+    Page<InventoryEntity> findCatalogue(String shopId, String category, Integer maxStock, Pageable pageable);
+
+    /**
+     * Same rows as {@link #findCatalogue}, read through a server-side cursor.
+     * Must be consumed (and closed) inside a transaction.
+     */
+    @Query(CATALOGUE + " ORDER BY i.itemCode")
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = CATALOGUE_FETCH_SIZE),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<InventoryEntity> streamCatalogue(String shopId, String category, Integer maxStock);
+
+    /**
+     * Item count, low-stock count and value at cost (metal value at the stored
+     * rate plus making charge, times units on hand) in a single aggregate query.
+     */
+    @Query("""
+            SELECT new com.luxegem.invoice.model.InventoryTotals(
+                count(i),
+                coalesce(sum(CASE WHEN i.stockQuantity <= :lowStockThreshold THEN 1 ELSE 0 END), 0),
+                coalesce(sum((coalesce(i.netWeight, i.grossWeight) * i.ratePerGram
+                        + coalesce(i.makingCharge, 0)) * i.stockQuantity), 0))
+            FROM InventoryEntity i
+            WHERE i.shopId = :shopId
+            """)
+    InventoryTotals summarizeByShopId(String shopId, int lowStockThreshold);
+
+    @Query("""
+            SELECT new com.luxegem.invoice.model.MetalStockCount(i.metalType, count(i), coalesce(sum(i.stockQuantity), 0))
+            FROM InventoryEntity i
+            WHERE i.shopId = :shopId
+            GROUP BY i.metalType
+            ORDER BY i.metalType
+            """)
+    List<MetalStockCount> countByMetalForShop(String shopId);
+
+    /**
+     * A shop's inventory last updated in [{@code updatedFrom}, {@code updatedBefore})
+     * for export, read through a server-side cursor. {@code category} is optional.
+     * Must be consumed (and closed) inside a transaction.
+     */
+    @Query("""
+            SELECT new com.luxegem.invoice.model.InventoryExportRow(
+                i.itemCode, i.itemName, i.category, i.metalType, i.purity, i.grossWeight, i.netWeight,
+                i.makingCharge, i.ratePerGram, i.stockQuantity, i.hsnCode, i.updatedAt)
+            FROM InventoryEntity i
+            WHERE i.shopId = :shopId
+              AND (:category IS NULL OR i.category = :category)
+              AND i.updatedAt >= :updatedFrom AND i.updatedAt < :updatedBefore
+            ORDER BY i.itemCode
+            """)
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<InventoryExportRow> streamExport(String shopId, String category, LocalDateTime updatedFrom,
+            LocalDateTime updatedBefore);
 }
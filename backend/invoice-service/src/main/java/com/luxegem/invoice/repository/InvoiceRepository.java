@@ -1,11 +1,18 @@
 package com.luxegem.invoice.repository;
 
 import com.luxegem.invoice.entity.InvoiceEntity;
+import com.luxegem.invoice.model.InvoiceExportRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface InvoiceRepository extends JpaRepository<InvoiceEntity, Long> {
     List<InvoiceEntity> findTop10ByShopIdOrderByIssueDateDesc(String shopId);
@@ -18,4 +25,28 @@ public interface InvoiceRepository extends JpaRepository<InvoiceEntity, Long> {
 
     // New method for billing
     Optional<InvoiceEntity> findByInvoiceId(String invoiceId);
+
+    List<InvoiceEntity> findByShopIdAndChangeSeqGreaterThanOrderByChangeSeqAsc(String shopId, long since,
+            Pageable pageable);
+
+    /**
+     * A shop's invoices issued between {@code from} and {@code to} (inclusive) for
+     * export, oldest first, read through a server-side cursor. {@code status} is
+     * optional. Must be consumed (and closed) inside a transaction.
+     */
+    @Query("""
+            SELECT new com.luxegem.invoice.model.InvoiceExportRow(
+                i.invoiceId, i.issueDate, i.customer, i.mobilenumber, i.type, i.status, i.paymentMethod,
+                i.grossAmount, i.discount, i.makingCharge, i.gstRate, i.netAmount, i.amount)
+            FROM InvoiceEntity i
+            WHERE i.shopId = :shopId
+              AND i.issueDate BETWEEN :from AND :to
+              AND (:status IS NULL OR i.status = :status)
+            ORDER BY i.issueDate, i.id
+            """)
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<InvoiceExportRow> streamExport(String shopId, LocalDate from, LocalDate to, String status);
 }
@@ -1,27 +1,57 @@
 package com.luxegem.invoice.repository;
 
 import com.luxegem.invoice.entity.NotificationEntity;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
+/**
+ * Every query takes a {@code since} lower bound on {@code createdAt}; the table is
+ * partitioned by month on that column, so the bound lets Postgres skip partitions.
+ */
 public interface NotificationRepository extends JpaRepository<NotificationEntity, Long> {
 
-    List<NotificationEntity> findByShopIdOrderByCreatedAtDesc(String shopId, Pageable pageable);
+    List<NotificationEntity> findByShopIdAndCreatedAtGreaterThanEqualOrderByCreatedAtDesc(String shopId,
+            LocalDateTime since, Pageable pageable);
 
-    List<NotificationEntity> findByShopIdInOrderByCreatedAtDesc(List<String> shopIds, Pageable pageable);
+    List<NotificationEntity> findByShopIdInAndCreatedAtGreaterThanEqualOrderByCreatedAtDesc(List<String> shopIds,
+            LocalDateTime since, Pageable pageable);
 
-    long countByShopIdAndIsReadFalse(String shopId);
+    long countByShopIdAndIsReadFalseAndCreatedAtGreaterThanEqual(String shopId, LocalDateTime since);
 
-    long countByShopIdInAndIsReadFalse(List<String> shopIds);
+    long countByShopIdInAndIsReadFalseAndCreatedAtGreaterThanEqual(List<String> shopIds, LocalDateTime since);
 
-    Optional<NotificationEntity> findByIdAndShopId(Long id, String shopId);
+    Optional<NotificationEntity> findByIdAndShopIdAndCreatedAtGreaterThanEqual(Long id, String shopId,
+            LocalDateTime since);
 
-    Optional<NotificationEntity> findByIdAndShopIdIn(Long id, List<String> shopIds);
+    Optional<NotificationEntity> findByIdAndShopIdInAndCreatedAtGreaterThanEqual(Long id, List<String> shopIds,
+            LocalDateTime since);
 
-    List<NotificationEntity> findByShopIdAndIsReadFalse(String shopId);
+    List<NotificationEntity> findByShopIdAndChangeSeqGreaterThanAndCreatedAtGreaterThanEqualOrderByChangeSeqAsc(
+            String shopId, long changeSeq, LocalDateTime since, Pageable pageable);
 
-    List<NotificationEntity> findByShopIdInAndIsReadFalse(List<String> shopIds);
+    @Modifying
+    @Query("""
+            UPDATE NotificationEntity n SET n.isRead = true
+            WHERE n.shopId IN :shopIds AND n.isRead = false AND n.createdAt >= :since
+            """)
+    int markAllRead(List<String> shopIds, LocalDateTime since);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+            SELECT n FROM NotificationEntity n
+            WHERE n.shopId = :shopId AND n.digestKey = :digestKey AND n.isRead = false
+              AND n.lastOccurredAt > :openAfter AND n.createdAt >= :since
+            ORDER BY n.lastOccurredAt DESC
+            LIMIT 1
+            """)
+    Optional<NotificationEntity> findOpenDigest(String shopId, String digestKey, LocalDateTime openAfter,
+            LocalDateTime since);
 }
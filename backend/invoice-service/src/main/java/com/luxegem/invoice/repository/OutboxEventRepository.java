@@ -0,0 +1,12 @@
+package com.luxegem.invoice.repository;
+
+import com.luxegem.invoice.entity.OutboxEventEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEventEntity, Long> {
+
+    List<OutboxEventEntity> findByCommitSeqGreaterThanOrderByCommitSeqAsc(Long afterSeq, Pageable pageable);
+}
@@ -0,0 +1,15 @@
+package com.luxegem.invoice.repository;
+
+import com.luxegem.invoice.entity.SyncTombstoneEntity;
+import com.luxegem.invoice.model.SyncEntityType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface SyncTombstoneRepository extends JpaRepository<SyncTombstoneEntity, Long> {
+
+    List<SyncTombstoneEntity> findByShopIdAndEntityTypeInAndChangeSeqGreaterThanOrderByChangeSeqAsc(String shopId,
+            Collection<SyncEntityType> entityTypes, long since, Pageable pageable);
+}
@@ -0,0 +1,7 @@
+package com.luxegem.invoice.repository;
+
+import com.luxegem.invoice.entity.TaxRuleEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface TaxRuleRepository extends JpaRepository<TaxRuleEntity, Long> {
+}
@@ -7,6 +7,8 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
+import java.time.Instant;
+import java.util.Date;
 
 @Service
 public class JwtService {
@@ -29,6 +31,21 @@ public class JwtService {
         return extractClaims(token).get("role", String.class);
     }
 
+    /**
+     * Short-lived token this service presents when calling other services.
+     */
+    public String generateServiceToken(String serviceName, long ttlMs) {
+        Instant now = Instant.now();
+        return Jwts.builder()
+                .subject(serviceName)
+                .claim("role", "service")
+                .claim("shopId", serviceName)
+                .issuedAt(Date.from(now))
+                .expiration(Date.from(now.plusMillis(ttlMs)))
+                .signWith(key)
+                .compact();
+    }
+
     public boolean isTokenValid(String token) {
         return extractClaims(token).getExpiration().getTime() > System.currentTimeMillis();
     }
@@ -1,25 +1,40 @@
 package com.luxegem.invoice.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.luxegem.invoice.entity.InvoiceEntity;
 import com.luxegem.invoice.entity.InventoryEntity;
+import com.luxegem.invoice.model.BillingStatsResponse;
 import com.luxegem.invoice.model.CreateDetailedInvoiceRequest;
 import com.luxegem.invoice.model.InvoiceDetailedResponse;
 import com.luxegem.invoice.model.InvoiceItemDetail;
 import com.luxegem.invoice.model.InvoiceItemDto;
 import com.luxegem.invoice.model.InventoryItemResponse;
+import com.luxegem.invoice.model.InventoryPageResponse;
+import com.luxegem.invoice.model.InventoryTotals;
+import com.luxegem.invoice.model.Money;
+import com.luxegem.invoice.model.TaxAndTotal;
+import com.luxegem.invoice.model.TaxedInvoice;
 import com.luxegem.invoice.repository.InventoryRepository;
 import com.luxegem.invoice.repository.InvoiceRepository;
+import jakarta.persistence.EntityManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
@@ -27,68 +42,104 @@ public class BillingService {
 
         private static final Logger logger = LoggerFactory.getLogger(BillingService.class);
 
+        public static final int LOW_STOCK_THRESHOLD = 5;
+        private static final int MAX_PAGE_SIZE = 200;
+
         private final InvoiceRepository invoiceRepository;
         private final InventoryRepository inventoryRepository;
+        private final OutboxService outboxService;
+        private final InvoiceNumberAllocator invoiceNumberAllocator;
+        private final InvoiceTaxCalculator taxCalculator;
+        private final EntityManager entityManager;
+        private final ObjectMapper objectMapper;
 
-        public BillingService(InvoiceRepository invoiceRepository, InventoryRepository inventoryRepository) {
+        public BillingService(InvoiceRepository invoiceRepository, InventoryRepository inventoryRepository,
+                        OutboxService outboxService, InvoiceNumberAllocator invoiceNumberAllocator,
+                        InvoiceTaxCalculator taxCalculator, EntityManager entityManager, ObjectMapper objectMapper) {
                 this.invoiceRepository = invoiceRepository;
                 this.inventoryRepository = inventoryRepository;
+                this.outboxService = outboxService;
+                this.invoiceNumberAllocator = invoiceNumberAllocator;
+                this.taxCalculator = taxCalculator;
+                this.entityManager = entityManager;
+                this.objectMapper = objectMapper;
         }
 
         /**
          * Create invoice with detailed items from inventory
          */
-        public InvoiceDetailedResponse createDetailedInvoice(CreateDetailedInvoiceRequest request) {
-                logger.info("Creating detailed invoice for customer: {}", request.customer());
+        public InvoiceDetailedResponse createDetailedInvoice(CreateDetailedInvoiceRequest request, String shopId) {
+                logger.info("Creating detailed invoice for customer: {} (shop: {})", request.customer(), shopId);
 
                 // Validate and fetch items from inventory
                 List<InvoiceItemDetail> itemDetails = new ArrayList<>();
-                BigDecimal totalAmount = BigDecimal.ZERO;
+                List<InvoiceItemDto> lines = new ArrayList<>();
+                List<String> categories = new ArrayList<>();
+                long[] makingPaise = new long[request.itemSKUs().size()];
 
                 for (String sku : request.itemSKUs()) {
-                        Optional<InventoryEntity> inventoryItem = inventoryRepository.findByItemCode(sku);
+                        Optional<InventoryEntity> inventoryItem = inventoryRepository.findByShopIdAndItemCode(shopId,
+                                        sku);
                         if (inventoryItem.isPresent()) {
                                 InventoryEntity item = inventoryItem.get();
-                                InvoiceItemDetail detail = new InvoiceItemDetail(
+                                int sold = request.quantities().getOrDefault(sku, 1);
+                                double weight = item.getGrossWeight().doubleValue();
+                                double rate = item.getRatePerGram().doubleValue();
+                                long base = Money.lineValue(item.getGrossWeight(), item.getRatePerGram(), sold);
+                                long making = Money.times(Money.of(item.getMakingCharge()), sold);
+                                // For display; the line is priced, and reported, from the exact making charge.
+                                double makingChargePercent = base == 0 ? 0.0 : making * 100.0 / base;
+                                String type = item.getMetalType() + "_" + item.getPurity();
+
+                                itemDetails.add(new InvoiceItemDetail(
                                                 item.getItemCode(),
                                                 item.getItemName(),
-                                                item.getMetalType() + "_" + item.getPurity(),
-                                                item.getGrossWeight().doubleValue(),
-                                                request.quantities().getOrDefault(sku, 1),
-                                                item.getRatePerGram().doubleValue(),
-                                                item.getRatePerGram()
-                                                                .multiply(BigDecimal.valueOf(request.quantities()
-                                                                                .getOrDefault(sku, 1)))
-                                                                .doubleValue());
-                                itemDetails.add(detail);
-                                totalAmount = totalAmount.add(BigDecimal.valueOf(detail.lineTotal()));
+                                                type,
+                                                weight,
+                                                sold,
+                                                rate,
+                                                Money.toDouble(base + making)));
+                                makingPaise[lines.size()] = making;
+                                lines.add(new InvoiceItemDto(item.getItemName(), type, weight, rate,
+                                                makingChargePercent, null, item.getItemCode(), item.getHsnCode(), sold,
+                                                null, null));
+                                categories.add(item.getCategory());
 
                                 // Deduct stock quantity
-                                item.setStockQuantity(
-                                                item.getStockQuantity() - request.quantities().getOrDefault(sku, 1));
+                                item.setStockQuantity(item.getStockQuantity() - sold);
                                 inventoryRepository.save(item);
+                                outboxService.stockChanged(item, -sold, "SOLD");
                         } else {
                                 logger.warn("Item Code not found in inventory: {}", sku);
                         }
                 }
 
-                // Generate invoice ID
-                String generatedInvoiceId = generateInvoiceId();
+                TaxedInvoice taxed = taxCalculator.calculate(lines, categories, makingPaise, Money.ZERO);
 
-                // Convert items to JSON for storage
-                List<InvoiceItemDto> itemDtos = convertToDtos(itemDetails);
+                // Generate invoice ID
+                String generatedInvoiceId = invoiceNumberAllocator.next();
 
                 // Create and save invoice entity
                 InvoiceEntity invoiceEntity = new InvoiceEntity(
                                 generatedInvoiceId,
                                 request.customer(),
-                                itemDtos,
+                                "",
+                                "",
+                                taxed.items(),
                                 request.type(),
-                                totalAmount,
+                                taxed.netAmount(),
                                 "Pending",
-                                LocalDate.now());
+                                LocalDate.now(),
+                                taxed.grossAmount(),
+                                taxed.netAmount(),
+                                taxed.discount(),
+                                taxed.makingCharge(),
+                                taxed.gstRate(),
+                                "CASH");
+                invoiceEntity.setShopId(shopId);
 
                 InvoiceEntity savedInvoice = invoiceRepository.save(invoiceEntity);
+                outboxService.invoiceCreated(savedInvoice);
                 logger.info("Invoice created successfully: {}", generatedInvoiceId);
 
                 // Return detailed response
@@ -97,10 +148,11 @@ public class BillingService {
                                 savedInvoice.getCustomer(),
                                 itemDetails,
                                 savedInvoice.getType(),
-                                totalAmount.doubleValue(),
+                                Money.toDouble(taxed.grossPaise()),
                                 "Pending",
                                 LocalDate.now().toString(),
-                                calculateTaxAndTotal(totalAmount.doubleValue()));
+                                TaxAndTotal.ofPaise(taxed.grossPaise(), taxed.gstRateBasisPoints(), taxed.taxPaise(),
+                                                taxed.netPaise()));
         }
 
         /**
@@ -114,92 +166,96 @@ public class BillingService {
 
                 // Parse items from JSON
                 List<InvoiceItemDetail> itemDetails = convertToDetails(invoice.getItems());
-                BigDecimal totalAmount = invoice.getAmount();
+                // Tax as billed: net = gross + tax - discount
+                long gross = Money.of(invoice.getGrossAmount());
+                long tax = Math.max(Money.of(invoice.getNetAmount()) - gross + Money.of(invoice.getDiscount()), 0);
 
                 return new InvoiceDetailedResponse(
                                 invoice.getInvoiceId(),
                                 invoice.getCustomer(),
                                 itemDetails,
                                 invoice.getType(),
-                                totalAmount.doubleValue(),
+                                Money.toDouble(gross),
                                 invoice.getStatus(),
                                 invoice.getIssueDate().toString(),
-                                calculateTaxAndTotal(totalAmount.doubleValue()));
+                                TaxAndTotal.ofPaise(gross, Money.ratioBasisPoints(tax, gross), tax,
+                                                Money.of(invoice.getAmount())));
         }
 
         /**
-         * Get all available inventory items
+         * One page of a shop's catalogue, optionally filtered by category or stock level
          */
-        public List<InventoryItemResponse> getAvailableItems() {
-                logger.info("Fetching all available inventory items");
-                return inventoryRepository.findAll().stream()
-                                .map(this::toInventoryItemResponse)
-                                .toList();
+        @Transactional(readOnly = true)
+        public InventoryPageResponse getCatalogue(String shopId, String category, Integer maxStock, int page,
+                        int size) {
+                int safeSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+                Page<InventoryEntity> result = inventoryRepository.findCatalogue(shopId, category, maxStock,
+                                PageRequest.of(Math.max(page, 0), safeSize, Sort.by("itemCode")));
+                return new InventoryPageResponse(
+                                result.getContent().stream().map(this::toInventoryItemResponse).toList(),
+                                result.getNumber(),
+                                result.getSize(),
+                                result.getTotalElements(),
+                                result.getTotalPages());
         }
 
         /**
-         * Search inventory items by type
+         * Write a shop's catalogue as NDJSON straight from a database cursor. Entities are
+         * evicted from the persistence context as they are written, so memory stays flat
+         * regardless of catalogue size.
          */
-        public List<InventoryItemResponse> searchItemsByType(String type) {
-                logger.info("Searching inventory items by type: {}", type);
-                return inventoryRepository.findByCategory(type).stream()
-                                .map(this::toInventoryItemResponse)
-                                .toList();
+        @Transactional(readOnly = true)
+        public void writeCatalogue(String shopId, String category, Integer maxStock, OutputStream out)
+                        throws IOException {
+                ObjectWriter writer = objectMapper.writerFor(InventoryItemResponse.class);
+                try (Stream<InventoryEntity> items = inventoryRepository.streamCatalogue(shopId, category, maxStock)) {
+                        Iterator<InventoryEntity> iterator = items.iterator();
+                        while (iterator.hasNext()) {
+                                InventoryEntity item = iterator.next();
+                                out.write(writer.writeValueAsBytes(toInventoryItemResponse(item)));
+                                out.write('\n');
+                                entityManager.detach(item);
+                        }
+                }
+                out.flush();
         }
 
         /**
-         * Get low stock alerts
+         * Inventory statistics for a shop, aggregated in the database
          */
-        public List<InventoryItemResponse> getLowStockItems() {
-                logger.info("Fetching low stock inventory items");
-                return inventoryRepository.findByStockQuantityLessThanEqual(5).stream()
-                                .map(this::toInventoryItemResponse)
-                                .toList();
+        @Transactional(readOnly = true)
+        public BillingStatsResponse getBillingStats(String shopId) {
+                InventoryTotals totals = inventoryRepository.summarizeByShopId(shopId, LOW_STOCK_THRESHOLD);
+                return new BillingStatsResponse(
+                                totals.totalItems(),
+                                totals.lowStockItems(),
+                                totals.valueAtCost().doubleValue(),
+                                inventoryRepository.countByMetalForShop(shopId),
+                                System.currentTimeMillis(),
+                                "success");
         }
 
         // ========== PRIVATE HELPER METHODS ==========
 
-        private String generateInvoiceId() {
-                long lastId = invoiceRepository.findTopByOrderByIdDesc()
-                                .map(InvoiceEntity::getId)
-                                .orElse(2040L);
-                return "#INV-" + (lastId + 1);
-        }
-
-        private List<InvoiceItemDto> convertToDtos(List<InvoiceItemDetail> items) {
-                if (items == null)
-                        return new ArrayList<>();
-                return items.stream()
-                                .map(item -> new InvoiceItemDto(item.itemName(), item.type(), item.weightGrams(),
-                                                item.unitPrice(), 0.0,
-                                                0.0))
-                                .toList();
-        }
-
         private List<InvoiceItemDetail> convertToDetails(List<InvoiceItemDto> items) {
                 if (items == null)
                         return new ArrayList<>();
                 return items.stream()
-                                .map(item -> new InvoiceItemDetail("N/A", item.description(), item.type(),
-                                                item.weight() == null ? 0.0 : item.weight(), 1,
-                                                item.rate() == null ? 0.0 : item.rate(),
-                                                (item.weight() == null ? 0.0 : item.weight())
-                                                                * (item.rate() == null ? 0.0 : item.rate())))
+                                .map(item -> {
+                                        double weight = item.weight() == null ? 0.0 : item.weight();
+                                        double rate = item.rate() == null ? 0.0 : item.rate();
+                                        int quantity = item.quantity() == null ? 1 : item.quantity();
+                                        long base = Money.lineValue(BigDecimal.valueOf(weight), BigDecimal.valueOf(rate),
+                                                        quantity);
+                                        long making = Money.percent(base, item.makingChargePercent() == null ? 0.0
+                                                        : item.makingChargePercent());
+                                        return new InvoiceItemDetail(item.itemCode() == null ? "N/A" : item.itemCode(),
+                                                        item.description(), item.type(), weight, quantity, rate,
+                                                        Money.toDouble(base + making));
+                                })
                                 .toList();
         }
 
-        private Map<String, Object> calculateTaxAndTotal(double subtotal) {
-                double taxRate = 0.18; // 18% GST for India
-                double taxAmount = subtotal * taxRate;
-                double total = subtotal + taxAmount;
-
-                return Map.of(
-                                "subtotal", subtotal,
-                                "taxRate", taxRate * 100,
-                                "taxAmount", taxAmount,
-                                "total", total);
-        }
-
         private InventoryItemResponse toInventoryItemResponse(InventoryEntity item) {
                 return new InventoryItemResponse(
                                 item.getItemCode(),
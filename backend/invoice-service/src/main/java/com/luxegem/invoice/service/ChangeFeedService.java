@@ -0,0 +1,148 @@
+package com.luxegem.invoice.service;
+
+import com.luxegem.invoice.entity.InventoryEntity;
+import com.luxegem.invoice.entity.InvoiceEntity;
+import com.luxegem.invoice.entity.NotificationEntity;
+import com.luxegem.invoice.entity.SyncTombstoneEntity;
+import com.luxegem.invoice.model.ChangeFeedResponse;
+import com.luxegem.invoice.model.InventoryItemResponse;
+import com.luxegem.invoice.model.InvoiceResponse;
+import com.luxegem.invoice.model.SyncEntityType;
+import com.luxegem.invoice.model.SyncTombstone;
+import com.luxegem.invoice.repository.InventoryRepository;
+import com.luxegem.invoice.repository.InvoiceRepository;
+import com.luxegem.invoice.repository.NotificationRepository;
+import com.luxegem.invoice.repository.SyncTombstoneRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.ToLongFunction;
+
+/**
+ * Delta-sync reads over the commit-ordered change sequence installed by
+ * {@link ChangeSequenceInstaller}, filtered to the caller's shop. Invoices,
+ * inventory, notifications and tombstones share one sequence, so a client
+ * keeps a single cursor.
+ *
+ * <p>Broadcast notifications are not shop rows and are not part of the feed;
+ * they still come from the regular notification list.
+ */
+@Service
+public class ChangeFeedService {
+
+    private final InvoiceRepository invoiceRepository;
+    private final InventoryRepository inventoryRepository;
+    private final NotificationRepository notificationRepository;
+    private final SyncTombstoneRepository tombstoneRepository;
+    private final NotificationService notificationService;
+    private final NotificationPartitionManager partitionManager;
+
+    public ChangeFeedService(
+            InvoiceRepository invoiceRepository,
+            InventoryRepository inventoryRepository,
+            NotificationRepository notificationRepository,
+            SyncTombstoneRepository tombstoneRepository,
+            NotificationService notificationService,
+            NotificationPartitionManager partitionManager) {
+        this.invoiceRepository = invoiceRepository;
+        this.inventoryRepository = inventoryRepository;
+        this.notificationRepository = notificationRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.notificationService = notificationService;
+        this.partitionManager = partitionManager;
+    }
+
+    @Transactional(readOnly = true)
+    public ChangeFeedResponse changesSince(String shopId, long since, int limit, Set<SyncEntityType> types) {
+        Pageable page = PageRequest.of(0, limit);
+
+        List<InvoiceEntity> invoices = types.contains(SyncEntityType.INVOICE)
+                ? invoiceRepository.findByShopIdAndChangeSeqGreaterThanOrderByChangeSeqAsc(shopId, since, page)
+                : List.of();
+        List<InventoryEntity> inventory = types.contains(SyncEntityType.INVENTORY)
+                ? inventoryRepository.findByShopIdAndChangeSeqGreaterThanOrderByChangeSeqAsc(shopId, since, page)
+                : List.of();
+        List<NotificationEntity> notifications = types.contains(SyncEntityType.NOTIFICATION)
+                ? notificationRepository.findByShopIdAndChangeSeqGreaterThanAndCreatedAtGreaterThanEqualOrderByChangeSeqAsc(
+                        shopId, since, partitionManager.retentionCutoff(), page)
+                : List.of();
+        // Filtered in the query, so a full page means more tombstones of these types.
+        List<SyncTombstoneEntity> tombstones = types.isEmpty()
+                ? List.of()
+                : tombstoneRepository.findByShopIdAndEntityTypeInAndChangeSeqGreaterThanOrderByChangeSeqAsc(
+                        shopId, types, since, page);
+
+        // Each source is complete up to the cutoff: a source that filled its page has
+        // limit rows at or below its own last seq, which is at least the cutoff.
+        List<Long> seqs = new ArrayList<>();
+        invoices.forEach(invoice -> seqs.add(invoice.getChangeSeq()));
+        inventory.forEach(item -> seqs.add(item.getChangeSeq()));
+        notifications.forEach(notification -> seqs.add(notification.getChangeSeq()));
+        tombstones.forEach(tombstone -> seqs.add(tombstone.getChangeSeq()));
+        seqs.sort(null);
+
+        boolean hasMore = seqs.size() > limit || invoices.size() == limit || inventory.size() == limit
+                || notifications.size() == limit || tombstones.size() == limit;
+        long cutoff = seqs.isEmpty() ? since : seqs.get(Math.min(seqs.size(), limit) - 1);
+
+        return new ChangeFeedResponse(
+                since,
+                cutoff,
+                hasMore,
+                partitionManager.retentionCutoff(),
+                upTo(invoices, InvoiceEntity::getChangeSeq, cutoff).stream().map(this::toInvoiceResponse).toList(),
+                upTo(inventory, InventoryEntity::getChangeSeq, cutoff).stream().map(this::toInventoryResponse).toList(),
+                upTo(notifications, NotificationEntity::getChangeSeq, cutoff).stream()
+                        .map(notificationService::toResponse).toList(),
+                upTo(tombstones, SyncTombstoneEntity::getChangeSeq, cutoff).stream()
+                        .map(tombstone -> new SyncTombstone(tombstone.getEntityType(), tombstone.getEntityKey(),
+                                tombstone.getChangeSeq()))
+                        .toList());
+    }
+
+    private <T> List<T> upTo(List<T> rows, ToLongFunction<T> seq, long cutoff) {
+        return rows.stream().filter(row -> seq.applyAsLong(row) <= cutoff).toList();
+    }
+
+    private InvoiceResponse toInvoiceResponse(InvoiceEntity invoice) {
+        return new InvoiceResponse(
+                invoice.getInvoiceId(),
+                invoice.getCustomer(),
+                invoice.getMobilenumber(),
+                invoice.getAddress(),
+                invoice.getItems(),
+                invoice.getType() == null ? "OTHER" : invoice.getType(),
+                invoice.getAmount().doubleValue(),
+                invoice.getStatus(),
+                invoice.getGrossAmount().doubleValue(),
+                invoice.getNetAmount().doubleValue(),
+                invoice.getDiscount().doubleValue(),
+                invoice.getMakingCharge() != null ? invoice.getMakingCharge().doubleValue() : 0.0,
+                invoice.getGstRate() != null ? invoice.getGstRate().doubleValue() : 0.0,
+                invoice.getPaymentMethod() != null ? invoice.getPaymentMethod() : "CASH",
+                invoice.getIssueDate() != null ? invoice.getIssueDate().atStartOfDay()
+                        : LocalDate.now().atStartOfDay());
+    }
+
+    private InventoryItemResponse toInventoryResponse(InventoryEntity item) {
+        return new InventoryItemResponse(
+                item.getItemCode(),
+                item.getItemName(),
+                item.getCategory(),
+                item.getMetalType(),
+                item.getPurity(),
+                item.getGrossWeight() == null ? 0.0 : item.getGrossWeight().doubleValue(),
+                item.getNetWeight() == null ? null : item.getNetWeight().doubleValue(),
+                item.getMakingCharge() == null ? null : item.getMakingCharge().doubleValue(),
+                item.getRatePerGram() == null ? 0.0 : item.getRatePerGram().doubleValue(),
+                item.getStockQuantity() == null ? 0 : item.getStockQuantity(),
+                item.getHsnCode(),
+                item.getDescription());
+    }
+}
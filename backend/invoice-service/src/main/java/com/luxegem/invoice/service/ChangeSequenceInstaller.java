@@ -0,0 +1,180 @@
+package com.luxegem.invoice.service;
+
+import com.luxegem.invoice.model.SyncEntityType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Installs the commit-ordered change sequence behind the delta-sync feed.
+ * Every insert or update of an invoice, inventory item or notification clears
+ * its {@code change_seq}, and every delete leaves an unnumbered row in
+ * {@code sync_tombstones}. A deferred constraint trigger then numbers the
+ * transaction's pending rows from one global sequence while it commits, under
+ * the same transaction-scoped advisory lock as the outbox's commit sequence.
+ * A reader that sees {@code change_seq} n therefore already sees every change
+ * numbered below n, so a client cursor never skips a late commit, and no lock
+ * is held for the life of the writing transaction.
+ *
+ * <p>The {@code luxegem.change_seq} setting tracks the transaction's state:
+ * {@code pending} once it has unnumbered rows, {@code numbering} while they
+ * are being numbered (so the stamp trigger leaves the assigned values alone).
+ *
+ * <p>Runs after {@link NotificationPartitionManager}, because converting the
+ * notifications table to a partitioned one does not carry triggers over.
+ * Relies on READ COMMITTED, the default, like {@link OutboxSequenceInstaller}.
+ */
+@Component
+@Order(20)
+public class ChangeSequenceInstaller implements CommandLineRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChangeSequenceInstaller.class);
+
+    private record TrackedTable(String table, SyncEntityType type, String keyColumn) {
+    }
+
+    private static final List<TrackedTable> TRACKED = List.of(
+            new TrackedTable("invoices", SyncEntityType.INVOICE, "invoice_id"),
+            new TrackedTable("inventory", SyncEntityType.INVENTORY, "item_code"),
+            new TrackedTable("notifications", SyncEntityType.NOTIFICATION, "id"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public ChangeSequenceInstaller(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void run(String... args) {
+        transactionTemplate.executeWithoutResult(status -> install());
+    }
+
+    private void install() {
+        jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS sync_change_seq");
+        jdbcTemplate.execute("ALTER TABLE sync_tombstones ALTER COLUMN change_seq DROP NOT NULL");
+        jdbcTemplate.execute("""
+                CREATE OR REPLACE FUNCTION stamp_change_seq() RETURNS trigger
+                LANGUAGE plpgsql AS $$
+                BEGIN
+                    IF current_setting('luxegem.change_seq', true) IS DISTINCT FROM 'numbering' THEN
+                        NEW.change_seq := NULL;
+                        PERFORM set_config('luxegem.change_seq', 'pending', true);
+                    END IF;
+                    RETURN NEW;
+                END
+                $$
+                """);
+        // TG_ARGV: entity type, key column
+        jdbcTemplate.execute("""
+                CREATE OR REPLACE FUNCTION record_sync_tombstone() RETURNS trigger
+                LANGUAGE plpgsql AS $$
+                BEGIN
+                    INSERT INTO sync_tombstones (shop_id, entity_type, entity_key, deleted_at)
+                    VALUES (OLD.shop_id, TG_ARGV[0], to_jsonb(OLD) ->> TG_ARGV[1], now());
+                    PERFORM set_config('luxegem.change_seq', 'pending', true);
+                    RETURN OLD;
+                END
+                $$
+                """);
+
+        List<String> numbered = new ArrayList<>();
+        TRACKED.forEach(tracked -> numbered.add(tracked.table()));
+        numbered.add("sync_tombstones");
+        // Numbers every unnumbered row the caller can see: its own, since committed ones are numbered already.
+        jdbcTemplate.execute(String.format("""
+                CREATE OR REPLACE FUNCTION number_pending_changes() RETURNS bigint
+                LANGUAGE plpgsql AS $$
+                DECLARE
+                    tbl text;
+                    n bigint;
+                    numbered bigint := 0;
+                BEGIN
+                    PERFORM set_config('luxegem.change_seq', 'numbering', true);
+                    FOREACH tbl IN ARRAY ARRAY['%s'] LOOP
+                        EXECUTE format('UPDATE %%I SET change_seq = nextval(''sync_change_seq'') WHERE change_seq IS NULL', tbl);
+                        GET DIAGNOSTICS n = ROW_COUNT;
+                        numbered := numbered + n;
+                    END LOOP;
+                    PERFORM set_config('luxegem.change_seq', '', true);
+                    RETURN numbered;
+                END
+                $$
+                """, String.join("', '", numbered)));
+        jdbcTemplate.execute("""
+                CREATE OR REPLACE FUNCTION number_changes() RETURNS trigger
+                LANGUAGE plpgsql AS $$
+                BEGIN
+                    -- The first pending row of the transaction numbers them all; the rest find the state cleared.
+                    IF current_setting('luxegem.change_seq', true) = 'pending' THEN
+                        PERFORM pg_advisory_xact_lock(hashtext('outbox_events.commit_seq'));
+                        PERFORM number_pending_changes();
+                    END IF;
+                    RETURN NULL;
+                END
+                $$
+                """);
+
+        for (TrackedTable tracked : TRACKED) {
+            String table = tracked.table();
+            // Hibernate's schema update does not alter the partitioned notifications table, so add the column here.
+            jdbcTemplate.execute("ALTER TABLE " + table + " ADD COLUMN IF NOT EXISTS change_seq bigint");
+            jdbcTemplate.execute(String.format(
+                    "CREATE INDEX IF NOT EXISTS idx_%1$s_shop_change_seq ON %1$s (shop_id, change_seq)", table));
+            jdbcTemplate.execute(String.format("""
+                    CREATE OR REPLACE TRIGGER trg_%1$s_change_seq BEFORE INSERT OR UPDATE ON %1$s
+                    FOR EACH ROW EXECUTE FUNCTION stamp_change_seq()
+                    """, table));
+            jdbcTemplate.execute(String.format("""
+                    CREATE OR REPLACE TRIGGER trg_%1$s_tombstone AFTER DELETE ON %1$s
+                    FOR EACH ROW EXECUTE FUNCTION record_sync_tombstone('%2$s', '%3$s')
+                    """, table, tracked.type().name(), tracked.keyColumn()));
+        }
+        jdbcTemplate.execute(
+                "CREATE INDEX IF NOT EXISTS idx_sync_tombstones_shop_change_seq ON sync_tombstones (shop_id, change_seq)");
+        for (String table : numbered) {
+            jdbcTemplate.execute(String.format(
+                    "CREATE INDEX IF NOT EXISTS idx_%1$s_change_pending ON %1$s (shop_id) WHERE change_seq IS NULL",
+                    table));
+            // Constraint triggers cannot be replaced in place.
+            jdbcTemplate.execute(String.format("DROP TRIGGER IF EXISTS trg_%1$s_number_changes ON %1$s", table));
+            jdbcTemplate.execute(String.format("""
+                    CREATE CONSTRAINT TRIGGER trg_%1$s_number_changes AFTER INSERT OR UPDATE ON %1$s
+                    DEFERRABLE INITIALLY DEFERRED
+                    FOR EACH ROW WHEN (NEW.change_seq IS NULL) EXECUTE FUNCTION number_changes()
+                    """, table));
+        }
+
+        jdbcTemplate.execute("SELECT pg_advisory_xact_lock(hashtext('outbox_events.commit_seq'))");
+        // Start above every number already handed out, so existing client cursors stay valid.
+        String highest = numbered.stream()
+                .map(table -> "(SELECT coalesce(max(change_seq), 0) FROM " + table + ")")
+                .collect(Collectors.joining(", "));
+        if (Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT to_regclass('shop_change_counters') IS NOT NULL", Boolean.class))) {
+            highest += ", (SELECT coalesce(max(last_seq), 0) FROM shop_change_counters)";
+        }
+        jdbcTemplate.queryForObject(String.format("""
+                SELECT setval('sync_change_seq', greatest(%s,
+                    (SELECT CASE WHEN is_called THEN last_value ELSE 0 END FROM sync_change_seq), 1))
+                """, highest), Long.class);
+        // Per-shop counters from before the global sequence.
+        jdbcTemplate.execute("DROP FUNCTION IF EXISTS next_shop_change_seq(text)");
+        jdbcTemplate.execute("DROP TABLE IF EXISTS shop_change_counters");
+
+        Long backfilled = jdbcTemplate.queryForObject("SELECT number_pending_changes()", Long.class);
+        if (backfilled != null && backfilled > 0) {
+            logger.info("Assigned change sequence to {} existing rows", backfilled);
+        }
+    }
+}
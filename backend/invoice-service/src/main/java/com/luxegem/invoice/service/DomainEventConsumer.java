@@ -0,0 +1,20 @@
+package com.luxegem.invoice.service;
+
+import com.luxegem.invoice.model.DomainEvent;
+
+import java.util.List;
+
+/**
+ * In-process subscriber fed by {@link OutboxRelay}. Delivery is at-least-once:
+ * a batch is handed over again if the handler throws, so handlers should be
+ * idempotent or tolerate repeats.
+ */
+public interface DomainEventConsumer {
+
+    /**
+     * Stable name under which the consumer's offset is stored.
+     */
+    String name();
+
+    void handle(List<DomainEvent> events);
+}
@@ -0,0 +1,155 @@
+package com.luxegem.invoice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.luxegem.invoice.model.ExportFormat;
+import com.luxegem.invoice.model.InventoryExportRow;
+import com.luxegem.invoice.model.InvoiceExportRow;
+import com.luxegem.invoice.repository.InventoryRepository;
+import com.luxegem.invoice.repository.InvoiceRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes invoice and inventory exports straight from a database cursor to the
+ * response. Rows are read as flat projections rather than entities, so nothing
+ * accumulates in the persistence context and memory stays flat however many
+ * rows a shop has; the only buffers are the cursor's fetch size and the writer.
+ */
+@Service
+public class ExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExportService.class);
+
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    /** Stand-ins for an open date range, so the queries never bind an untyped null. */
+    private static final LocalDate EARLIEST = LocalDate.of(1970, 1, 1);
+    private static final LocalDate LATEST = LocalDate.of(9999, 12, 30);
+
+    private static final List<String> INVOICE_COLUMNS = List.of(
+            "invoiceId", "issueDate", "customer", "mobilenumber", "type", "status", "paymentMethod",
+            "grossAmount", "discount", "makingCharge", "gstRate", "netAmount", "amount");
+
+    private static final List<String> INVENTORY_COLUMNS = List.of(
+            "itemCode", "itemName", "category", "metalType", "purity", "grossWeight", "netWeight",
+            "makingCharge", "ratePerGram", "stockQuantity", "hsnCode", "updatedAt");
+
+    private final InvoiceRepository invoiceRepository;
+    private final InventoryRepository inventoryRepository;
+    private final ObjectMapper objectMapper;
+
+    public ExportService(InvoiceRepository invoiceRepository, InventoryRepository inventoryRepository,
+            ObjectMapper objectMapper) {
+        this.invoiceRepository = invoiceRepository;
+        this.inventoryRepository = inventoryRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Invoices issued between {@code from} and {@code to} (both inclusive), oldest first.
+     */
+    @Transactional(readOnly = true)
+    public void writeInvoices(String shopId, LocalDate from, LocalDate to, String status, ExportFormat format,
+            boolean gzip, OutputStream out) throws IOException {
+        try (Stream<InvoiceExportRow> rows = invoiceRepository.streamExport(shopId,
+                from == null ? EARLIEST : from, to == null ? LATEST : to, status)) {
+            long written = write(rows, InvoiceExportRow.class, INVOICE_COLUMNS, row -> new Object[] {
+                    row.invoiceId(), row.issueDate(), row.customer(), row.mobilenumber(), row.type(),
+                    row.status(), row.paymentMethod(), row.grossAmount(), row.discount(), row.makingCharge(),
+                    row.gstRate(), row.netAmount(), row.amount() }, format, gzip, out);
+            logger.info("Exported {} invoices for shop {} as {}", written, shopId, format);
+        }
+    }
+
+    /**
+     * Inventory items, optionally narrowed to a category and to items last updated
+     * on or after {@code from} and on or before {@code to}.
+     */
+    @Transactional(readOnly = true)
+    public void writeInventory(String shopId, String category, LocalDate from, LocalDate to, ExportFormat format,
+            boolean gzip, OutputStream out) throws IOException {
+        LocalDateTime updatedFrom = (from == null ? EARLIEST : from).atStartOfDay();
+        LocalDateTime updatedBefore = (to == null ? LATEST : to).plusDays(1).atStartOfDay();
+        try (Stream<InventoryExportRow> rows = inventoryRepository.streamExport(shopId, category, updatedFrom,
+                updatedBefore)) {
+            long written = write(rows, InventoryExportRow.class, INVENTORY_COLUMNS, row -> new Object[] {
+                    row.itemCode(), row.itemName(), row.category(), row.metalType(), row.purity(),
+                    row.grossWeight(), row.netWeight(), row.makingCharge(), row.ratePerGram(),
+                    row.stockQuantity(), row.hsnCode(), row.updatedAt() }, format, gzip, out);
+            logger.info("Exported {} inventory items for shop {} as {}", written, shopId, format);
+        }
+    }
+
+    private <T> long write(Stream<T> rows, Class<T> type, List<String> columns, Function<T, Object[]> values,
+            ExportFormat format, boolean gzip, OutputStream out) throws IOException {
+        OutputStream target = gzip ? new GZIPOutputStream(out, WRITE_BUFFER_SIZE) : out;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+        ObjectWriter json = objectMapper.writerFor(type);
+
+        if (format == ExportFormat.CSV) {
+            writeCsvLine(writer, columns.toArray());
+        }
+        long count = 0;
+        Iterator<T> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            T row = iterator.next();
+            if (format == ExportFormat.CSV) {
+                writeCsvLine(writer, values.apply(row));
+            } else {
+                writer.write(json.writeValueAsString(row));
+                writer.write('\n');
+            }
+            count++;
+        }
+
+        writer.flush();
+        if (target instanceof GZIPOutputStream compressed) {
+            compressed.finish();
+        }
+        return count;
+    }
+
+    private static void writeCsvLine(Writer writer, Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writeCsvField(writer, values[i]);
+        }
+        writer.write("\r\n");
+    }
+
+    private static void writeCsvField(Writer writer, Object value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        String text = value instanceof BigDecimal decimal ? decimal.toPlainString() : value.toString();
+        boolean quote = text.indexOf(',') >= 0 || text.indexOf('"') >= 0
+                || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0;
+        if (!quote) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        writer.write(text.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,74 @@
+package com.luxegem.invoice.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Converts {@code invoices.gst_rate} from the fraction it was first stored as
+ * (0.03) to the percent billing stores now (3.00), once. The unit is recorded
+ * as the column's comment in the same transaction, so the conversion never
+ * runs twice and readers can rely on the column holding a percent.
+ *
+ * <p>A legacy row has a rate below 1 and no line amounts recorded at billing,
+ * and its rate does not match the rate implied by its own totals. The last
+ * check keeps genuine sub-1% invoices (cut stones at 0.25%) from being
+ * converted.
+ */
+@Component
+@Order(50)
+public class GstRateUnitInstaller implements CommandLineRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(GstRateUnitInstaller.class);
+
+    private static final String UNIT = "GST rate in percent";
+
+    private static final String CONVERT_LEGACY_RATES = """
+            UPDATE invoices i SET gst_rate = i.gst_rate * 100
+            WHERE i.gst_rate > 0 AND i.gst_rate < 1
+              AND NOT EXISTS (SELECT 1 FROM jsonb_array_elements(coalesce(i.items, '[]'::jsonb)) AS l(item)
+                              WHERE l.item ->> 'taxPaise' IS NOT NULL)
+              AND (i.gross_amount IS NULL OR i.gross_amount = 0
+                   OR abs((i.net_amount - i.gross_amount + coalesce(i.discount, 0)) * 100 / i.gross_amount
+                          - i.gst_rate) > 0.01)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public GstRateUnitInstaller(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void run(String... args) {
+        transactionTemplate.executeWithoutResult(status -> install());
+    }
+
+    private void install() {
+        if (UNIT.equals(unit())) {
+            return;
+        }
+        // Serializes concurrent starts; the second finds the comment set.
+        jdbcTemplate.execute("LOCK TABLE invoices IN SHARE ROW EXCLUSIVE MODE");
+        if (UNIT.equals(unit())) {
+            return;
+        }
+        int converted = jdbcTemplate.update(CONVERT_LEGACY_RATES);
+        jdbcTemplate.execute("COMMENT ON COLUMN invoices.gst_rate IS '" + UNIT + "'");
+        logger.info("Converted the GST rate of {} legacy invoices from a fraction to a percent", converted);
+    }
+
+    private String unit() {
+        return jdbcTemplate.queryForObject("""
+                SELECT col_description('invoices'::regclass, attnum) FROM pg_attribute
+                WHERE attrelid = 'invoices'::regclass AND attname = 'gst_rate'
+                """, String.class);
+    }
+}
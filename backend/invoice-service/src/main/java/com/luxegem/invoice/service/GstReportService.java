@@ -0,0 +1,253 @@
+package com.luxegem.invoice.service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.luxegem.invoice.entity.GstReportSnapshotEntity;
+import com.luxegem.invoice.model.GstHsnSummary;
+import com.luxegem.invoice.model.GstRateSummary;
+import com.luxegem.invoice.model.GstReportSnapshotResponse;
+import com.luxegem.invoice.repository.GstReportSnapshotRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Monthly GST report of a shop: invoice totals, HSN-wise totals per rate and
+ * rate-wise totals. The per-line arithmetic and grouping run in Postgres over
+ * the invoice lines in {@code invoices.items}; the grouped rows are streamed
+ * into the JSON response as they arrive, and rate-wise totals are folded from
+ * them on the way, so the whole report costs two queries.
+ *
+ * <p>A line's taxable value and tax are the ones recorded when it was billed.
+ * Lines billed before those were recorded fall back to weight x rate x
+ * quantity plus making charge, at the line's rate or else the invoice rate.
+ * The HSN code is the one recorded at sale, falling back to the inventory
+ * item's.
+ *
+ * <p>Once a month is finalized its rendered report is stored and served as is.
+ */
+@Service
+public class GstReportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(GstReportService.class);
+
+    private static final String UNCLASSIFIED_HSN = "UNCLASSIFIED";
+
+    // Draft, cancelled and void invoices were never issued (or were withdrawn) and carry no liability.
+    private static final String INVOICE_TOTALS = """
+            SELECT count(*), coalesce(sum(i.amount), 0)
+            FROM invoices i
+            WHERE i.shop_id = ? AND i.issue_date >= ? AND i.issue_date < ?
+              AND lower(i.status) NOT IN ('draft', 'cancelled', 'void')
+            """;
+
+    private static final String HSN_SUMMARY = """
+            WITH lines AS (
+                SELECT coalesce(nullif(l.item ->> 'hsnCode', ''), inv.hsn_code, ?) AS hsn_code,
+                       -- Unpriced lines may carry a placeholder 0% rate; use the invoice rate instead.
+                       coalesce(CASE WHEN l.item ->> 'taxPaise' IS NOT NULL
+                                     THEN (l.item ->> 'gstRatePercent')::numeric
+                                     ELSE nullif((l.item ->> 'gstRatePercent')::numeric, 0) END,
+                                i.gst_rate,
+                                0) AS rate,
+                       coalesce((l.item ->> 'quantity')::int, 1) AS quantity,
+                       coalesce((l.item ->> 'weight')::numeric, 0) * coalesce((l.item ->> 'quantity')::int, 1) AS weight,
+                       round((l.item ->> 'taxablePaise')::numeric / 100, 2) AS billed_taxable,
+                       round((l.item ->> 'taxPaise')::numeric / 100, 2) AS billed_tax,
+                       round(coalesce((l.item ->> 'weight')::numeric, 0)
+                             * coalesce((l.item ->> 'rate')::numeric, 0)
+                             * coalesce((l.item ->> 'quantity')::int, 1)
+                             * (1 + coalesce((l.item ->> 'makingChargePercent')::numeric, 0) / 100), 2) AS derived_taxable
+                FROM invoices i
+                CROSS JOIN LATERAL jsonb_array_elements(i.items) AS l(item)
+                LEFT JOIN inventory inv ON inv.shop_id = i.shop_id AND inv.item_code = l.item ->> 'itemCode'
+                WHERE i.shop_id = ? AND i.issue_date >= ? AND i.issue_date < ?
+                  AND lower(i.status) NOT IN ('draft', 'cancelled', 'void')
+            )
+            SELECT hsn_code, rate, count(*), sum(quantity), sum(weight),
+                   sum(coalesce(billed_taxable, derived_taxable)),
+                   sum(coalesce(billed_tax, round(derived_taxable * rate / 100, 2)))
+            FROM lines
+            GROUP BY hsn_code, rate
+            ORDER BY hsn_code, rate
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final GstReportSnapshotRepository snapshotRepository;
+    private final ObjectMapper objectMapper;
+    private final Map<String, byte[]> finalizedReports = new ConcurrentHashMap<>();
+
+    public GstReportService(JdbcTemplate jdbcTemplate, GstReportSnapshotRepository snapshotRepository,
+            ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.snapshotRepository = snapshotRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * The stored report of a finalized month. Snapshots never change, so once read
+     * they are kept in memory for good.
+     */
+    @Transactional(readOnly = true)
+    public Optional<byte[]> finalizedReport(String shopId, YearMonth period) {
+        String key = cacheKey(shopId, period);
+        byte[] cached = finalizedReports.get(key);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        return snapshotRepository.findByShopIdAndPeriod(shopId, period.toString())
+                .map(snapshot -> {
+                    finalizedReports.putIfAbsent(key, snapshot.getBody());
+                    return snapshot.getBody();
+                });
+    }
+
+    /**
+     * Aggregates and writes the report of a month that has not been finalized.
+     * Both queries read the same snapshot of the data.
+     */
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public void writeLiveReport(String shopId, YearMonth period, OutputStream out) throws IOException {
+        render(shopId, period, null, out);
+    }
+
+    /**
+     * Freezes the report of a past month, typically once its return is filed.
+     * Finalizing an already finalized month returns the existing snapshot.
+     */
+    @Transactional(isolation = Isolation.REPEATABLE_READ)
+    public GstReportSnapshotResponse finalizeReport(String shopId, YearMonth period) {
+        if (!period.isBefore(YearMonth.now())) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Only past months can be finalized");
+        }
+        Optional<GstReportSnapshotEntity> existing = snapshotRepository.findByShopIdAndPeriod(shopId,
+                period.toString());
+        if (existing.isPresent()) {
+            return toResponse(existing.get());
+        }
+
+        LocalDateTime finalizedAt = LocalDateTime.now();
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        try {
+            render(shopId, period, finalizedAt, body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        // Of two concurrent finalizes of a month, the later one fails on the unique key; the first snapshot stands.
+        jdbcTemplate.update("""
+                INSERT INTO gst_report_snapshots (shop_id, period, body, finalized_at)
+                VALUES (?, ?, ?, ?)
+                ON CONFLICT (shop_id, period) DO NOTHING
+                """, shopId, period.toString(), body.toByteArray(), Timestamp.valueOf(finalizedAt));
+        GstReportSnapshotEntity snapshot = snapshotRepository.findByShopIdAndPeriod(shopId, period.toString())
+                .orElseThrow();
+        logger.info("Finalized GST report {} for shop {} ({} bytes)", period, shopId, snapshot.getBody().length);
+        return toResponse(snapshot);
+    }
+
+    private void render(String shopId, YearMonth period, LocalDateTime finalizedAt, OutputStream out)
+            throws IOException {
+        Date from = Date.valueOf(period.atDay(1));
+        Date to = Date.valueOf(period.plusMonths(1).atDay(1));
+
+        try (JsonGenerator json = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            json.writeStartObject();
+            json.writeStringField("shopId", shopId);
+            json.writeStringField("period", period.toString());
+            json.writeBooleanField("finalized", finalizedAt != null);
+            json.writeObjectField("generatedAt", finalizedAt != null ? finalizedAt : LocalDateTime.now());
+
+            Object[] invoiceTotals = jdbcTemplate.queryForObject(INVOICE_TOTALS,
+                    (rs, rowNum) -> new Object[] { rs.getLong(1), rs.getBigDecimal(2) }, shopId, from, to);
+            json.writeNumberField("invoiceCount", (Long) invoiceTotals[0]);
+            json.writeNumberField("invoiceValue", (BigDecimal) invoiceTotals[1]);
+
+            Map<BigDecimal, RateTotals> byRate = new TreeMap<>();
+            json.writeArrayFieldStart("hsn");
+            jdbcTemplate.query(HSN_SUMMARY, rs -> {
+                GstHsnSummary row = new GstHsnSummary(
+                        rs.getString(1),
+                        rs.getBigDecimal(2).stripTrailingZeros(),
+                        rs.getLong(3),
+                        rs.getLong(4),
+                        rs.getBigDecimal(5),
+                        rs.getBigDecimal(6),
+                        rs.getBigDecimal(7));
+                writeObject(json, row);
+                byRate.computeIfAbsent(row.ratePercent(), rate -> new RateTotals()).add(row);
+            }, UNCLASSIFIED_HSN, shopId, from, to);
+            json.writeEndArray();
+
+            RateTotals overall = new RateTotals();
+            json.writeArrayFieldStart("rates");
+            for (Map.Entry<BigDecimal, RateTotals> entry : byRate.entrySet()) {
+                RateTotals totals = entry.getValue();
+                json.writeObject(new GstRateSummary(entry.getKey(), totals.lines, totals.taxableValue,
+                        totals.taxAmount));
+                overall.add(totals);
+            }
+            json.writeEndArray();
+
+            json.writeNumberField("lines", overall.lines);
+            json.writeNumberField("taxableValue", overall.taxableValue);
+            json.writeNumberField("taxAmount", overall.taxAmount);
+            json.writeEndObject();
+        }
+    }
+
+    private static void writeObject(JsonGenerator json, Object value) {
+        try {
+            json.writeObject(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String cacheKey(String shopId, YearMonth period) {
+        return shopId + '/' + period;
+    }
+
+    private static GstReportSnapshotResponse toResponse(GstReportSnapshotEntity snapshot) {
+        return new GstReportSnapshotResponse(snapshot.getPeriod(), snapshot.getFinalizedAt(),
+                snapshot.getBody().length);
+    }
+
+    private static final class RateTotals {
+        private long lines;
+        private BigDecimal taxableValue = BigDecimal.ZERO;
+        private BigDecimal taxAmount = BigDecimal.ZERO;
+
+        void add(GstHsnSummary row) {
+            lines += row.lines();
+            taxableValue = taxableValue.add(row.taxableValue());
+            taxAmount = taxAmount.add(row.taxAmount());
+        }
+
+        void add(RateTotals other) {
+            lines += other.lines;
+            taxableValue = taxableValue.add(other.taxableValue);
+            taxAmount = taxAmount.add(other.taxAmount);
+        }
+    }
+}
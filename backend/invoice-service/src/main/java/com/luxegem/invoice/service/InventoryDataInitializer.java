@@ -24,17 +24,24 @@ public class InventoryDataInitializer implements CommandLineRunner {
                 }
 
                 InventoryEntity inv1 = new InventoryEntity("AJ-INV-0001", "Gold Necklace Floral", "Necklace", "GOLD",
-                                "22K", "Beautiful floral pattern.");
+                                "22K", new BigDecimal("24.500"), new BigDecimal("23.800"), new BigDecimal("4200.00"),
+                                new BigDecimal("6860.00"), 4, "7113", "Beautiful floral pattern.");
                 inv1.setShopId("akash");
-                InventoryEntity inv2 = new InventoryEntity("AJ-INV-0002", "Bridal Bangle Set", "Bangle", "GOLD", "22K", "Heavy bridal set.");
+                InventoryEntity inv2 = new InventoryEntity("AJ-INV-0002", "Bridal Bangle Set", "Bangle", "GOLD", "22K",
+                                new BigDecimal("48.000"), new BigDecimal("46.500"), new BigDecimal("8500.00"),
+                                new BigDecimal("6860.00"), 2, "7113", "Heavy bridal set.");
                 inv2.setShopId("luxegem");
                 InventoryEntity inv3 = new InventoryEntity("AJ-INV-0003", "Diamond Stud Earrings", "Earring", "GOLD",
-                                "18K", "Classic diamond studs.");
+                                "18K", new BigDecimal("3.200"), new BigDecimal("2.900"), new BigDecimal("2500.00"),
+                                new BigDecimal("5610.00"), 6, "7113", "Classic diamond studs.");
                 inv3.setShopId("royal");
-                InventoryEntity inv4 = new InventoryEntity("AJ-INV-0004", "Silver Pooja Coin", "Coin", "SILVER", "99", "Pure silver coin.");
+                InventoryEntity inv4 = new InventoryEntity("AJ-INV-0004", "Silver Pooja Coin", "Coin", "SILVER", "99",
+                                new BigDecimal("10.000"), new BigDecimal("10.000"), null,
+                                new BigDecimal("92.00"), 25, "7106", "Pure silver coin.");
                 inv4.setShopId("shree");
                 InventoryEntity inv5 = new InventoryEntity("AJ-INV-0005", "Platinum Band Premium", "Ring", "PLATINUM",
-                                "950", "Men's premium band.");
+                                "950", new BigDecimal("7.500"), new BigDecimal("7.200"), new BigDecimal("3200.00"),
+                                new BigDecimal("3650.00"), 3, "7110", "Men's premium band.");
                 inv5.setShopId("akash");
 
                 inventoryRepository.saveAll(List.of(inv1, inv2, inv3, inv4, inv5));
@@ -0,0 +1,227 @@
+package com.luxegem.invoice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.luxegem.invoice.model.CreateInventoryRequest;
+import com.luxegem.invoice.model.InventoryImportFormat;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reads an uploaded inventory file one row at a time. CSV files need a header
+ * row naming {@link CreateInventoryRequest} fields (any order, case-insensitive);
+ * NDJSON files carry one request object per line. A quoted CSV field may span
+ * lines; a row's line number is the line it starts on. A row that cannot be
+ * parsed comes back with an error instead of stopping the read.
+ */
+class InventoryImportReader implements Closeable {
+
+    record Row(long lineNumber, CreateInventoryRequest request, String error) {
+    }
+
+    private static final List<String> COLUMNS = List.of(
+            "itemcode", "itemname", "category", "metaltype", "purity", "grossweight", "netweight",
+            "makingcharge", "ratepergram", "stockquantity", "hsncode", "description");
+
+    private final BufferedReader reader;
+    private final InventoryImportFormat format;
+    private final ObjectMapper objectMapper;
+    private Map<String, Integer> columnIndex;
+    private long lineNumber;
+
+    InventoryImportReader(Path file, InventoryImportFormat format, ObjectMapper objectMapper) throws IOException {
+        this.reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+        this.format = format;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * @return the next non-blank row, or {@code null} at end of file
+     */
+    Row next() throws IOException {
+        if (format == InventoryImportFormat.NDJSON) {
+            return nextJson();
+        }
+        if (columnIndex == null) {
+            readHeader();
+        }
+        List<String> values;
+        long firstLine;
+        try {
+            do {
+                firstLine = lineNumber + 1;
+                values = readCsvRecord();
+                if (values == null) {
+                    return null;
+                }
+            } while (values.size() == 1 && values.get(0).isBlank());
+        } catch (UnclosedQuoteException e) {
+            return new Row(e.firstLine, null, "Unreadable row: " + e.getMessage());
+        }
+
+        try {
+            return new Row(firstLine, fromCsv(values), null);
+        } catch (Exception e) {
+            return new Row(firstLine, null, "Unreadable row: " + e.getMessage());
+        }
+    }
+
+    private Row nextJson() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            lineNumber++;
+            if (line == null) {
+                return null;
+            }
+        } while (line.isBlank());
+
+        try {
+            return new Row(lineNumber, objectMapper.readValue(line, CreateInventoryRequest.class), null);
+        } catch (Exception e) {
+            return new Row(lineNumber, null, "Unreadable row: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private void readHeader() throws IOException {
+        List<String> names;
+        try {
+            names = readCsvRecord();
+        } catch (UnclosedQuoteException e) {
+            throw new IOException("CSV header is unreadable: " + e.getMessage());
+        }
+        if (names == null) {
+            throw new IOException("CSV file is empty");
+        }
+        if (names.get(0).startsWith("\uFEFF")) {
+            names.set(0, names.get(0).substring(1));
+        }
+        columnIndex = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            String name = names.get(i).trim().replace("_", "").toLowerCase(Locale.ROOT);
+            if (COLUMNS.contains(name)) {
+                columnIndex.put(name, i);
+            }
+        }
+        if (!columnIndex.containsKey("itemname")) {
+            throw new IOException("CSV header must name at least the itemName column");
+        }
+    }
+
+    private CreateInventoryRequest fromCsv(List<String> values) {
+        return new CreateInventoryRequest(
+                text(values, "itemcode"),
+                text(values, "itemname"),
+                text(values, "category"),
+                text(values, "metaltype"),
+                text(values, "purity"),
+                decimal(values, "grossweight"),
+                decimal(values, "netweight"),
+                decimal(values, "makingcharge"),
+                decimal(values, "ratepergram"),
+                integer(values, "stockquantity"),
+                text(values, "hsncode"),
+                text(values, "description"));
+    }
+
+    private String text(List<String> values, String column) {
+        Integer index = columnIndex.get(column);
+        if (index == null || index >= values.size()) {
+            return null;
+        }
+        String value = values.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private Double decimal(List<String> values, String column) {
+        String value = text(values, column);
+        try {
+            return value == null ? null : Double.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(column + " is not a number: " + value);
+        }
+    }
+
+    private Integer integer(List<String> values, String column) {
+        String value = text(values, column);
+        try {
+            return value == null ? null : Integer.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(column + " is not a whole number: " + value);
+        }
+    }
+
+    /**
+     * Reads one CSV record, honouring double-quoted fields and {@code ""} escapes.
+     * A quoted field may hold line breaks, so a record can span several lines.
+     *
+     * @return the record's fields, or {@code null} at end of file
+     */
+    private List<String> readCsvRecord() throws IOException {
+        String line = reader.readLine();
+        if (line == null) {
+            return null;
+        }
+        lineNumber++;
+        long firstLine = lineNumber;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (quoted) {
+                    if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        quoted = false;
+                    } else {
+                        field.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else {
+                    field.append(c);
+                }
+            }
+            if (!quoted) {
+                break;
+            }
+            line = reader.readLine();
+            if (line == null) {
+                throw new UnclosedQuoteException(firstLine);
+            }
+            lineNumber++;
+            field.append('\n');
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static final class UnclosedQuoteException extends IllegalArgumentException {
+        private final long firstLine;
+
+        UnclosedQuoteException(long firstLine) {
+            super("quoted field opened on line " + firstLine + " is never closed");
+            this.firstLine = firstLine;
+        }
+    }
+}
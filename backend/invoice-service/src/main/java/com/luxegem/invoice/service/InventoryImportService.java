@@ -0,0 +1,386 @@
+package com.luxegem.invoice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.luxegem.invoice.entity.InventoryEntity;
+import com.luxegem.invoice.entity.InventoryImportJobEntity;
+import com.luxegem.invoice.model.CreateInventoryRequest;
+import com.luxegem.invoice.model.ImportRowError;
+import com.luxegem.invoice.model.InventoryImportFormat;
+import com.luxegem.invoice.model.InventoryImportJobResponse;
+import com.luxegem.invoice.repository.InventoryImportJobRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk inventory import. The upload is spooled to a temp file and processed on
+ * a background thread: rows are validated as they are read, and valid rows are
+ * inserted in JDBC batches, one transaction per batch, together with their
+ * stock events. Job progress and rejected rows are readable while it runs.
+ *
+ * <p>Rows are checked against the inventory column sizes up front, so a batch
+ * normally goes in whole. When it still fails, its rows are retried one per
+ * transaction and only the rows that fail on their own are rejected.
+ */
+@Service
+public class InventoryImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(InventoryImportService.class);
+
+    private static final String INSERT_ITEM = """
+            INSERT INTO inventory (item_code, item_name, category, metal_type, purity, gross_weight, net_weight,
+                making_charge, rate_per_gram, stock_quantity, hsn_code, description, shop_id, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final int MAX_TEXT = 255;
+    private static final int MAX_DESCRIPTION = 2000;
+
+    private final InventoryImportJobRepository jobRepository;
+    private final SkuAllocator skuAllocator;
+    private final OutboxService outboxService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskExecutor taskExecutor;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+    private final int maxErrors;
+
+    public InventoryImportService(
+            InventoryImportJobRepository jobRepository,
+            SkuAllocator skuAllocator,
+            OutboxService outboxService,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor,
+            Validator validator,
+            ObjectMapper objectMapper,
+            @Value("${inventory.import.batch-size:500}") int batchSize,
+            @Value("${inventory.import.max-errors:1000}") int maxErrors) {
+        this.jobRepository = jobRepository;
+        this.skuAllocator = skuAllocator;
+        this.outboxService = outboxService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.taskExecutor = taskExecutor;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+        this.maxErrors = maxErrors;
+    }
+
+    public InventoryImportJobResponse submit(String shopId, MultipartFile file) {
+        if (file == null || file.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Upload a non-empty CSV or NDJSON file");
+        }
+        InventoryImportFormat format = detectFormat(file);
+
+        Path spool;
+        try {
+            // The multipart temp file is removed when the request ends, so keep our own copy.
+            spool = Files.createTempFile("inventory-import-", "." + format.name().toLowerCase(Locale.ROOT));
+            file.transferTo(spool);
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Could not store upload", e);
+        }
+
+        InventoryImportJobEntity job = jobRepository.save(
+                new InventoryImportJobEntity(shopId, file.getOriginalFilename(), format));
+        Long jobId = job.getId();
+        taskExecutor.execute(() -> run(jobId, shopId, spool, format));
+        logger.info("Queued inventory import job {} for shop {} ({})", jobId, shopId, format);
+        return toResponse(job);
+    }
+
+    public InventoryImportJobResponse getJob(Long jobId, String shopId) {
+        return jobRepository.findByIdAndShopId(jobId, shopId)
+                .map(this::toResponse)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Import job not found"));
+    }
+
+    private void run(Long jobId, String shopId, Path spool, InventoryImportFormat format) {
+        InventoryImportJobEntity job = jobRepository.findById(jobId).orElseThrow();
+        job.start();
+        job = jobRepository.save(job);
+
+        long processed = 0;
+        long imported = 0;
+        long failed = 0;
+        Set<String> seenCodes = new HashSet<>();
+        List<InventoryImportReader.Row> batch = new ArrayList<>(batchSize);
+        List<ImportRowError> errors = new ArrayList<>();
+
+        try (InventoryImportReader reader = new InventoryImportReader(spool, format, objectMapper)) {
+            InventoryImportReader.Row row;
+            while ((row = reader.next()) != null) {
+                processed++;
+                String error = validate(row, seenCodes);
+                if (error != null) {
+                    errors.add(new ImportRowError(row.lineNumber(), itemCode(row.request()), error));
+                    failed++;
+                } else {
+                    batch.add(row);
+                }
+
+                if (batch.size() >= batchSize) {
+                    int inserted = insertBatch(shopId, batch, errors);
+                    imported += inserted;
+                    failed += batch.size() - inserted;
+                    batch.clear();
+                    job = saveProgress(job, processed, imported, failed, errors);
+                }
+            }
+            if (!batch.isEmpty()) {
+                int inserted = insertBatch(shopId, batch, errors);
+                imported += inserted;
+                failed += batch.size() - inserted;
+            }
+            job.complete();
+            saveProgress(job, processed, imported, failed, errors);
+            logger.info("Inventory import job {} finished: {} imported, {} rejected", jobId, imported, failed);
+        } catch (Exception e) {
+            logger.error("Inventory import job {} failed after {} rows", jobId, processed, e);
+            job.fail(e.getMessage());
+            saveProgress(job, processed, imported, failed, errors);
+        } finally {
+            try {
+                Files.deleteIfExists(spool);
+            } catch (IOException e) {
+                logger.warn("Could not delete import spool file {}", spool);
+            }
+        }
+    }
+
+    /**
+     * @return an error message, or {@code null} if the row can be inserted
+     */
+    private String validate(InventoryImportReader.Row row, Set<String> seenCodes) {
+        if (row.error() != null) {
+            return row.error();
+        }
+        Set<ConstraintViolation<CreateInventoryRequest>> violations = validator.validate(row.request());
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+        String columns = checkColumns(row.request());
+        if (columns != null) {
+            return columns;
+        }
+        String itemCode = itemCode(row.request());
+        if (itemCode != null && !seenCodes.add(itemCode)) {
+            return "Duplicate itemCode in file";
+        }
+        return null;
+    }
+
+    /** Checks the row against the inventory column sizes, which bean validation does not cover. */
+    private String checkColumns(CreateInventoryRequest request) {
+        List<String> problems = new ArrayList<>();
+        checkLength(problems, "itemCode", itemCode(request), MAX_TEXT);
+        checkLength(problems, "itemName", request.itemName(), MAX_TEXT);
+        checkLength(problems, "category", request.category(), MAX_TEXT);
+        checkLength(problems, "metalType", request.metalType(), MAX_TEXT);
+        checkLength(problems, "purity", request.purity(), MAX_TEXT);
+        checkLength(problems, "hsnCode", request.hsnCode(), MAX_TEXT);
+        checkLength(problems, "description", request.description(), MAX_DESCRIPTION);
+        checkNumber(problems, "grossWeight", request.grossWeight(), 10, 3);
+        checkNumber(problems, "netWeight", request.netWeight(), 10, 3);
+        checkNumber(problems, "makingCharge", request.makingCharge(), 10, 2);
+        checkNumber(problems, "ratePerGram", request.ratePerGram(), 12, 2);
+        return problems.isEmpty() ? null : String.join("; ", problems);
+    }
+
+    private void checkLength(List<String> problems, String field, String value, int max) {
+        if (value != null && value.length() > max) {
+            problems.add(field + " must be at most " + max + " characters");
+        }
+    }
+
+    private void checkNumber(List<String> problems, String field, Double value, int precision, int scale) {
+        if (value == null) {
+            return;
+        }
+        if (value.isNaN() || value.isInfinite()) {
+            problems.add(field + " must be a finite number");
+        } else if (BigDecimal.valueOf(value).setScale(scale, RoundingMode.HALF_UP).precision() > precision) {
+            problems.add(field + " must have at most " + (precision - scale) + " digits before the decimal point");
+        }
+    }
+
+    /**
+     * Inserts one batch and its stock events in a single transaction. Rows whose
+     * item code already exists are rejected individually. If the batch still
+     * fails, each row is retried in its own transaction so only the rows that
+     * cannot be inserted are rejected.
+     *
+     * @return number of rows inserted
+     */
+    private int insertBatch(String shopId, List<InventoryImportReader.Row> batch, List<ImportRowError> errors) {
+        List<String> explicitCodes = batch.stream()
+                .map(row -> itemCode(row.request()))
+                .filter(code -> code != null)
+                .toList();
+        Set<String> existing = explicitCodes.isEmpty()
+                ? Set.of()
+                : new HashSet<>(jdbcTemplate.queryForList(
+                        "SELECT item_code FROM inventory WHERE item_code = ANY (?)",
+                        String.class, (Object) explicitCodes.toArray(new String[0])));
+
+        List<InventoryImportReader.Row> accepted = new ArrayList<>(batch.size());
+        for (InventoryImportReader.Row row : batch) {
+            String code = itemCode(row.request());
+            if (code != null && existing.contains(code)) {
+                errors.add(new ImportRowError(row.lineNumber(), code, "itemCode already exists"));
+            } else {
+                accepted.add(row);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            insert(shopId, accepted);
+            return accepted.size();
+        } catch (RuntimeException e) {
+            logger.warn("Inventory import batch of {} rows failed, retrying row by row: {}", accepted.size(),
+                    NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+        }
+
+        int inserted = 0;
+        for (InventoryImportReader.Row row : accepted) {
+            try {
+                insert(shopId, List.of(row));
+                inserted++;
+            } catch (RuntimeException e) {
+                errors.add(new ImportRowError(row.lineNumber(), itemCode(row.request()),
+                        "Insert failed: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage()));
+            }
+        }
+        return inserted;
+    }
+
+    /** Inserts the rows and their stock events in one transaction. */
+    private void insert(String shopId, List<InventoryImportReader.Row> accepted) {
+        transactionTemplate.executeWithoutResult(status -> {
+            int missing = (int) accepted.stream().filter(row -> itemCode(row.request()) == null).count();
+            Iterator<String> generated = skuAllocator.allocate(missing).iterator();
+            List<InventoryEntity> items = new ArrayList<>(accepted.size());
+            for (InventoryImportReader.Row row : accepted) {
+                String code = itemCode(row.request());
+                items.add(toEntity(row.request(), code != null ? code : generated.next(), shopId));
+            }
+
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            jdbcTemplate.batchUpdate(INSERT_ITEM, items, items.size(), (ps, item) -> {
+                ps.setString(1, item.getItemCode());
+                ps.setString(2, item.getItemName());
+                ps.setString(3, item.getCategory());
+                ps.setString(4, item.getMetalType());
+                ps.setString(5, item.getPurity());
+                ps.setBigDecimal(6, item.getGrossWeight());
+                ps.setBigDecimal(7, item.getNetWeight());
+                ps.setBigDecimal(8, item.getMakingCharge());
+                ps.setBigDecimal(9, item.getRatePerGram());
+                ps.setInt(10, item.getStockQuantity());
+                ps.setString(11, item.getHsnCode());
+                ps.setString(12, item.getDescription());
+                ps.setString(13, item.getShopId());
+                ps.setTimestamp(14, now);
+                ps.setTimestamp(15, now);
+            });
+            outboxService.stockCreated(items);
+        });
+    }
+
+    private InventoryImportJobEntity saveProgress(InventoryImportJobEntity job, long processed, long imported,
+            long failed, List<ImportRowError> errors) {
+        job.recordProgress(processed, imported, failed);
+        job.recordErrors(errors, maxErrors);
+        errors.clear();
+        return jobRepository.save(job);
+    }
+
+    private InventoryEntity toEntity(CreateInventoryRequest request, String itemCode, String shopId) {
+        InventoryEntity entity = new InventoryEntity(
+                itemCode,
+                request.itemName(),
+                request.category(),
+                request.metalType(),
+                request.purity(),
+                BigDecimal.valueOf(request.grossWeight()),
+                request.netWeight() != null ? BigDecimal.valueOf(request.netWeight()) : null,
+                request.makingCharge() != null ? BigDecimal.valueOf(request.makingCharge()) : null,
+                BigDecimal.valueOf(request.ratePerGram()),
+                request.stockQuantity(),
+                request.hsnCode(),
+                request.description());
+        entity.setShopId(shopId);
+        return entity;
+    }
+
+    private String itemCode(CreateInventoryRequest request) {
+        if (request == null || request.itemCode() == null || request.itemCode().isBlank()) {
+            return null;
+        }
+        return request.itemCode().trim().toUpperCase(Locale.ROOT);
+    }
+
+    private InventoryImportFormat detectFormat(MultipartFile file) {
+        String name = file.getOriginalFilename() == null ? "" : file.getOriginalFilename().toLowerCase(Locale.ROOT);
+        String contentType = file.getContentType() == null ? "" : file.getContentType();
+        if (name.endsWith(".ndjson") || name.endsWith(".jsonl") || contentType.contains("ndjson")) {
+            return InventoryImportFormat.NDJSON;
+        }
+        if (name.endsWith(".csv") || contentType.contains("csv")) {
+            return InventoryImportFormat.CSV;
+        }
+        throw new ResponseStatusException(HttpStatus.UNSUPPORTED_MEDIA_TYPE, "Expected a .csv or .ndjson file");
+    }
+
+    private InventoryImportJobResponse toResponse(InventoryImportJobEntity job) {
+        return new InventoryImportJobResponse(
+                job.getId(),
+                job.getFileName(),
+                job.getFormat(),
+                job.getStatus(),
+                job.getProcessedRows(),
+                job.getImportedRows(),
+                job.getFailedRows(),
+                job.getErrors(),
+                job.getFailureReason(),
+                job.getCreatedAt(),
+                job.getCompletedAt());
+    }
+}
@@ -0,0 +1,204 @@
+package com.luxegem.invoice.service;
+
+import com.luxegem.invoice.model.Money;
+import com.luxegem.invoice.model.NotificationDigest;
+import com.luxegem.invoice.model.PurityRate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps {@code inventory.rate_per_gram} at the market rate of each item's
+ * metal and purity. A pass runs when a new live rate table has moved some rate
+ * by at least the configured basis points since the last pass, no sooner than
+ * the minimum interval after it (and daily as a backstop), so routine ticks do
+ * not rewrite the catalogue and push it to every sync client. Each pass updates the table in id-range chunks,
+ * one set-based UPDATE and one short transaction per chunk, so row locks are
+ * held briefly and sales carry on while it runs; items already at the rate
+ * are not touched. Every shop with repriced items gets a summary notification,
+ * folded into the open repricing digest when there is one.
+ */
+@Service
+public class InventoryRepricingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(InventoryRepricingService.class);
+
+    // %s: one "(?::text, ?::text, ?::numeric)" row per rate
+    private static final String REPRICE_CHUNK = """
+            WITH rates (metal, purity, rate) AS (VALUES %s),
+            repriced AS (
+                UPDATE inventory i
+                SET rate_per_gram = r.rate, updated_at = now()
+                FROM rates r
+                WHERE i.id >= ? AND i.id < ?
+                  AND upper(i.metal_type) = r.metal AND upper(i.purity) = r.purity
+                  AND i.rate_per_gram IS DISTINCT FROM r.rate
+                RETURNING i.shop_id, r.metal, r.purity
+            )
+            SELECT shop_id, metal, purity, count(*) FROM repriced GROUP BY shop_id, metal, purity
+            """;
+
+    private final LiveRateService liveRateService;
+    private final NotificationService notificationService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskExecutor taskExecutor;
+    private final boolean enabled;
+    private final int chunkSize;
+    private final long minMoveBasisPoints;
+    private final long minIntervalMs;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile LiveRates repriced = LiveRates.EMPTY;
+    private volatile long repricedAt;
+
+    public InventoryRepricingService(
+            LiveRateService liveRateService,
+            NotificationService notificationService,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor,
+            @Value("${inventory.repricing.enabled:true}") boolean enabled,
+            @Value("${inventory.repricing.chunk-size:2000}") int chunkSize,
+            @Value("${inventory.repricing.min-move-basis-points:25}") long minMoveBasisPoints,
+            @Value("${inventory.repricing.min-interval-ms:900000}") long minIntervalMs) {
+        this.liveRateService = liveRateService;
+        this.notificationService = notificationService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.taskExecutor = taskExecutor;
+        this.enabled = enabled;
+        this.chunkSize = chunkSize;
+        this.minMoveBasisPoints = minMoveBasisPoints;
+        this.minIntervalMs = minIntervalMs;
+    }
+
+    /**
+     * Starts a pass when the live rate table has moved far enough from the one last
+     * repriced at and the minimum interval has passed. In-memory check only.
+     */
+    @Scheduled(fixedDelayString = "${inventory.repricing.check-ms:10000}")
+    public void repriceIfRatesChanged() {
+        LiveRates rates = liveRateService.current();
+        LiveRates last = repriced;
+        if (rates.version() == 0) {
+            return;
+        }
+        // Compared by rate rather than version: market-service numbers tables from 1 again after a restart.
+        if (last.version() == 0
+                || (System.currentTimeMillis() - repricedAt >= minIntervalMs && movedEnough(last, rates))) {
+            submit(rates, "rate table v" + rates.version());
+        }
+    }
+
+    /** Backstop for items whose rate was edited by hand since the last pass. */
+    @Scheduled(cron = "${inventory.repricing.cron:0 15 6 * * *}")
+    public void repriceScheduled() {
+        LiveRates rates = liveRateService.current();
+        if (rates.version() != 0) {
+            submit(rates, "daily repricing");
+        }
+    }
+
+    private void submit(LiveRates rates, String trigger) {
+        if (!enabled || !running.compareAndSet(false, true)) {
+            return;
+        }
+        taskExecutor.execute(() -> {
+            try {
+                reprice(rates, trigger);
+                repriced = rates;
+                repricedAt = System.currentTimeMillis();
+            } catch (Exception e) {
+                logger.error("Inventory repricing ({}) failed, will retry: {}", trigger, e.getMessage());
+            } finally {
+                running.set(false);
+            }
+        });
+    }
+
+    private void reprice(LiveRates rates, String trigger) {
+        List<PurityRate> purityRates = rates.rates();
+        if (purityRates.isEmpty()) {
+            return;
+        }
+        long started = System.currentTimeMillis();
+        String sql = String.format(REPRICE_CHUNK, purityRates.stream()
+                .map(rate -> "(?::text, ?::text, ?::numeric)")
+                .collect(Collectors.joining(", ")));
+        Object[] args = new Object[purityRates.size() * 3 + 2];
+        for (int i = 0; i < purityRates.size(); i++) {
+            PurityRate rate = purityRates.get(i);
+            args[i * 3] = rate.metal().toUpperCase(Locale.ROOT);
+            args[i * 3 + 1] = rate.purity().toUpperCase(Locale.ROOT);
+            args[i * 3 + 2] = Money.toBigDecimal(Money.of(rate.pricePerGram()));
+        }
+
+        Long[] bounds = jdbcTemplate.queryForObject("SELECT min(id), max(id) FROM inventory",
+                (rs, rowNum) -> new Long[] { (Long) rs.getObject(1), (Long) rs.getObject(2) });
+        if (bounds == null || bounds[0] == null) {
+            return;
+        }
+
+        // shop -> "METAL PURITY" -> items repriced
+        Map<String, Map<String, Long>> repricedByShop = new TreeMap<>();
+        for (long from = bounds[0]; from <= bounds[1]; from += chunkSize) {
+            args[args.length - 2] = from;
+            args[args.length - 1] = from + chunkSize;
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(sql, rs -> {
+                repricedByShop.computeIfAbsent(rs.getString(1), shop -> new TreeMap<>())
+                        .merge(rs.getString(2) + " " + rs.getString(3), rs.getLong(4), Long::sum);
+            }, args));
+        }
+
+        String referenceId = "rates v" + rates.version();
+        repricedByShop.forEach((shopId, byType) -> notificationService.recordSystemEvent(shopId,
+                NotificationDigest.INVENTORY_REPRICED, referenceId, "Inventory repriced",
+                summary(byType, purityRates)));
+        long total = repricedByShop.values().stream().flatMap(byType -> byType.values().stream())
+                .mapToLong(Long::longValue).sum();
+        logger.info("Repriced {} inventory items across {} shops at rate table v{} ({}, {} ms)", total,
+                repricedByShop.size(), rates.version(), trigger, System.currentTimeMillis() - started);
+    }
+
+    /** True when a rate is new or has moved at least {@code minMoveBasisPoints} since {@code last}. */
+    private boolean movedEnough(LiveRates last, LiveRates rates) {
+        for (PurityRate rate : rates.rates()) {
+            long before = last.paisePerGram(rate.metal(), rate.purity());
+            long now = Money.of(rate.pricePerGram());
+            if (before <= 0 || Math.abs(now - before) * 10_000 >= before * minMoveBasisPoints) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String summary(Map<String, Long> byType, List<PurityRate> rates) {
+        List<String> parts = new ArrayList<>();
+        byType.forEach((type, count) -> {
+            BigDecimal rate = rates.stream()
+                    .filter(candidate -> type.equalsIgnoreCase(candidate.metal() + " " + candidate.purity()))
+                    .findFirst()
+                    .map(candidate -> Money.toBigDecimal(Money.of(candidate.pricePerGram())))
+                    .orElse(null);
+            parts.add(count + " " + type + (count == 1 ? " item" : " items")
+                    + (rate == null ? "" : " to ₹" + rate + "/g"));
+        });
+        return "Rates updated to the current market rate: " + String.join(", ", parts) + ".";
+    }
+}
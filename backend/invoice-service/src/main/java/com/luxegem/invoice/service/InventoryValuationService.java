@@ -0,0 +1,66 @@
+package com.luxegem.invoice.service;
+
+import com.luxegem.invoice.model.InventoryValuationResponse;
+import com.luxegem.invoice.model.MetalValuation;
+import com.luxegem.invoice.model.Money;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Values a shop's stock at the current market rate. Weights come from the
+ * per-metal, per-purity totals kept by {@link InventoryWeightTotalsInstaller}'s
+ * triggers and rates from {@link LiveRateService}, so a valuation reads one
+ * row per metal and purity however many items the shop holds.
+ */
+@Service
+public class InventoryValuationService {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final LiveRateService liveRateService;
+
+    public InventoryValuationService(JdbcTemplate jdbcTemplate, LiveRateService liveRateService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.liveRateService = liveRateService;
+    }
+
+    public InventoryValuationResponse valuation(String shopId) {
+        LiveRates rates = liveRateService.current();
+        List<WeightTotal> totals = jdbcTemplate.query("""
+                SELECT metal_type, purity, pieces, net_weight FROM inventory_weight_totals
+                WHERE shop_id = ? AND pieces > 0
+                ORDER BY metal_type, purity
+                """, (rs, rowNum) -> new WeightTotal(rs.getString(1), rs.getString(2), rs.getLong(3),
+                rs.getBigDecimal(4)), shopId);
+
+        List<MetalValuation> metals = new ArrayList<>(totals.size());
+        long pieces = 0;
+        long milligrams = 0;
+        long unquotedMilligrams = 0;
+        long totalPaise = 0;
+        for (WeightTotal total : totals) {
+            long weightMilligrams = total.netWeight().movePointRight(3).longValueExact();
+            double weightGrams = total.netWeight().doubleValue();
+            long ratePaise = rates.paisePerGram(total.metal(), total.purity());
+            pieces += total.pieces();
+            milligrams += weightMilligrams;
+            if (ratePaise < 0) {
+                unquotedMilligrams += weightMilligrams;
+                metals.add(new MetalValuation(total.metal(), total.purity(), total.pieces(), weightGrams, null, null));
+            } else {
+                long valuePaise = Money.lineValue(weightMilligrams, ratePaise, 1);
+                totalPaise += valuePaise;
+                metals.add(new MetalValuation(total.metal(), total.purity(), total.pieces(), weightGrams,
+                        Money.toDouble(ratePaise), Money.toDouble(valuePaise)));
+            }
+        }
+        return new InventoryValuationResponse(rates.version(), rates.changedAt(), metals, pieces,
+                milligrams / 1000.0, Money.toDouble(totalPaise), unquotedMilligrams / 1000.0);
+    }
+
+    private record WeightTotal(String metal, String purity, long pieces, BigDecimal netWeight) {
+    }
+}
@@ -0,0 +1,119 @@
+package com.luxegem.invoice.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Installs {@code inventory_weight_totals}: stock on hand per shop, metal and
+ * purity, as pieces and grams of net weight (gross weight when an item has no
+ * net weight). Statement-level triggers on {@code inventory} fold each
+ * statement's inserted, updated and deleted rows into the totals with one
+ * grouped upsert, so sales, edits and bulk imports all keep them current
+ * however they write, and statements that change no weight or stock (such as
+ * repricing) leave them alone.
+ *
+ * <p>The totals are rebuilt from {@code inventory} on every start, which also
+ * covers rows written while the triggers were not yet installed.
+ */
+@Component
+@Order(30)
+public class InventoryWeightTotalsInstaller implements CommandLineRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(InventoryWeightTotalsInstaller.class);
+
+    // %1$s: transition table; %2$s: 1 for rows added, -1 for rows removed
+    private static final String CONTRIBUTION = """
+            SELECT coalesce(shop_id, '') AS shop_id, upper(coalesce(metal_type, '')) AS metal_type,
+                   upper(coalesce(purity, '')) AS purity,
+                   %2$s * greatest(coalesce(stock_quantity, 0), 0) AS pieces,
+                   %2$s * greatest(coalesce(stock_quantity, 0), 0) * coalesce(net_weight, gross_weight, 0) AS net_weight
+            FROM %1$s
+            """;
+
+    private static final String APPLY = """
+            INSERT INTO inventory_weight_totals AS t (shop_id, metal_type, purity, pieces, net_weight)
+            SELECT shop_id, metal_type, purity, sum(pieces), sum(net_weight)
+            FROM (%s) delta
+            GROUP BY shop_id, metal_type, purity
+            HAVING sum(pieces) <> 0 OR sum(net_weight) <> 0
+            ON CONFLICT (shop_id, metal_type, purity) DO UPDATE
+            SET pieces = t.pieces + EXCLUDED.pieces, net_weight = t.net_weight + EXCLUDED.net_weight
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public InventoryWeightTotalsInstaller(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void run(String... args) {
+        transactionTemplate.executeWithoutResult(status -> install());
+    }
+
+    private void install() {
+        jdbcTemplate.execute("""
+                CREATE TABLE IF NOT EXISTS inventory_weight_totals (
+                    shop_id varchar(255) NOT NULL,
+                    metal_type varchar(255) NOT NULL,
+                    purity varchar(255) NOT NULL,
+                    pieces bigint NOT NULL,
+                    net_weight numeric(19,3) NOT NULL,
+                    PRIMARY KEY (shop_id, metal_type, purity)
+                )
+                """);
+
+        String added = String.format(CONTRIBUTION, "new_rows", "1");
+        String removed = String.format(CONTRIBUTION, "old_rows", "-1");
+        // Each branch only names the transition tables its event provides.
+        jdbcTemplate.execute("""
+                CREATE OR REPLACE FUNCTION apply_inventory_weight_totals() RETURNS trigger
+                LANGUAGE plpgsql AS $$
+                BEGIN
+                    IF TG_OP = 'INSERT' THEN
+                        %s;
+                    ELSIF TG_OP = 'UPDATE' THEN
+                        %s;
+                    ELSE
+                        %s;
+                    END IF;
+                    RETURN NULL;
+                END
+                $$
+                """.formatted(
+                        String.format(APPLY, added),
+                        String.format(APPLY, added + " UNION ALL " + removed),
+                        String.format(APPLY, removed)));
+
+        // Transition tables need one trigger per event.
+        jdbcTemplate.execute("""
+                CREATE OR REPLACE TRIGGER trg_inventory_weight_totals_insert AFTER INSERT ON inventory
+                REFERENCING NEW TABLE AS new_rows
+                FOR EACH STATEMENT EXECUTE FUNCTION apply_inventory_weight_totals()
+                """);
+        jdbcTemplate.execute("""
+                CREATE OR REPLACE TRIGGER trg_inventory_weight_totals_update AFTER UPDATE ON inventory
+                REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+                FOR EACH STATEMENT EXECUTE FUNCTION apply_inventory_weight_totals()
+                """);
+        jdbcTemplate.execute("""
+                CREATE OR REPLACE TRIGGER trg_inventory_weight_totals_delete AFTER DELETE ON inventory
+                REFERENCING OLD TABLE AS old_rows
+                FOR EACH STATEMENT EXECUTE FUNCTION apply_inventory_weight_totals()
+                """);
+
+        // Blocks inventory writes only for the rebuild itself.
+        jdbcTemplate.execute("LOCK TABLE inventory IN SHARE ROW EXCLUSIVE MODE");
+        jdbcTemplate.update("DELETE FROM inventory_weight_totals");
+        int groups = jdbcTemplate.update(String.format(APPLY, String.format(CONTRIBUTION, "inventory", "1")));
+        logger.info("Rebuilt inventory weight totals: {} shop/metal/purity groups", groups);
+    }
+}
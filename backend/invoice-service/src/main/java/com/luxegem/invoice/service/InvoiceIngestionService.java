@@ -0,0 +1,311 @@
+package com.luxegem.invoice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.luxegem.invoice.entity.InvoiceEntity;
+import com.luxegem.invoice.model.BulkInvoiceResponse;
+import com.luxegem.invoice.model.CreateInvoiceRequest;
+import com.luxegem.invoice.model.IngestInvoiceRequest;
+import com.luxegem.invoice.model.IngestInvoiceResult;
+import com.luxegem.invoice.model.IngestOutcome;
+import com.luxegem.invoice.model.TaxedInvoice;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Uploads invoices queued by offline counters. Totals and GST are recomputed
+ * by {@link InvoiceTaxCalculator} as for any other invoice. A whole request is one
+ * transaction and costs a fixed number of round trips however many invoices
+ * it carries: one lookup of known keys, one of finalized GST months, one invoice number
+ * allocation, one batched insert, one re-read and one batched outbox append. New invoices
+ * dated in a month whose GST report is finalized are rejected, since the filed return
+ * could no longer include them. The (shop_id, idempotency_key)
+ * unique constraint makes a replayed key a no-op, even when two uploads of
+ * the same backlog race each other.
+ */
+@Service
+public class InvoiceIngestionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(InvoiceIngestionService.class);
+
+    private static final int MAX_KEY_LENGTH = 100;
+
+    private static final String INSERT_INVOICE = """
+            INSERT INTO invoices (invoice_id, customer, mobilenumber, address, items, type, amount, status,
+                issue_date, gross_amount, net_amount, discount, making_charge, gst_rate, payment_method, shop_id,
+                idempotency_key)
+            VALUES (?, ?, ?, ?, CAST(? AS jsonb), ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (shop_id, idempotency_key) DO NOTHING
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final InvoiceNumberAllocator invoiceNumberAllocator;
+    private final InvoiceTaxCalculator taxCalculator;
+    private final OutboxService outboxService;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final int maxBatchSize;
+    private final int jdbcBatchSize;
+
+    public InvoiceIngestionService(
+            JdbcTemplate jdbcTemplate,
+            InvoiceNumberAllocator invoiceNumberAllocator,
+            InvoiceTaxCalculator taxCalculator,
+            OutboxService outboxService,
+            Validator validator,
+            ObjectMapper objectMapper,
+            @Value("${invoices.ingest.max-batch-size:2000}") int maxBatchSize,
+            @Value("${invoices.ingest.jdbc-batch-size:500}") int jdbcBatchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.invoiceNumberAllocator = invoiceNumberAllocator;
+        this.taxCalculator = taxCalculator;
+        this.outboxService = outboxService;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.maxBatchSize = maxBatchSize;
+        this.jdbcBatchSize = jdbcBatchSize;
+    }
+
+    @Transactional
+    public BulkInvoiceResponse ingest(String shopId, List<IngestInvoiceRequest> requests) {
+        if (requests.size() > maxBatchSize) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "At most " + maxBatchSize + " invoices per request");
+        }
+
+        IngestInvoiceResult[] results = new IngestInvoiceResult[requests.size()];
+        TaxedInvoice[] taxed = new TaxedInvoice[requests.size()];
+        Map<String, Integer> firstIndexByKey = new HashMap<>();
+        List<Integer> candidates = new ArrayList<>();
+
+        for (int i = 0; i < requests.size(); i++) {
+            IngestInvoiceRequest request = requests.get(i);
+            String key = request == null ? null : request.idempotencyKey();
+            String error = validate(request);
+            if (error == null) {
+                try {
+                    taxed[i] = taxCalculator.calculate(request.invoice().items(),
+                            BigDecimal.valueOf(request.invoice().discount()));
+                } catch (ResponseStatusException e) {
+                    error = e.getReason();
+                }
+            }
+            if (error != null) {
+                results[i] = new IngestInvoiceResult(key, IngestOutcome.REJECTED, null, error);
+            } else if (firstIndexByKey.putIfAbsent(key, i) == null) {
+                candidates.add(i);
+            }
+        }
+
+        Map<String, String> known = invoiceIdsByKey(shopId, candidates.stream()
+                .map(i -> requests.get(i).idempotencyKey())
+                .collect(Collectors.toSet()));
+        List<Integer> fresh = new ArrayList<>();
+        for (int i : candidates) {
+            String key = requests.get(i).idempotencyKey();
+            if (known.containsKey(key)) {
+                results[i] = new IngestInvoiceResult(key, IngestOutcome.DUPLICATE, known.get(key), null);
+            } else {
+                fresh.add(i);
+            }
+        }
+        rejectFinalizedPeriods(shopId, requests, fresh, results);
+
+        if (!fresh.isEmpty()) {
+            insertFresh(shopId, requests, taxed, fresh, results);
+        }
+
+        // Repeats of a key inside this request share the outcome of its first occurrence.
+        for (int i = 0; i < requests.size(); i++) {
+            if (results[i] == null) {
+                String key = requests.get(i).idempotencyKey();
+                IngestInvoiceResult first = results[firstIndexByKey.get(key)];
+                results[i] = first.outcome() == IngestOutcome.REJECTED
+                        ? first
+                        : new IngestInvoiceResult(key, IngestOutcome.DUPLICATE, first.invoiceId(), first.message());
+            }
+        }
+
+        Map<IngestOutcome, Long> counts = Arrays.stream(results)
+                .collect(Collectors.groupingBy(IngestInvoiceResult::outcome, Collectors.counting()));
+        int created = counts.getOrDefault(IngestOutcome.CREATED, 0L).intValue();
+        int duplicates = counts.getOrDefault(IngestOutcome.DUPLICATE, 0L).intValue();
+        int rejected = counts.getOrDefault(IngestOutcome.REJECTED, 0L).intValue();
+        logger.info("Ingested {} invoices for shop {}: {} created, {} duplicates, {} rejected",
+                requests.size(), shopId, created, duplicates, rejected);
+        return new BulkInvoiceResponse(requests.size(), created, duplicates, rejected, List.of(results));
+    }
+
+    /**
+     * Rejects the new invoices dated in a finalized month and removes them from
+     * {@code fresh}. Replays of stored keys are left alone: they change nothing.
+     */
+    private void rejectFinalizedPeriods(String shopId, List<IngestInvoiceRequest> requests, List<Integer> fresh,
+            IngestInvoiceResult[] results) {
+        // Only past months can be finalized, and an undated invoice is dated today.
+        YearMonth current = YearMonth.now();
+        Set<String> periods = fresh.stream()
+                .map(i -> requests.get(i).issueDate())
+                .filter(date -> date != null && YearMonth.from(date).isBefore(current))
+                .map(date -> YearMonth.from(date).toString())
+                .collect(Collectors.toSet());
+        if (periods.isEmpty()) {
+            return;
+        }
+        Set<String> finalized = new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT period FROM gst_report_snapshots WHERE shop_id = ? AND period = ANY (?)",
+                String.class, shopId, periods.toArray(new String[0])));
+        fresh.removeIf(i -> {
+            IngestInvoiceRequest request = requests.get(i);
+            if (request.issueDate() == null) {
+                return false;
+            }
+            String period = YearMonth.from(request.issueDate()).toString();
+            if (!finalized.contains(period)) {
+                return false;
+            }
+            results[i] = new IngestInvoiceResult(request.idempotencyKey(), IngestOutcome.REJECTED, null,
+                    "issueDate falls in " + period + ", whose GST report is finalized");
+            return true;
+        });
+    }
+
+    private void insertFresh(String shopId, List<IngestInvoiceRequest> requests, TaxedInvoice[] taxed,
+            List<Integer> fresh, IngestInvoiceResult[] results) {
+        List<String> invoiceIds = invoiceNumberAllocator.allocate(fresh.size());
+        List<InvoiceEntity> invoices = new ArrayList<>(fresh.size());
+        for (int n = 0; n < fresh.size(); n++) {
+            int i = fresh.get(n);
+            invoices.add(toEntity(requests.get(i), taxed[i], invoiceIds.get(n), shopId));
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_INVOICE, invoices, jdbcBatchSize, (ps, invoice) -> {
+            ps.setString(1, invoice.getInvoiceId());
+            ps.setString(2, invoice.getCustomer());
+            ps.setString(3, invoice.getMobilenumber());
+            ps.setString(4, invoice.getAddress());
+            ps.setString(5, toJson(invoice));
+            ps.setString(6, invoice.getType());
+            ps.setBigDecimal(7, invoice.getAmount());
+            ps.setString(8, invoice.getStatus());
+            ps.setDate(9, Date.valueOf(invoice.getIssueDate()));
+            ps.setBigDecimal(10, invoice.getGrossAmount());
+            ps.setBigDecimal(11, invoice.getNetAmount());
+            ps.setBigDecimal(12, invoice.getDiscount());
+            ps.setBigDecimal(13, invoice.getMakingCharge());
+            ps.setBigDecimal(14, invoice.getGstRate());
+            ps.setString(15, invoice.getPaymentMethod());
+            ps.setString(16, invoice.getShopId());
+            ps.setString(17, invoice.getIdempotencyKey());
+        });
+
+        // A concurrent upload of the same key wins the ON CONFLICT race; re-read to find out which rows are ours.
+        Map<String, String> stored = invoiceIdsByKey(shopId, invoices.stream()
+                .map(InvoiceEntity::getIdempotencyKey)
+                .collect(Collectors.toSet()));
+        List<InvoiceEntity> created = new ArrayList<>(invoices.size());
+        for (int n = 0; n < fresh.size(); n++) {
+            InvoiceEntity invoice = invoices.get(n);
+            String storedId = stored.get(invoice.getIdempotencyKey());
+            boolean ours = invoice.getInvoiceId().equals(storedId);
+            if (ours) {
+                created.add(invoice);
+            }
+            results[fresh.get(n)] = new IngestInvoiceResult(invoice.getIdempotencyKey(),
+                    ours ? IngestOutcome.CREATED : IngestOutcome.DUPLICATE, storedId, null);
+        }
+        if (!created.isEmpty()) {
+            outboxService.invoicesCreated(created);
+        }
+    }
+
+    private Map<String, String> invoiceIdsByKey(String shopId, Set<String> keys) {
+        Map<String, String> invoiceIds = new HashMap<>();
+        if (keys.isEmpty()) {
+            return invoiceIds;
+        }
+        jdbcTemplate.query(
+                "SELECT idempotency_key, invoice_id FROM invoices WHERE shop_id = ? AND idempotency_key = ANY (?)",
+                rs -> {
+                    invoiceIds.put(rs.getString(1), rs.getString(2));
+                },
+                shopId, keys.toArray(new String[0]));
+        return invoiceIds;
+    }
+
+    /**
+     * @return an error message, or {@code null} if the invoice can be stored
+     */
+    private String validate(IngestInvoiceRequest request) {
+        if (request == null || request.idempotencyKey() == null || request.idempotencyKey().isBlank()) {
+            return "idempotencyKey is required";
+        }
+        if (request.idempotencyKey().length() > MAX_KEY_LENGTH) {
+            return "idempotencyKey must be at most " + MAX_KEY_LENGTH + " characters";
+        }
+        if (request.invoice() == null) {
+            return "invoice is required";
+        }
+        Set<ConstraintViolation<CreateInvoiceRequest>> violations = validator.validate(request.invoice());
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private InvoiceEntity toEntity(IngestInvoiceRequest ingest, TaxedInvoice taxed, String invoiceId,
+            String shopId) {
+        CreateInvoiceRequest request = ingest.invoice();
+        InvoiceEntity entity = new InvoiceEntity(
+                invoiceId,
+                request.customer(),
+                request.mobilenumber(),
+                request.address(),
+                taxed.items(),
+                request.type(),
+                taxed.netAmount(),
+                request.status(),
+                ingest.issueDate() != null ? ingest.issueDate() : LocalDate.now(),
+                taxed.grossAmount(),
+                taxed.netAmount(),
+                taxed.discount(),
+                taxed.makingCharge(),
+                taxed.gstRate(),
+                request.paymentMethod() == null ? "CASH" : request.paymentMethod());
+        entity.setShopId(shopId);
+        entity.setIdempotencyKey(ingest.idempotencyKey());
+        return entity;
+    }
+
+    private String toJson(InvoiceEntity invoice) {
+        try {
+            return objectMapper.writeValueAsString(invoice.getItems());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize invoice items", e);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.luxegem.invoice.service;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Invoice numbers ({@code #INV-2046}), independent of the table's row ids.
+ */
+@Component
+public class InvoiceNumberAllocator extends SequenceCodeAllocator {
+
+    public InvoiceNumberAllocator(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        super(jdbcTemplate, transactionManager, "invoice_number_seq", "invoices", "invoice_id", "#INV-", "%d");
+    }
+}
@@ -0,0 +1,84 @@
+package com.luxegem.invoice.service;
+
+import com.luxegem.invoice.model.InvoiceItemDto;
+import com.luxegem.invoice.model.Money;
+import com.luxegem.invoice.model.TaxedInvoice;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Prices invoice lines for every billing entry point. Client-supplied GST
+ * rates and totals are ignored: each line's taxable value is weight x rate x
+ * quantity plus its making charge, its rate comes from the {@link TaxEngine},
+ * and the invoice totals are the sums of the lines. Each priced line keeps its
+ * taxable value and tax, so reports add up to what was billed. All arithmetic
+ * is in paise ({@link Money}).
+ */
+@Component
+public class InvoiceTaxCalculator {
+
+    private final TaxEngine taxEngine;
+
+    public InvoiceTaxCalculator(TaxEngine taxEngine) {
+        this.taxEngine = taxEngine;
+    }
+
+    public TaxedInvoice calculate(List<InvoiceItemDto> items, BigDecimal discount) {
+        return calculate(items, null, null, Money.of(discount));
+    }
+
+    /**
+     * @param categories  inventory category of each line, parallel to {@code items}; may be {@code null}
+     * @param makingPaise making charge of each line, parallel to {@code items}; {@code null} to take it
+     *                    from each line's making charge percentage
+     */
+    public TaxedInvoice calculate(List<InvoiceItemDto> items, List<String> categories, long[] makingPaise,
+            long discountPaise) {
+        List<InvoiceItemDto> lines = items == null ? List.of() : items;
+        TaxBatch batch = new TaxBatch(lines.size());
+        long totalMaking = 0;
+        for (int i = 0; i < lines.size(); i++) {
+            InvoiceItemDto item = lines.get(i);
+            long base = Money.lineValue(decimal(item.weight()), decimal(item.rate()), quantity(item));
+            long making = makingPaise != null ? makingPaise[i] : Money.percent(base, value(item.makingChargePercent()));
+            totalMaking += making;
+            batch.add(item.hsnCode(), categories == null ? null : categories.get(i), item.type(), base + making);
+        }
+        taxEngine.apply(batch);
+
+        List<InvoiceItemDto> taxed = new ArrayList<>(lines.size());
+        for (int i = 0; i < lines.size(); i++) {
+            InvoiceItemDto item = lines.get(i);
+            taxed.add(new InvoiceItemDto(item.description(), item.type(), item.weight(), item.rate(),
+                    item.makingChargePercent(), batch.rateBasisPoints(i) / 100.0, item.itemCode(),
+                    item.hsnCode(), item.quantity(), batch.taxablePaise(i), batch.taxPaise(i)));
+        }
+
+        long gross = batch.totalTaxablePaise();
+        long tax = batch.totalTaxPaise();
+        long net = gross + tax - discountPaise;
+        if (net < 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Discount exceeds the invoice total");
+        }
+        return new TaxedInvoice(taxed, gross, totalMaking, tax, Money.ratioBasisPoints(tax, gross), discountPaise,
+                net);
+    }
+
+    private static double value(Double value) {
+        return value == null ? 0.0 : value;
+    }
+
+    /** The stored JSON number as written, without the binary expansion of the double. */
+    private static BigDecimal decimal(Double value) {
+        return value == null ? BigDecimal.ZERO : BigDecimal.valueOf(value);
+    }
+
+    private static int quantity(InvoiceItemDto item) {
+        return item.quantity() == null ? 1 : item.quantity();
+    }
+}
@@ -0,0 +1,62 @@
+package com.luxegem.invoice.service;
+
+import com.luxegem.invoice.model.PurityRateTableResponse;
+import com.luxegem.invoice.security.JwtService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Keeps market-service's per-purity rate table in memory so pricing never
+ * waits on the network or the database. The table is polled on a short
+ * interval and swapped only when market-service publishes a new version; while
+ * market-service is unreachable the last table stays in use.
+ */
+@Service
+public class LiveRateService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LiveRateService.class);
+    private static final long SERVICE_TOKEN_TTL_MS = 5 * 60 * 1000L;
+
+    private final RestTemplate restTemplate;
+    private final JwtService jwtService;
+    private final String marketBaseUrl;
+    private volatile LiveRates rates = LiveRates.EMPTY;
+
+    public LiveRateService(RestTemplate restTemplate, JwtService jwtService,
+            @Value("${services.market.base-url}") String marketBaseUrl) {
+        this.restTemplate = restTemplate;
+        this.jwtService = jwtService;
+        this.marketBaseUrl = marketBaseUrl;
+    }
+
+    public LiveRates current() {
+        return rates;
+    }
+
+    @Scheduled(fixedDelayString = "${quotes.rates.refresh-ms:5000}")
+    public void refresh() {
+        try {
+            HttpHeaders headers = new HttpHeaders();
+            headers.setBearerAuth(jwtService.generateServiceToken("invoice-service", SERVICE_TOKEN_TTL_MS));
+            PurityRateTableResponse table = restTemplate.exchange(
+                    marketBaseUrl + "/api/market/rates/purity",
+                    HttpMethod.GET,
+                    new HttpEntity<>(headers),
+                    PurityRateTableResponse.class).getBody();
+            if (table != null && table.version() != rates.version()) {
+                rates = LiveRates.of(table);
+                logger.info("Loaded live rate table v{} ({} rates)", table.version(),
+                        table.rates() == null ? 0 : table.rates().size());
+            }
+        } catch (Exception e) {
+            logger.warn("Live rate refresh failed, keeping v{}: {}", rates.version(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.luxegem.invoice.service;
+
+import com.luxegem.invoice.model.Money;
+import com.luxegem.invoice.model.PurityRate;
+import com.luxegem.invoice.model.PurityRateTableResponse;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * One version of market-service's per-purity rate table, in paise per gram.
+ * Immutable; metal and purity are matched case-insensitively without building
+ * a key.
+ */
+public final class LiveRates {
+
+    static final LiveRates EMPTY = new LiveRates(0, null, List.of(), Map.of());
+
+    private final long version;
+    private final LocalDateTime changedAt;
+    private final List<PurityRate> rates;
+    private final Map<String, Map<String, Long>> paisePerGram;
+
+    private LiveRates(long version, LocalDateTime changedAt, List<PurityRate> rates,
+            Map<String, Map<String, Long>> paisePerGram) {
+        this.version = version;
+        this.changedAt = changedAt;
+        this.rates = rates;
+        this.paisePerGram = paisePerGram;
+    }
+
+    static LiveRates of(PurityRateTableResponse table) {
+        Map<String, Map<String, Long>> byMetal = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        List<PurityRate> rates = table.rates() == null ? List.of() : table.rates();
+        for (PurityRate rate : rates) {
+            byMetal.computeIfAbsent(rate.metal(), metal -> new TreeMap<>(String.CASE_INSENSITIVE_ORDER))
+                    .put(rate.purity(), Money.of(rate.pricePerGram()));
+        }
+        byMetal.replaceAll((metal, byPurity) -> Collections.unmodifiableMap(byPurity));
+        LocalDateTime changedAt = LocalDateTime.ofInstant(Instant.ofEpochMilli(table.changedAt()),
+                ZoneId.systemDefault());
+        return new LiveRates(table.version(), changedAt, List.copyOf(rates), Collections.unmodifiableMap(byMetal));
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public List<PurityRate> rates() {
+        return rates;
+    }
+
+    /** When market-service published this version; {@code null} before the first successful poll. */
+    public LocalDateTime changedAt() {
+        return changedAt;
+    }
+
+    /**
+     * @return the live rate in paise per gram, or -1 when the metal or purity is not quoted
+     */
+    public long paisePerGram(String metal, String purity) {
+        if (metal == null || purity == null) {
+            return -1;
+        }
+        Map<String, Long> byPurity = paisePerGram.get(metal);
+        Long rate = byPurity == null ? null : byPurity.get(purity);
+        return rate == null ? -1 : rate;
+    }
+}
@@ -0,0 +1,49 @@
+package com.luxegem.invoice.service;
+
+import com.luxegem.invoice.model.DomainEvent;
+import com.luxegem.invoice.model.DomainEventType;
+import com.luxegem.invoice.model.NotificationDigest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Turns invoice and stock events into the shop's system notifications.
+ */
+@Component
+public class NotificationEventConsumer implements DomainEventConsumer {
+
+    private final NotificationService notificationService;
+
+    public NotificationEventConsumer(NotificationService notificationService) {
+        this.notificationService = notificationService;
+    }
+
+    @Override
+    public String name() {
+        return "notifications";
+    }
+
+    @Override
+    public void handle(List<DomainEvent> events) {
+        for (DomainEvent event : events) {
+            Map<String, Object> payload = event.payload();
+            if (event.type() == DomainEventType.INVOICE_CREATED) {
+                notificationService.recordSystemEvent(
+                        event.shopId(),
+                        NotificationDigest.INVOICE_CREATED,
+                        event.aggregateId(),
+                        "Invoice created successfully",
+                        String.format("%s created for %s", event.aggregateId(), payload.get("customer")));
+            } else if (event.type() == DomainEventType.STOCK_CHANGED && "CREATED".equals(payload.get("reason"))) {
+                notificationService.recordSystemEvent(
+                        event.shopId(),
+                        NotificationDigest.INVENTORY_ADDED,
+                        event.aggregateId(),
+                        "Inventory item added",
+                        String.format("%s (%s) added to inventory", payload.get("itemName"), event.aggregateId()));
+            }
+        }
+    }
+}
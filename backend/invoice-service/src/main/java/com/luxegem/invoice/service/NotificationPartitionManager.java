@@ -0,0 +1,205 @@
+package com.luxegem.invoice.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps the {@code notifications} table range-partitioned by month on
+ * {@code created_at}. On startup an unpartitioned table (as created by
+ * Hibernate) is converted in place; afterwards a nightly job pre-creates
+ * upcoming partitions and drops whole partitions past the retention horizon.
+ *
+ * <p>Expired partitions are detached concurrently before they are dropped, so
+ * reads and writes of the live months are never blocked. Postgres does not
+ * allow that while a default partition exists, so there is none: every month
+ * gets its partition ahead of time. Dropped rows leave no tombstones; the
+ * change feed reports {@link #retentionCutoff()} instead, and queries already
+ * hide rows older than it before their partition goes.
+ */
+@Component
+@Order(10)
+public class NotificationPartitionManager implements CommandLineRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationPartitionManager.class);
+
+    private static final String TABLE = "notifications";
+    private static final String PARTITION_PREFIX = "notifications_p";
+    private static final String DEFAULT_PARTITION = "notifications_default";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+    private static final String DUPLICATE_TABLE = "42P07";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int retentionMonths;
+    private final int premakeMonths;
+
+    public NotificationPartitionManager(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${notifications.retention.months:12}") int retentionMonths,
+            @Value("${notifications.partitions.premake-months:3}") int premakeMonths) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.retentionMonths = retentionMonths;
+        this.premakeMonths = premakeMonths;
+    }
+
+    @Override
+    public void run(String... args) {
+        if (!isPartitioned()) {
+            transactionTemplate.executeWithoutResult(status -> convertToPartitioned());
+        } else if (hasDefaultPartition()) {
+            transactionTemplate.executeWithoutResult(status -> retireDefaultPartition());
+        }
+        maintainPartitions();
+    }
+
+    /**
+     * Earliest {@code created_at} that can still be stored. Repository queries use
+     * it as a lower bound so the planner prunes partitions that are due for drop.
+     */
+    public LocalDateTime retentionCutoff() {
+        if (retentionMonths <= 0) {
+            return LocalDateTime.of(1970, 1, 1, 0, 0);
+        }
+        return YearMonth.now().minusMonths(retentionMonths).atDay(1).atStartOfDay();
+    }
+
+    /** Runs outside a transaction, which a concurrent detach requires. */
+    @Scheduled(cron = "${notifications.retention.cron:0 30 2 * * *}")
+    public void maintainPartitions() {
+        YearMonth current = YearMonth.now();
+        for (int offset = 0; offset <= premakeMonths; offset++) {
+            createPartitionIfMissing(current.plusMonths(offset));
+        }
+        if (retentionMonths > 0) {
+            dropExpiredPartitions(YearMonth.from(retentionCutoff()));
+        }
+    }
+
+    private boolean isPartitioned() {
+        Integer count = jdbcTemplate.queryForObject("""
+                SELECT count(*) FROM pg_partitioned_table p
+                JOIN pg_class c ON c.oid = p.partrelid
+                WHERE c.relname = ? AND pg_table_is_visible(c.oid)
+                """, Integer.class, TABLE);
+        return count != null && count > 0;
+    }
+
+    private boolean hasDefaultPartition() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT to_regclass(?) IS NOT NULL", Boolean.class, DEFAULT_PARTITION));
+    }
+
+    private void convertToPartitioned() {
+        logger.info("Converting {} to a monthly range-partitioned table", TABLE);
+        jdbcTemplate.execute("ALTER TABLE notifications RENAME TO notifications_unpartitioned");
+        jdbcTemplate.execute("""
+                CREATE TABLE notifications (
+                    LIKE notifications_unpartitioned INCLUDING DEFAULTS INCLUDING CONSTRAINTS
+                ) PARTITION BY RANGE (created_at)
+                """);
+        jdbcTemplate.execute("ALTER TABLE notifications ADD PRIMARY KEY (id, created_at)");
+
+        LocalDateTime oldest = jdbcTemplate.queryForObject(
+                "SELECT min(created_at) FROM notifications_unpartitioned", LocalDateTime.class);
+        LocalDateTime newest = jdbcTemplate.queryForObject(
+                "SELECT max(created_at) FROM notifications_unpartitioned", LocalDateTime.class);
+        YearMonth first = oldest == null ? YearMonth.now() : YearMonth.from(oldest);
+        YearMonth last = newest == null || YearMonth.from(newest).isBefore(YearMonth.now())
+                ? YearMonth.now() : YearMonth.from(newest);
+        for (YearMonth month = first; !month.isAfter(last); month = month.plusMonths(1)) {
+            createPartitionIfMissing(month);
+        }
+
+        jdbcTemplate.execute("INSERT INTO notifications SELECT * FROM notifications_unpartitioned");
+        // Dropping the old table also drops its identity sequence, so ids move to a plain sequence.
+        jdbcTemplate.execute("DROP TABLE notifications_unpartitioned");
+        jdbcTemplate.execute("CREATE SEQUENCE notifications_id_seq OWNED BY notifications.id");
+        jdbcTemplate.execute(
+                "SELECT setval('notifications_id_seq', coalesce((SELECT max(id) FROM notifications), 0) + 1, false)");
+        jdbcTemplate.execute("ALTER TABLE notifications ALTER COLUMN id SET DEFAULT nextval('notifications_id_seq')");
+        jdbcTemplate.execute(
+                "CREATE INDEX IF NOT EXISTS idx_notifications_shop_created ON notifications (shop_id, created_at DESC)");
+    }
+
+    /** Moves the rows of the default partition earlier versions kept into monthly partitions, then drops it. */
+    private void retireDefaultPartition() {
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " DETACH PARTITION " + DEFAULT_PARTITION);
+        Timestamp cutoff = Timestamp.valueOf(retentionCutoff());
+        jdbcTemplate.queryForList(
+                "SELECT DISTINCT date_trunc('month', created_at) FROM " + DEFAULT_PARTITION + " WHERE created_at >= ?",
+                LocalDateTime.class, cutoff)
+                .forEach(month -> createPartitionIfMissing(YearMonth.from(month)));
+        int moved = jdbcTemplate.update(
+                "INSERT INTO " + TABLE + " SELECT * FROM " + DEFAULT_PARTITION + " WHERE created_at >= ?", cutoff);
+        jdbcTemplate.execute("DROP TABLE " + DEFAULT_PARTITION);
+        logger.info("Moved {} notifications out of the default partition and dropped it", moved);
+    }
+
+    private void createPartitionIfMissing(YearMonth month) {
+        String name = PARTITION_PREFIX + month.format(PARTITION_SUFFIX);
+        LocalDate from = month.atDay(1);
+        LocalDate to = month.plusMonths(1).atDay(1);
+        try {
+            jdbcTemplate.execute(String.format(
+                    "CREATE TABLE IF NOT EXISTS %s PARTITION OF %s FOR VALUES FROM ('%s') TO ('%s')",
+                    name, TABLE, from, to));
+        } catch (DataAccessException e) {
+            // IF NOT EXISTS can still lose a race with another instance creating the same partition.
+            if (!(NestedExceptionUtils.getMostSpecificCause(e) instanceof SQLException cause)
+                    || !DUPLICATE_TABLE.equals(cause.getSQLState())) {
+                throw e;
+            }
+            logger.debug("Notification partition {} was created concurrently", name);
+        }
+    }
+
+    /**
+     * A concurrent detach commits in two steps. One interrupted between them is
+     * finalized, and a partition detached but not yet dropped is dropped.
+     */
+    private void dropExpiredPartitions(YearMonth oldestKept) {
+        List<Map<String, Object>> partitions = jdbcTemplate.queryForList("""
+                SELECT c.relname, i.inhrelid IS NOT NULL AS attached, coalesce(i.inhdetachpending, false) AS pending
+                FROM pg_class c
+                LEFT JOIN pg_inherits i ON i.inhrelid = c.oid
+                WHERE c.relname LIKE 'notifications\\_p%' AND c.relkind = 'r' AND pg_table_is_visible(c.oid)
+                  AND (i.inhparent IS NULL OR i.inhparent = ?::regclass)
+                """, TABLE);
+
+        for (Map<String, Object> row : partitions) {
+            String partition = (String) row.get("relname");
+            YearMonth month = YearMonth.parse(partition.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX);
+            if (!month.isBefore(oldestKept)) {
+                continue;
+            }
+            if (Boolean.TRUE.equals(row.get("pending"))) {
+                jdbcTemplate.execute("ALTER TABLE " + TABLE + " DETACH PARTITION " + partition + " FINALIZE");
+            } else if (Boolean.TRUE.equals(row.get("attached"))) {
+                jdbcTemplate.execute("ALTER TABLE " + TABLE + " DETACH PARTITION " + partition + " CONCURRENTLY");
+            }
+            jdbcTemplate.execute("DROP TABLE IF EXISTS " + partition);
+            logger.info("Dropped expired notification partition {}", partition);
+        }
+    }
+}
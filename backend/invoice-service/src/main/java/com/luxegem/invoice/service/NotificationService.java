@@ -1,10 +1,19 @@
 package com.luxegem.invoice.service;
 
+import com.luxegem.invoice.entity.BroadcastNotificationEntity;
+import com.luxegem.invoice.entity.BroadcastReceiptEntity;
 import com.luxegem.invoice.entity.NotificationEntity;
+import com.luxegem.invoice.model.BroadcastAudience;
+import com.luxegem.invoice.model.CreateBroadcastRequest;
 import com.luxegem.invoice.model.CreateNotificationRequest;
+import com.luxegem.invoice.model.NotificationDigest;
 import com.luxegem.invoice.model.NotificationResponse;
+import com.luxegem.invoice.model.NotificationScope;
 import com.luxegem.invoice.model.NotificationType;
+import com.luxegem.invoice.repository.BroadcastNotificationRepository;
+import com.luxegem.invoice.repository.BroadcastReceiptRepository;
 import com.luxegem.invoice.repository.NotificationRepository;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
@@ -12,8 +21,15 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class NotificationService {
@@ -21,9 +37,25 @@ public class NotificationService {
     public static final String ADMIN_NOTIFICATION_SHOP_ID = "ADMIN";
 
     private final NotificationRepository notificationRepository;
-
-    public NotificationService(NotificationRepository notificationRepository) {
+    private final BroadcastNotificationRepository broadcastRepository;
+    private final BroadcastReceiptRepository broadcastReceiptRepository;
+    private final NotificationPartitionManager partitionManager;
+    private final Duration digestWindow;
+    private final int digestMaxReferences;
+
+    public NotificationService(
+            NotificationRepository notificationRepository,
+            BroadcastNotificationRepository broadcastRepository,
+            BroadcastReceiptRepository broadcastReceiptRepository,
+            NotificationPartitionManager partitionManager,
+            @Value("${notifications.digest.window-seconds:120}") long digestWindowSeconds,
+            @Value("${notifications.digest.max-references:100}") int digestMaxReferences) {
         this.notificationRepository = notificationRepository;
+        this.broadcastRepository = broadcastRepository;
+        this.broadcastReceiptRepository = broadcastReceiptRepository;
+        this.partitionManager = partitionManager;
+        this.digestWindow = Duration.ofSeconds(digestWindowSeconds);
+        this.digestMaxReferences = digestMaxReferences;
     }
 
     public List<NotificationResponse> list(String shopId, String role, int limit) {
@@ -31,24 +63,46 @@ public class NotificationService {
         Pageable pageable = PageRequest.of(0, safeLimit);
         String normalizedShopId = normalizeShopId(shopId);
 
-        List<NotificationEntity> notifications = isAdmin(role)
-                ? notificationRepository.findByShopIdInOrderByCreatedAtDesc(accessibleShopIds(normalizedShopId, role),
-                        pageable)
-                : notificationRepository.findByShopIdOrderByCreatedAtDesc(normalizedShopId, pageable);
+        LocalDateTime since = partitionManager.retentionCutoff();
 
-        return notifications.stream().map(this::toResponse).toList();
+        List<NotificationEntity> notifications = isAdmin(role)
+                ? notificationRepository.findByShopIdInAndCreatedAtGreaterThanEqualOrderByCreatedAtDesc(
+                        accessibleShopIds(normalizedShopId, role), since, pageable)
+                : notificationRepository.findByShopIdAndCreatedAtGreaterThanEqualOrderByCreatedAtDesc(
+                        normalizedShopId, since, pageable);
+
+        List<BroadcastNotificationEntity> broadcasts = broadcastRepository.findVisible(normalizedShopId, role,
+                safeLimit);
+        Set<Long> readBroadcastIds = readBroadcastIds(normalizedShopId, broadcasts);
+
+        // Both streams are already newest-first and capped at the limit, so merging them is O(limit).
+        return Stream.concat(
+                notifications.stream().map(this::toResponse),
+                broadcasts.stream().map(broadcast -> toResponse(broadcast, normalizedShopId,
+                        readBroadcastIds.contains(broadcast.getId()))))
+                .sorted(Comparator.comparing(NotificationResponse::createdAt).reversed())
+                .limit(safeLimit)
+                .toList();
     }
 
     public long unreadCount(String shopId, String role) {
         String normalizedShopId = normalizeShopId(shopId);
+        LocalDateTime since = partitionManager.retentionCutoff();
+        long broadcastUnread = broadcastRepository.countUnread(normalizedShopId, role);
         if (isAdmin(role)) {
-            return notificationRepository.countByShopIdInAndIsReadFalse(accessibleShopIds(normalizedShopId, role));
+            return broadcastUnread + notificationRepository.countByShopIdInAndIsReadFalseAndCreatedAtGreaterThanEqual(
+                    accessibleShopIds(normalizedShopId, role), since);
         }
-        return notificationRepository.countByShopIdAndIsReadFalse(normalizedShopId);
+        return broadcastUnread
+                + notificationRepository.countByShopIdAndIsReadFalseAndCreatedAtGreaterThanEqual(normalizedShopId, since);
     }
 
     @Transactional
-    public NotificationResponse markAsRead(Long id, String shopId, String role) {
+    public NotificationResponse markAsRead(Long id, String shopId, String role, NotificationScope scope) {
+        if (scope == NotificationScope.BROADCAST) {
+            return markBroadcastAsRead(id, normalizeShopId(shopId), role);
+        }
+
         NotificationEntity notification = findAccessibleNotification(id, normalizeShopId(shopId), role)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Notification not found"));
 
@@ -63,21 +117,21 @@ public class NotificationService {
     @Transactional
     public long markAllAsRead(String shopId, String role) {
         String normalizedShopId = normalizeShopId(shopId);
-        List<NotificationEntity> unreadNotifications = isAdmin(role)
-                ? notificationRepository.findByShopIdInAndIsReadFalse(accessibleShopIds(normalizedShopId, role))
-                : notificationRepository.findByShopIdAndIsReadFalse(normalizedShopId);
-
-        if (unreadNotifications.isEmpty()) {
-            return 0;
-        }
-
-        unreadNotifications.forEach(notification -> notification.setRead(true));
-        notificationRepository.saveAll(unreadNotifications);
-        return unreadNotifications.size();
+        long notificationsMarked = notificationRepository.markAllRead(accessibleShopIds(normalizedShopId, role),
+                partitionManager.retentionCutoff());
+        long broadcastsMarked = broadcastReceiptRepository.markAllRead(normalizedShopId, role);
+        return notificationsMarked + broadcastsMarked;
     }
 
     @Transactional
     public NotificationResponse createForContext(String currentShopId, String role, CreateNotificationRequest request) {
+        String requestedShopId = request.shopId() == null ? "" : request.shopId().trim();
+        if (isAdmin(role) && requestedShopId.isBlank()) {
+            // Admin-wide notices are a role broadcast rather than a row under the ADMIN pseudo shop.
+            return createBroadcast(currentShopId, role, new CreateBroadcastRequest(request.title(), request.message(),
+                    request.type(), BroadcastAudience.ROLE, "admin", null));
+        }
+
         String targetShopId = resolveTargetShopId(normalizeShopId(currentShopId), role, request.shopId());
         NotificationType type = parseType(request.type());
 
@@ -95,13 +149,106 @@ public class NotificationService {
         notificationRepository.save(new NotificationEntity(shopId, title, message, type));
     }
 
+    /**
+     * Records a repeatable system event. If an unread notification for the same
+     * shop and digest is still inside the window it is folded into that row, so a
+     * bulk intake produces one digest entry instead of one row per item.
+     */
+    @Transactional
+    public void recordSystemEvent(String shopId, NotificationDigest digest, String referenceId, String title,
+            String message) {
+        if (shopId == null || shopId.isBlank()) {
+            return;
+        }
+
+        Duration window = digest.window() != null ? digest.window() : digestWindow;
+        Optional<NotificationEntity> openDigest = notificationRepository.findOpenDigest(
+                shopId, digest.name(), LocalDateTime.now().minus(window), partitionManager.retentionCutoff());
+
+        if (openDigest.isPresent()) {
+            NotificationEntity notification = openDigest.get();
+            notification.absorb(referenceId, digest.title(), digest.message(notification.getOccurrenceCount() + 1),
+                    digestMaxReferences);
+            notificationRepository.save(notification);
+            return;
+        }
+
+        notificationRepository.save(
+                new NotificationEntity(shopId, title, message, digest.type(), digest.name(), referenceId));
+    }
+
+    /**
+     * Stores one row for the whole audience, so a broadcast to every shop costs a
+     * single insert regardless of how many shops exist.
+     */
+    @Transactional
+    public NotificationResponse createBroadcast(String currentShopId, String role, CreateBroadcastRequest request) {
+        if (!isAdmin(role)) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Only admins can broadcast notifications");
+        }
+
+        String audienceRole = null;
+        List<String> audienceShopIds = null;
+        switch (request.audience()) {
+            case ROLE -> {
+                if (request.role() == null || request.role().isBlank()) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Role audience requires a role");
+                }
+                audienceRole = request.role().trim().toLowerCase(Locale.ROOT);
+            }
+            case SHOPS -> {
+                audienceShopIds = request.shopIds() == null ? List.of() : request.shopIds().stream()
+                        .filter(id -> id != null && !id.isBlank())
+                        .map(String::trim)
+                        .distinct()
+                        .toList();
+                if (audienceShopIds.isEmpty()) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Shop audience requires shop ids");
+                }
+            }
+            case ALL_SHOPS -> {
+            }
+        }
+
+        BroadcastNotificationEntity broadcast = broadcastRepository.save(new BroadcastNotificationEntity(
+                request.title().trim(),
+                request.message().trim(),
+                parseType(request.type()),
+                request.audience(),
+                audienceRole,
+                audienceShopIds,
+                normalizeShopId(currentShopId)));
+
+        // Not addressed to the creating shop in particular, so no shop id.
+        return toResponse(broadcast, null, false);
+    }
+
+    private NotificationResponse markBroadcastAsRead(Long id, String shopId, String role) {
+        BroadcastNotificationEntity broadcast = broadcastRepository.findVisibleById(id, shopId, role)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Notification not found"));
+
+        broadcastReceiptRepository.markRead(id, shopId);
+
+        return toResponse(broadcast, shopId, true);
+    }
+
+    private Set<Long> readBroadcastIds(String shopId, List<BroadcastNotificationEntity> broadcasts) {
+        if (broadcasts.isEmpty()) {
+            return Set.of();
+        }
+        List<Long> ids = broadcasts.stream().map(BroadcastNotificationEntity::getId).toList();
+        return broadcastReceiptRepository.findByShopIdAndBroadcastIdIn(shopId, ids).stream()
+                .map(BroadcastReceiptEntity::getBroadcastId)
+                .collect(Collectors.toSet());
+    }
+
     private String resolveTargetShopId(String currentShopId, String role, String requestedShopId) {
         String normalizedCurrentShopId = normalizeShopId(currentShopId);
 
         String desiredShopId = requestedShopId == null ? "" : requestedShopId.trim();
 
         if (desiredShopId.isBlank()) {
-            return isAdmin(role) ? ADMIN_NOTIFICATION_SHOP_ID : normalizedCurrentShopId;
+            return normalizedCurrentShopId;
         }
 
         if (!isAdmin(role) && !desiredShopId.equals(normalizedCurrentShopId)) {
@@ -112,10 +259,12 @@ public class NotificationService {
     }
 
     private java.util.Optional<NotificationEntity> findAccessibleNotification(Long id, String shopId, String role) {
+        LocalDateTime since = partitionManager.retentionCutoff();
         if (isAdmin(role)) {
-            return notificationRepository.findByIdAndShopIdIn(id, accessibleShopIds(shopId, role));
+            return notificationRepository.findByIdAndShopIdInAndCreatedAtGreaterThanEqual(id,
+                    accessibleShopIds(shopId, role), since);
         }
-        return notificationRepository.findByIdAndShopId(id, shopId);
+        return notificationRepository.findByIdAndShopIdAndCreatedAtGreaterThanEqual(id, shopId, since);
     }
 
     private String normalizeShopId(String shopId) {
@@ -153,7 +302,7 @@ public class NotificationService {
         }
     }
 
-    private NotificationResponse toResponse(NotificationEntity entity) {
+    public NotificationResponse toResponse(NotificationEntity entity) {
         return new NotificationResponse(
                 entity.getId(),
                 entity.getShopId(),
@@ -161,6 +310,24 @@ public class NotificationService {
                 entity.getMessage(),
                 entity.getType().name(),
                 entity.isRead(),
-                entity.getCreatedAt());
+                entity.getCreatedAt(),
+                entity.getOccurrenceCount(),
+                entity.getReferenceIds(),
+                NotificationScope.SHOP.name());
+    }
+
+    /** @param shopId the shop the broadcast is shown to, or {@code null} */
+    private NotificationResponse toResponse(BroadcastNotificationEntity entity, String shopId, boolean isRead) {
+        return new NotificationResponse(
+                entity.getId(),
+                shopId,
+                entity.getTitle(),
+                entity.getMessage(),
+                entity.getType().name(),
+                isRead,
+                entity.getCreatedAt(),
+                1,
+                List.of(),
+                NotificationScope.BROADCAST.name());
     }
 }
@@ -0,0 +1,74 @@
+package com.luxegem.invoice.service;
+
+import com.luxegem.invoice.entity.ConsumerOffsetEntity;
+import com.luxegem.invoice.model.DomainEvent;
+import com.luxegem.invoice.repository.ConsumerOffsetRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Polls the outbox and hands batches of events to each {@link DomainEventConsumer}
+ * off the request thread. A consumer's offset is advanced in the same transaction
+ * as its handler, so a failed batch is simply retried on the next tick.
+ */
+@Component
+public class OutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final OutboxService outboxService;
+    private final ConsumerOffsetRepository consumerOffsetRepository;
+    private final List<DomainEventConsumer> consumers;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public OutboxRelay(
+            OutboxService outboxService,
+            ConsumerOffsetRepository consumerOffsetRepository,
+            List<DomainEventConsumer> consumers,
+            PlatformTransactionManager transactionManager,
+            @Value("${outbox.relay.batch-size:200}") int batchSize) {
+        this.outboxService = outboxService;
+        this.consumerOffsetRepository = consumerOffsetRepository;
+        this.consumers = consumers;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay.interval-ms:1000}")
+    public void relay() {
+        for (DomainEventConsumer consumer : consumers) {
+            try {
+                drain(consumer);
+            } catch (Exception e) {
+                logger.error("Outbox consumer {} failed, will retry: {}", consumer.name(), e.getMessage());
+            }
+        }
+    }
+
+    private void drain(DomainEventConsumer consumer) {
+        boolean more = true;
+        while (more) {
+            Integer delivered = transactionTemplate.execute(status -> {
+                ConsumerOffsetEntity offset = consumerOffsetRepository.findById(consumer.name())
+                        .orElseGet(() -> new ConsumerOffsetEntity(consumer.name()));
+                List<DomainEvent> batch = outboxService.readAfter(offset.getLastEventId(), batchSize);
+                if (batch.isEmpty()) {
+                    return 0;
+                }
+                consumer.handle(batch);
+                offset.setLastEventId(batch.get(batch.size() - 1).id());
+                consumerOffsetRepository.save(offset);
+                return batch.size();
+            });
+            more = delivered != null && delivered == batchSize;
+        }
+    }
+}
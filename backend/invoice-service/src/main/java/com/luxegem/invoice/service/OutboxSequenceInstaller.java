@@ -0,0 +1,113 @@
+package com.luxegem.invoice.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Installs the commit-ordered sequence of {@code outbox_events}. A deferred
+ * constraint trigger numbers a transaction's events while it commits, under
+ * a transaction-scoped advisory lock that is released only once the commit is
+ * visible. A reader that sees {@code commit_seq} n therefore already sees
+ * every event numbered below n, however long the writing transactions ran,
+ * and consumers can resume after the last number they processed without
+ * skipping late commits. The lock is held for the numbering only, not for
+ * the life of the writing transaction.
+ *
+ * <p>Relies on READ COMMITTED, the default, so the numbering statement sees
+ * the previous lock holder's commit.
+ */
+@Component
+@Order(40)
+public class OutboxSequenceInstaller implements CommandLineRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxSequenceInstaller.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public OutboxSequenceInstaller(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void run(String... args) {
+        transactionTemplate.executeWithoutResult(status -> install());
+    }
+
+    private void install() {
+        jdbcTemplate.execute("ALTER TABLE outbox_events ADD COLUMN IF NOT EXISTS commit_seq bigint");
+        jdbcTemplate.execute(
+                "CREATE UNIQUE INDEX IF NOT EXISTS idx_outbox_events_commit_seq ON outbox_events (commit_seq)");
+        jdbcTemplate.execute(
+                "CREATE INDEX IF NOT EXISTS idx_outbox_events_unnumbered ON outbox_events (id) WHERE commit_seq IS NULL");
+        jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS outbox_commit_seq");
+        // Numbers the caller's unnumbered events, oldest first. Needs the advisory lock held.
+        jdbcTemplate.execute("""
+                CREATE OR REPLACE FUNCTION number_pending_outbox_events() RETURNS integer
+                LANGUAGE plpgsql AS $$
+                DECLARE
+                    pending integer;
+                    last bigint;
+                BEGIN
+                    SELECT count(*) INTO pending FROM outbox_events WHERE commit_seq IS NULL;
+                    IF pending = 0 THEN
+                        RETURN 0;
+                    END IF;
+                    last := nextval('outbox_commit_seq') - 1;
+                    PERFORM setval('outbox_commit_seq', last + pending);
+                    UPDATE outbox_events o SET commit_seq = last + p.rn
+                    FROM (SELECT id, row_number() OVER (ORDER BY id) AS rn
+                          FROM outbox_events WHERE commit_seq IS NULL) p
+                    WHERE o.id = p.id;
+                    RETURN pending;
+                END
+                $$
+                """);
+        jdbcTemplate.execute("""
+                CREATE OR REPLACE FUNCTION number_outbox_events() RETURNS trigger
+                LANGUAGE plpgsql AS $$
+                BEGIN
+                    -- The first event of the transaction numbers them all; the rest find theirs done.
+                    IF EXISTS (SELECT 1 FROM outbox_events WHERE id = NEW.id AND commit_seq IS NULL) THEN
+                        PERFORM pg_advisory_xact_lock(hashtext('outbox_events.commit_seq'));
+                        PERFORM number_pending_outbox_events();
+                    END IF;
+                    RETURN NULL;
+                END
+                $$
+                """);
+        // Constraint triggers cannot be replaced in place.
+        jdbcTemplate.execute("DROP TRIGGER IF EXISTS trg_outbox_events_commit_seq ON outbox_events");
+        jdbcTemplate.execute("""
+                CREATE CONSTRAINT TRIGGER trg_outbox_events_commit_seq AFTER INSERT ON outbox_events
+                DEFERRABLE INITIALLY DEFERRED
+                FOR EACH ROW EXECUTE FUNCTION number_outbox_events()
+                """);
+
+        jdbcTemplate.execute("SELECT pg_advisory_xact_lock(hashtext('outbox_events.commit_seq'))");
+        Boolean numbered = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM outbox_events WHERE commit_seq IS NOT NULL)", Boolean.class);
+        int backfilled = 0;
+        if (!Boolean.TRUE.equals(numbered)) {
+            // Before the first install consumer offsets are event ids, so existing events keep their id.
+            backfilled = jdbcTemplate.update("UPDATE outbox_events SET commit_seq = id WHERE commit_seq IS NULL");
+        }
+        // Never hand out a number at or below one already used, even if those events were deleted since.
+        jdbcTemplate.queryForObject("""
+                SELECT setval('outbox_commit_seq', greatest(
+                    (SELECT coalesce(max(commit_seq), 0) FROM outbox_events),
+                    (SELECT CASE WHEN is_called THEN last_value ELSE 0 END FROM outbox_commit_seq), 1))
+                """, Long.class);
+        backfilled += jdbcTemplate.queryForObject("SELECT number_pending_outbox_events()", Integer.class);
+        if (backfilled > 0) {
+            logger.info("Assigned commit sequence to {} existing outbox events", backfilled);
+        }
+    }
+}
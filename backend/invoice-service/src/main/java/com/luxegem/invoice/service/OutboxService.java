@@ -0,0 +1,165 @@
+package com.luxegem.invoice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.luxegem.invoice.entity.InventoryEntity;
+import com.luxegem.invoice.entity.InvoiceEntity;
+import com.luxegem.invoice.entity.OutboxEventEntity;
+import com.luxegem.invoice.model.DomainEvent;
+import com.luxegem.invoice.model.DomainEventType;
+import com.luxegem.invoice.repository.OutboxEventRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Appends domain events to the outbox. Appends must join the caller's
+ * transaction so the event commits (or rolls back) together with the entity.
+ */
+@Service
+public class OutboxService {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public OutboxService(OutboxEventRepository outboxEventRepository, JdbcTemplate jdbcTemplate,
+            ObjectMapper objectMapper) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void invoiceCreated(InvoiceEntity invoice) {
+        append(DomainEventType.INVOICE_CREATED, invoice.getInvoiceId(), invoice.getShopId(), invoicePayload(invoice));
+    }
+
+    /**
+     * INVOICE_CREATED events for invoices inserted outside JPA (bulk ingestion).
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void invoicesCreated(List<InvoiceEntity> invoices) {
+        appendBatch(DomainEventType.INVOICE_CREATED, invoices.stream()
+                .map(invoice -> new PendingEvent(invoice.getInvoiceId(), invoice.getShopId(), invoicePayload(invoice)))
+                .toList());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void invoiceStatusChanged(InvoiceEntity invoice, String previousStatus) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("invoiceId", invoice.getInvoiceId());
+        payload.put("previousStatus", previousStatus);
+        payload.put("status", invoice.getStatus());
+        payload.put("type", invoice.getType());
+        payload.put("amount", invoice.getAmount());
+        append(DomainEventType.INVOICE_STATUS_CHANGED, invoice.getInvoiceId(), invoice.getShopId(), payload);
+    }
+
+    /**
+     * @param delta  signed change in stock quantity
+     * @param reason CREATED, SOLD or ADJUSTED
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void stockChanged(InventoryEntity item, int delta, String reason) {
+        append(DomainEventType.STOCK_CHANGED, item.getItemCode(), item.getShopId(), stockPayload(item, delta, reason));
+    }
+
+    /**
+     * CREATED stock events for rows that were inserted outside JPA (bulk import).
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void stockCreated(List<InventoryEntity> items) {
+        appendBatch(DomainEventType.STOCK_CHANGED, items.stream()
+                .map(item -> new PendingEvent(item.getItemCode(), item.getShopId(),
+                        stockPayload(item, item.getStockQuantity(), "CREATED")))
+                .toList());
+    }
+
+    private Map<String, Object> invoicePayload(InvoiceEntity invoice) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("invoiceId", invoice.getInvoiceId());
+        payload.put("customer", invoice.getCustomer());
+        payload.put("type", invoice.getType());
+        payload.put("status", invoice.getStatus());
+        payload.put("amount", invoice.getAmount());
+        payload.put("issueDate", invoice.getIssueDate() != null ? invoice.getIssueDate().toString() : null);
+        payload.put("items", invoice.getItems());
+        return payload;
+    }
+
+    private Map<String, Object> stockPayload(InventoryEntity item, int delta, String reason) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("itemCode", item.getItemCode());
+        payload.put("itemName", item.getItemName());
+        payload.put("category", item.getCategory());
+        payload.put("metalType", item.getMetalType());
+        payload.put("purity", item.getPurity());
+        payload.put("grossWeight", item.getGrossWeight());
+        payload.put("netWeight", item.getNetWeight());
+        payload.put("ratePerGram", item.getRatePerGram());
+        payload.put("delta", delta);
+        payload.put("stockQuantity", item.getStockQuantity());
+        payload.put("reason", reason);
+        return payload;
+    }
+
+    /**
+     * Committed events after commit sequence {@code afterSeq}, in commit order. Every event numbered
+     * below the last one returned is already visible, so consumers can resume after it.
+     */
+    @Transactional(readOnly = true)
+    public List<DomainEvent> readAfter(long afterSeq, int limit) {
+        return outboxEventRepository.findByCommitSeqGreaterThanOrderByCommitSeqAsc(afterSeq, PageRequest.of(0, limit))
+                .stream()
+                .map(this::toEvent)
+                .toList();
+    }
+
+    private void append(DomainEventType type, String aggregateId, String shopId, Map<String, Object> payload) {
+        outboxEventRepository.save(new OutboxEventEntity(type, aggregateId, shopId, payload));
+    }
+
+    private record PendingEvent(String aggregateId, String shopId, Map<String, Object> payload) {
+    }
+
+    /** Appends many events with one JDBC batch instead of one insert per event. */
+    private void appendBatch(DomainEventType type, List<PendingEvent> events) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(events.size());
+        for (PendingEvent event : events) {
+            rows.add(new Object[] { type.name(), event.aggregateId(), event.shopId(), toJson(event.payload()), now });
+        }
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO outbox_events (event_type, aggregate_id, shop_id, payload, created_at)
+                VALUES (?, ?, ?, CAST(? AS jsonb), ?)
+                """, rows);
+    }
+
+    private String toJson(Map<String, Object> payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize event payload", e);
+        }
+    }
+
+    private DomainEvent toEvent(OutboxEventEntity entity) {
+        return new DomainEvent(
+                entity.getCommitSeq(),
+                entity.getEventType(),
+                entity.getAggregateId(),
+                entity.getShopId(),
+                entity.getPayload(),
+                entity.getCreatedAt());
+    }
+}
@@ -0,0 +1,202 @@
+package com.luxegem.invoice.service;
+
+import com.luxegem.invoice.entity.InventoryEntity;
+import com.luxegem.invoice.model.Money;
+import com.luxegem.invoice.model.QuoteLineRequest;
+import com.luxegem.invoice.model.QuotePageResponse;
+import com.luxegem.invoice.model.QuoteResponse;
+import com.luxegem.invoice.model.QuotedLine;
+import com.luxegem.invoice.repository.InventoryRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Prices carts and catalogue pages at the current market rate: weight x live
+ * rate per gram x quantity, plus making charge, plus GST from the
+ * {@link TaxEngine}. Rates and tax rules are both read from memory, and every
+ * line of a quote is priced against the same rate table version. Items whose
+ * metal and purity the market does not quote are priced at their stocked rate.
+ */
+@Service
+public class QuoteService {
+
+    private static final int MAX_PAGE_SIZE = 200;
+
+    private final InventoryRepository inventoryRepository;
+    private final LiveRateService liveRateService;
+    private final TaxEngine taxEngine;
+    private final int maxLines;
+
+    public QuoteService(InventoryRepository inventoryRepository, LiveRateService liveRateService,
+            TaxEngine taxEngine, @Value("${quotes.max-lines:5000}") int maxLines) {
+        this.inventoryRepository = inventoryRepository;
+        this.liveRateService = liveRateService;
+        this.taxEngine = taxEngine;
+        this.maxLines = maxLines;
+    }
+
+    /**
+     * Lines naming inventory items are resolved with a single query; lines that
+     * carry their own metal, purity and weight need none.
+     */
+    public QuoteResponse quote(String shopId, List<QuoteLineRequest> requests) {
+        if (requests.size() > maxLines) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At most " + maxLines + " lines per quote");
+        }
+        Map<String, InventoryEntity> items = loadItems(shopId, requests);
+        List<Line> lines = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            lines.add(resolve(i, requests.get(i), items));
+        }
+
+        LiveRates rates = liveRateService.current();
+        Priced priced = price(lines, rates);
+        return new QuoteResponse(rates.version(), rates.changedAt(), priced.lines(),
+                Money.toDouble(priced.batch().totalTaxablePaise()), Money.toDouble(priced.batch().totalTaxPaise()),
+                Money.toDouble(priced.batch().totalTaxablePaise() + priced.batch().totalTaxPaise()));
+    }
+
+    /**
+     * One page of the shop's catalogue priced for a single piece each.
+     */
+    public QuotePageResponse quoteCatalogue(String shopId, String category, int page, int size) {
+        int safeSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        Page<InventoryEntity> result = inventoryRepository.findCatalogue(shopId, category, null,
+                PageRequest.of(Math.max(page, 0), safeSize, Sort.by("itemCode")));
+        List<Line> lines = new ArrayList<>(result.getNumberOfElements());
+        for (InventoryEntity item : result.getContent()) {
+            lines.add(fromItem(item, 1));
+        }
+
+        LiveRates rates = liveRateService.current();
+        return new QuotePageResponse(rates.version(), rates.changedAt(), price(lines, rates).lines(),
+                result.getNumber(), result.getSize(), result.getTotalElements(), result.getTotalPages());
+    }
+
+    private Map<String, InventoryEntity> loadItems(String shopId, List<QuoteLineRequest> requests) {
+        Set<String> codes = new HashSet<>();
+        for (QuoteLineRequest request : requests) {
+            if (request.itemCode() != null && !request.itemCode().isBlank()) {
+                codes.add(request.itemCode());
+            }
+        }
+        Map<String, InventoryEntity> items = new HashMap<>();
+        if (!codes.isEmpty()) {
+            inventoryRepository.findByShopIdAndItemCodeIn(shopId, codes)
+                    .forEach(item -> items.put(item.getItemCode(), item));
+        }
+        return items;
+    }
+
+    private static Line resolve(int index, QuoteLineRequest request, Map<String, InventoryEntity> items) {
+        int quantity = request.quantity() == null ? 1 : request.quantity();
+        Line line;
+        if (request.itemCode() != null && !request.itemCode().isBlank()) {
+            InventoryEntity item = items.get(request.itemCode());
+            if (item == null) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Line " + (index + 1) + ": unknown item " + request.itemCode());
+            }
+            line = fromItem(item, quantity);
+        } else {
+            line = new Line(null, null, null, null, null, 0, Money.ZERO, -1, quantity);
+        }
+        line = new Line(
+                line.itemCode(),
+                request.metalType() != null ? request.metalType() : line.metal(),
+                request.purity() != null ? request.purity() : line.purity(),
+                request.category() != null ? request.category() : line.category(),
+                request.hsnCode() != null ? request.hsnCode() : line.hsnCode(),
+                request.weightGrams() != null ? Money.milligrams(BigDecimal.valueOf(request.weightGrams()))
+                        : line.weightMilligrams(),
+                request.makingCharge() != null ? Money.of(request.makingCharge()) : line.makingPaise(),
+                line.stockedRatePaise(),
+                quantity);
+        if (line.metal() == null || line.purity() == null
+                || (line.itemCode() == null && request.weightGrams() == null)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Line " + (index + 1) + ": give an item code, or metal type, purity and weight");
+        }
+        return line;
+    }
+
+    private static Line fromItem(InventoryEntity item, int quantity) {
+        return new Line(
+                item.getItemCode(),
+                item.getMetalType(),
+                item.getPurity(),
+                item.getCategory(),
+                item.getHsnCode(),
+                Money.milligrams(item.getGrossWeight()),
+                Money.of(item.getMakingCharge()),
+                item.getRatePerGram() == null ? -1 : Money.of(item.getRatePerGram()),
+                quantity);
+    }
+
+    private Priced price(List<Line> lines, LiveRates rates) {
+        TaxBatch batch = new TaxBatch(lines.size());
+        long[] ratePaise = new long[lines.size()];
+        long[] metalPaise = new long[lines.size()];
+        long[] makingPaise = new long[lines.size()];
+        boolean[] live = new boolean[lines.size()];
+        String[] types = new String[lines.size()];
+
+        for (int i = 0; i < lines.size(); i++) {
+            Line line = lines.get(i);
+            long liveRate = rates.paisePerGram(line.metal(), line.purity());
+            live[i] = liveRate >= 0;
+            ratePaise[i] = live[i] ? liveRate : line.stockedRatePaise();
+            if (ratePaise[i] < 0) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Line " + (i + 1) + ": no rate for "
+                        + line.metal() + " " + line.purity());
+            }
+            types[i] = (line.metal() + "_" + line.purity()).toUpperCase(Locale.ROOT);
+            metalPaise[i] = Money.lineValue(line.weightMilligrams(), ratePaise[i], line.quantity());
+            makingPaise[i] = Money.times(line.makingPaise(), line.quantity());
+            batch.add(line.hsnCode(), line.category(), types[i], metalPaise[i] + makingPaise[i]);
+        }
+        taxEngine.apply(batch);
+
+        List<QuotedLine> quoted = new ArrayList<>(lines.size());
+        for (int i = 0; i < lines.size(); i++) {
+            Line line = lines.get(i);
+            quoted.add(new QuotedLine(
+                    line.itemCode(),
+                    types[i],
+                    line.weightMilligrams() / 1000.0,
+                    line.quantity(),
+                    Money.toDouble(ratePaise[i]),
+                    live[i] ? "LIVE" : "STOCKED",
+                    Money.toDouble(metalPaise[i]),
+                    Money.toDouble(makingPaise[i]),
+                    batch.rateBasisPoints(i) / 100.0,
+                    Money.toDouble(batch.taxPaise(i)),
+                    Money.toDouble(batch.taxablePaise(i) + batch.taxPaise(i))));
+        }
+        return new Priced(quoted, batch);
+    }
+
+    /**
+     * @param stockedRatePaise the item's own rate per gram, or -1
+     */
+    private record Line(String itemCode, String metal, String purity, String category, String hsnCode,
+            long weightMilligrams, long makingPaise, long stockedRatePaise, int quantity) {
+    }
+
+    private record Priced(List<QuotedLine> lines, TaxBatch batch) {
+    }
+}
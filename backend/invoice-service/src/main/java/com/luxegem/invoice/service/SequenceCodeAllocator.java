@@ -0,0 +1,79 @@
+package com.luxegem.invoice.service;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Hands out human-readable codes ({@code PREFIX + number}) from a database
+ * sequence. A block of codes costs one round trip, and codes are never reused
+ * even if the transaction that drew them rolls back.
+ */
+abstract class SequenceCodeAllocator {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate ddlTransaction;
+    private final String sequence;
+    private final String table;
+    private final String column;
+    private final String prefix;
+    private final String numberFormat;
+    private volatile boolean sequenceReady;
+
+    SequenceCodeAllocator(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+            String sequence, String table, String column, String prefix, String numberFormat) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.ddlTransaction = new TransactionTemplate(transactionManager);
+        this.ddlTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.sequence = sequence;
+        this.table = table;
+        this.column = column;
+        this.prefix = prefix;
+        this.numberFormat = numberFormat;
+    }
+
+    public String next() {
+        return allocate(1).get(0);
+    }
+
+    public List<String> allocate(int count) {
+        if (count <= 0) {
+            return List.of();
+        }
+        ensureSequence();
+        return jdbcTemplate.queryForList(
+                "SELECT nextval('" + sequence + "') FROM generate_series(1, ?)", Long.class, count)
+                .stream()
+                .map(value -> prefix + String.format(numberFormat, value))
+                .toList();
+    }
+
+    /**
+     * Creates the sequence on first use and moves it past every code already in
+     * the table, including codes handed out before the sequence existed.
+     */
+    private void ensureSequence() {
+        if (sequenceReady) {
+            return;
+        }
+        synchronized (this) {
+            if (sequenceReady) {
+                return;
+            }
+            ddlTransaction.executeWithoutResult(status -> {
+                jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS " + sequence);
+                jdbcTemplate.queryForObject("""
+                        SELECT setval('%1$s', GREATEST(
+                            (SELECT coalesce(max(substring(%2$s FROM ?)::bigint), 0) FROM %3$s),
+                            (SELECT CASE WHEN is_called THEN last_value ELSE 0 END FROM %1$s),
+                            1))
+                        """.formatted(sequence, column, table),
+                        Long.class, "^" + prefix.replaceAll("([^A-Za-z0-9])", "\\\\$1") + "([0-9]+)$");
+            });
+            sequenceReady = true;
+        }
+    }
+}
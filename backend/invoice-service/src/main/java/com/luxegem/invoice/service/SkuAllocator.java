@@ -0,0 +1,16 @@
+package com.luxegem.invoice.service;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Inventory item codes ({@code AJ-INV-0042}).
+ */
+@Component
+public class SkuAllocator extends SequenceCodeAllocator {
+
+    public SkuAllocator(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        super(jdbcTemplate, transactionManager, "inventory_sku_seq", "inventory", "item_code", "AJ-INV-", "%04d");
+    }
+}
@@ -0,0 +1,81 @@
+package com.luxegem.invoice.service;
+
+import com.luxegem.invoice.model.Money;
+
+/**
+ * The lines of one or more invoices, laid out in parallel arrays so that
+ * {@link TaxEngine#apply} can price them all in a single pass without
+ * allocating anything per line. Amounts are in paise.
+ */
+public final class TaxBatch {
+
+    private final String[] hsnCodes;
+    private final String[] categories;
+    private final String[] types;
+    private final long[] taxable;
+    private final int[] rates;
+    private final long[] taxes;
+    private int size;
+
+    public TaxBatch(int capacity) {
+        this.hsnCodes = new String[capacity];
+        this.categories = new String[capacity];
+        this.types = new String[capacity];
+        this.taxable = new long[capacity];
+        this.rates = new int[capacity];
+        this.taxes = new long[capacity];
+    }
+
+    /**
+     * @return the index of the line
+     */
+    public int add(String hsnCode, String category, String type, long taxablePaise) {
+        hsnCodes[size] = hsnCode;
+        categories[size] = category;
+        types[size] = type;
+        taxable[size] = taxablePaise;
+        return size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long taxablePaise(int line) {
+        return taxable[line];
+    }
+
+    /** GST rate of the line in basis points (3% = 300); set by {@link TaxEngine#apply}. */
+    public int rateBasisPoints(int line) {
+        return rates[line];
+    }
+
+    /** Tax on the line, rounded half up to the paisa; set by {@link TaxEngine#apply}. */
+    public long taxPaise(int line) {
+        return taxes[line];
+    }
+
+    public long totalTaxablePaise() {
+        long total = 0;
+        for (int i = 0; i < size; i++) {
+            total += taxable[i];
+        }
+        return total;
+    }
+
+    public long totalTaxPaise() {
+        long total = 0;
+        for (int i = 0; i < size; i++) {
+            total += taxes[i];
+        }
+        return total;
+    }
+
+    void apply(TaxRuleTable table) {
+        for (int i = 0; i < size; i++) {
+            int rate = table.rateFor(hsnCodes[i], categories[i], types[i]);
+            rates[i] = rate;
+            taxes[i] = Money.basisPoints(taxable[i], rate);
+        }
+    }
+}
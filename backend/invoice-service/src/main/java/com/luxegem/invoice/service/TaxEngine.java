@@ -0,0 +1,81 @@
+package com.luxegem.invoice.service;
+
+import com.luxegem.invoice.entity.TaxRuleEntity;
+import com.luxegem.invoice.repository.TaxRuleRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * The one place GST rates come from. Rules are compiled into an immutable
+ * {@link TaxRuleTable} at startup and again whenever they change (right away
+ * for changes made through this instance, within a minute for changes made
+ * elsewhere); readers always see a complete table and never take a lock.
+ */
+@Service
+public class TaxEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaxEngine.class);
+
+    private static final String FINGERPRINT =
+            "SELECT count(*) || '@' || coalesce(max(updated_at)::text, '') FROM tax_rules";
+
+    private final TaxRuleRepository taxRuleRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private volatile TaxRuleTable table = TaxRuleTable.EMPTY;
+
+    public TaxEngine(TaxRuleRepository taxRuleRepository, JdbcTemplate jdbcTemplate) {
+        this.taxRuleRepository = taxRuleRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    void load() {
+        if (taxRuleRepository.count() == 0) {
+            taxRuleRepository.saveAll(List.of(
+                    new TaxRuleEntity(null, null, null, new BigDecimal("3.00"),
+                            "Jewellery, bullion and articles of precious metal"),
+                    new TaxRuleEntity("7102", null, null, new BigDecimal("0.25"),
+                            "Diamonds, cut and polished"),
+                    new TaxRuleEntity("7103", null, null, new BigDecimal("0.25"),
+                            "Precious and semi-precious stones, cut and polished")));
+        }
+        reload();
+    }
+
+    /** Recompiles the rule table from the database. */
+    public void reload() {
+        String fingerprint = jdbcTemplate.queryForObject(FINGERPRINT, String.class);
+        TaxRuleTable compiled = TaxRuleTable.compile(taxRuleRepository.findAll(), fingerprint);
+        table = compiled;
+        logger.info("Compiled {} tax rules ({})", compiled.size(), fingerprint);
+    }
+
+    /** Picks up rules changed by another instance. */
+    @Scheduled(fixedDelayString = "${tax.rules.refresh-ms:60000}")
+    public void reloadIfChanged() {
+        String fingerprint = jdbcTemplate.queryForObject(FINGERPRINT, String.class);
+        if (!table.fingerprint().equals(fingerprint)) {
+            reload();
+        }
+    }
+
+    /**
+     * @param type line type such as {@code GOLD_22K}
+     * @return the GST rate in basis points (3% = 300)
+     */
+    public int rateBasisPoints(String hsnCode, String category, String type) {
+        return table.rateFor(hsnCode, category, type);
+    }
+
+    /** Sets the rate and tax of every line in the batch, all against the same rule table. */
+    public void apply(TaxBatch batch) {
+        batch.apply(table);
+    }
+}
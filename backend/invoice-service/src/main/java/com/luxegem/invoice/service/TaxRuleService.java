@@ -0,0 +1,135 @@
+package com.luxegem.invoice.service;
+
+import com.luxegem.invoice.entity.TaxRuleEntity;
+import com.luxegem.invoice.model.TaxRuleRequest;
+import com.luxegem.invoice.model.TaxRuleResponse;
+import com.luxegem.invoice.repository.TaxRuleRepository;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Maintains the GST rules behind {@link TaxEngine}. Every change is committed
+ * first and then recompiled into the engine, so billing never sees a rule that
+ * was rolled back.
+ */
+@Service
+public class TaxRuleService {
+
+    private final TaxRuleRepository taxRuleRepository;
+    private final TaxEngine taxEngine;
+    private final TransactionTemplate transactionTemplate;
+
+    public TaxRuleService(TaxRuleRepository taxRuleRepository, TaxEngine taxEngine,
+            PlatformTransactionManager transactionManager) {
+        this.taxRuleRepository = taxRuleRepository;
+        this.taxEngine = taxEngine;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public List<TaxRuleResponse> list() {
+        return taxRuleRepository.findAll(Sort.by("hsnCode", "category", "metalType")).stream()
+                .map(TaxRuleService::toResponse)
+                .toList();
+    }
+
+    public TaxRuleResponse create(String role, TaxRuleRequest request) {
+        requireAdmin(role);
+        TaxRuleResponse created = transactionTemplate.execute(status -> {
+            TaxRuleEntity rule = new TaxRuleEntity();
+            apply(rule, request);
+            return toResponse(taxRuleRepository.save(rule));
+        });
+        taxEngine.reload();
+        return created;
+    }
+
+    public TaxRuleResponse update(String role, Long id, TaxRuleRequest request) {
+        requireAdmin(role);
+        TaxRuleResponse updated = transactionTemplate.execute(status -> {
+            TaxRuleEntity rule = taxRuleRepository.findById(id)
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Tax rule not found"));
+            apply(rule, request);
+            return toResponse(taxRuleRepository.save(rule));
+        });
+        taxEngine.reload();
+        return updated;
+    }
+
+    public void delete(String role, Long id) {
+        requireAdmin(role);
+        transactionTemplate.executeWithoutResult(status -> {
+            TaxRuleEntity rule = taxRuleRepository.findById(id)
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Tax rule not found"));
+            if (isDefault(rule)) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "The default rate cannot be removed");
+            }
+            taxRuleRepository.delete(rule);
+        });
+        taxEngine.reload();
+    }
+
+    private void apply(TaxRuleEntity rule, TaxRuleRequest request) {
+        String hsnCode = trimToNull(request.hsnCode());
+        String category = trimToNull(request.category());
+        String metalType = trimToNull(request.metalType());
+        if (hsnCode != null && (category != null || metalType != null)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "A rule matches either an HSN code or a category and/or metal, not both");
+        }
+        if (request.ratePercent().stripTrailingZeros().scale() > 2) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "ratePercent has at most two decimals");
+        }
+
+        String normalizedMetal = metalType == null ? null : metalType.toUpperCase(Locale.ROOT);
+        boolean duplicate = taxRuleRepository.findAll().stream()
+                .filter(other -> !Objects.equals(other.getId(), rule.getId()))
+                .anyMatch(other -> Objects.equals(trimToNull(other.getHsnCode()), hsnCode)
+                        && equalsIgnoreCase(trimToNull(other.getCategory()), category)
+                        && equalsIgnoreCase(trimToNull(other.getMetalType()), normalizedMetal));
+        if (duplicate) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "A rule with the same criteria already exists");
+        }
+        if (rule.getId() != null && isDefault(rule) && (hsnCode != null || category != null || metalType != null)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "The default rate cannot be narrowed");
+        }
+
+        rule.setHsnCode(hsnCode);
+        rule.setCategory(category);
+        rule.setMetalType(normalizedMetal);
+        rule.setRatePercent(request.ratePercent().setScale(2));
+        rule.setDescription(trimToNull(request.description()));
+    }
+
+    private static boolean isDefault(TaxRuleEntity rule) {
+        return trimToNull(rule.getHsnCode()) == null && trimToNull(rule.getCategory()) == null
+                && trimToNull(rule.getMetalType()) == null;
+    }
+
+    private static void requireAdmin(String role) {
+        if (role == null || !role.equalsIgnoreCase("admin")) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Only admins can change tax rules");
+        }
+    }
+
+    private static boolean equalsIgnoreCase(String a, String b) {
+        return a == null ? b == null : a.equalsIgnoreCase(b);
+    }
+
+    private static String trimToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    private static TaxRuleResponse toResponse(TaxRuleEntity rule) {
+        return new TaxRuleResponse(rule.getId(), rule.getHsnCode(), rule.getCategory(), rule.getMetalType(),
+                rule.getRatePercent(), rule.getDescription(), rule.getUpdatedAt());
+    }
+}
@@ -0,0 +1,137 @@
+package com.luxegem.invoice.service;
+
+import com.luxegem.invoice.entity.TaxRuleEntity;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Tax rules compiled into flat, immutable lookup structures. Rates are held in
+ * basis points (3% = 300). Lookups compare against the caller's strings in
+ * place (prefix and case-insensitive matches), so resolving a line allocates
+ * nothing.
+ *
+ * <p>The most specific rule wins: HSN code (longest matching prefix), then
+ * category and metal, then category, then metal, then the default rule.
+ * Metal rules match the line type by prefix, so {@code GOLD} covers
+ * {@code GOLD_22K} while a {@code GOLD_24K} rule takes precedence over it.
+ */
+final class TaxRuleTable {
+
+    static final TaxRuleTable EMPTY = compile(List.of(), "empty");
+
+    private final String fingerprint;
+    private final String[] hsnPrefixes;
+    private final int[] hsnRates;
+    private final String[] pairCategories;
+    private final String[] pairMetals;
+    private final int[] pairRates;
+    private final NavigableMap<String, Integer> categoryRates;
+    private final String[] metals;
+    private final int[] metalRates;
+    private final int defaultRate;
+
+    private TaxRuleTable(String fingerprint, List<Rule> hsn, List<Rule> pairs, List<Rule> categories,
+            List<Rule> metalRules, int defaultRate) {
+        this.fingerprint = fingerprint;
+        this.hsnPrefixes = hsn.stream().map(Rule::hsnCode).toArray(String[]::new);
+        this.hsnRates = hsn.stream().mapToInt(Rule::rate).toArray();
+        this.pairCategories = pairs.stream().map(Rule::category).toArray(String[]::new);
+        this.pairMetals = pairs.stream().map(Rule::metal).toArray(String[]::new);
+        this.pairRates = pairs.stream().mapToInt(Rule::rate).toArray();
+        NavigableMap<String, Integer> byCategory = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        categories.forEach(rule -> byCategory.put(rule.category(), rule.rate()));
+        this.categoryRates = Collections.unmodifiableNavigableMap(byCategory);
+        this.metals = metalRules.stream().map(Rule::metal).toArray(String[]::new);
+        this.metalRates = metalRules.stream().mapToInt(Rule::rate).toArray();
+        this.defaultRate = defaultRate;
+    }
+
+    private record Rule(String hsnCode, String category, String metal, int rate) {
+    }
+
+    static TaxRuleTable compile(List<TaxRuleEntity> entities, String fingerprint) {
+        List<Rule> hsn = new ArrayList<>();
+        List<Rule> pairs = new ArrayList<>();
+        List<Rule> categories = new ArrayList<>();
+        List<Rule> metalRules = new ArrayList<>();
+        int defaultRate = 0;
+        for (TaxRuleEntity entity : entities) {
+            Rule rule = new Rule(blankToNull(entity.getHsnCode()), blankToNull(entity.getCategory()),
+                    blankToNull(entity.getMetalType()), entity.getRatePercent().movePointRight(2).intValueExact());
+            if (rule.hsnCode() != null) {
+                hsn.add(rule);
+            } else if (rule.category() != null && rule.metal() != null) {
+                pairs.add(rule);
+            } else if (rule.category() != null) {
+                categories.add(rule);
+            } else if (rule.metal() != null) {
+                metalRules.add(rule);
+            } else {
+                defaultRate = rule.rate();
+            }
+        }
+        // Longest key first, so the first match is the most specific one.
+        hsn.sort(Comparator.comparingInt((Rule rule) -> rule.hsnCode().length()).reversed());
+        pairs.sort(Comparator.comparingInt((Rule rule) -> rule.metal().length()).reversed());
+        metalRules.sort(Comparator.comparingInt((Rule rule) -> rule.metal().length()).reversed());
+        return new TaxRuleTable(fingerprint, hsn, pairs, categories, metalRules, defaultRate);
+    }
+
+    String fingerprint() {
+        return fingerprint;
+    }
+
+    int size() {
+        return hsnPrefixes.length + pairCategories.length + categoryRates.size() + metals.length + 1;
+    }
+
+    /**
+     * @param type line type such as {@code GOLD_22K}; matched against metal rules by prefix
+     * @return the GST rate in basis points
+     */
+    int rateFor(String hsnCode, String category, String type) {
+        if (hsnCode != null) {
+            for (int i = 0; i < hsnPrefixes.length; i++) {
+                if (hsnCode.startsWith(hsnPrefixes[i])) {
+                    return hsnRates[i];
+                }
+            }
+        }
+        if (category != null) {
+            if (type != null) {
+                for (int i = 0; i < pairCategories.length; i++) {
+                    if (pairCategories[i].equalsIgnoreCase(category) && isMetal(type, pairMetals[i])) {
+                        return pairRates[i];
+                    }
+                }
+            }
+            Integer rate = categoryRates.get(category);
+            if (rate != null) {
+                return rate;
+            }
+        }
+        if (type != null) {
+            for (int i = 0; i < metals.length; i++) {
+                if (isMetal(type, metals[i])) {
+                    return metalRates[i];
+                }
+            }
+        }
+        return defaultRate;
+    }
+
+    /** {@code GOLD} matches {@code GOLD} and {@code GOLD_22K} but not {@code GOLDEN}. */
+    private static boolean isMetal(String type, String metal) {
+        return type.regionMatches(true, 0, metal, 0, metal.length())
+                && (type.length() == metal.length() || type.charAt(metal.length()) == '_');
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+}
@@ -0,0 +1,70 @@
+package com.luxegem.invoice.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MoneyTest {
+
+    @Test
+    void roundsHalfAPaisaAwayFromZero() {
+        assertThat(Money.of(new BigDecimal("10.005"))).isEqualTo(1001);
+        assertThat(Money.of(new BigDecimal("10.0049"))).isEqualTo(1000);
+        assertThat(Money.of(new BigDecimal("-10.005"))).isEqualTo(-1001);
+        assertThat(Money.of(10.005)).isEqualTo(1001);
+        assertThat(Money.of(-10.005)).isEqualTo(-1001);
+    }
+
+    @Test
+    void roundsDerivedAmountsHalfUpOnce() {
+        // 3% of 50 paise is 1.5 paise
+        assertThat(Money.basisPoints(50, 300)).isEqualTo(2);
+        assertThat(Money.basisPoints(49, 300)).isEqualTo(1);
+        assertThat(Money.basisPoints(-50, 300)).isEqualTo(-2);
+        assertThat(Money.percent(1, 50.0)).isEqualTo(1);
+        assertThat(Money.percent(-1, 50.0)).isEqualTo(-1);
+        assertThat(Money.ratioBasisPoints(1, 3)).isEqualTo(3333);
+        assertThat(Money.ratioBasisPoints(2, 3)).isEqualTo(6667);
+        assertThat(Money.ratioBasisPoints(5, 0)).isZero();
+    }
+
+    @Test
+    void pricesALineFromMilligramsAndPaise() {
+        // 5 mg at 1 rupee a gram is half a paisa
+        assertThat(Money.lineValue(new BigDecimal("0.005"), new BigDecimal("1.00"), 1)).isEqualTo(1);
+        assertThat(Money.lineValue(new BigDecimal("0.004"), new BigDecimal("1.00"), 1)).isZero();
+        // 12.345 g at 6,543.21 a gram, two pieces: 161,551.8549 rupees
+        assertThat(Money.lineValue(new BigDecimal("12.345"), new BigDecimal("6543.21"), 2)).isEqualTo(16_155_185);
+        assertThat(Money.lineValue(12_345, 654_321, 2)).isEqualTo(16_155_185);
+    }
+
+    @Test
+    void takesWeightsToTheMilligram() {
+        assertThat(Money.milligrams(new BigDecimal("1.0005"))).isEqualTo(1_001);
+        assertThat(Money.milligrams(new BigDecimal("2.5"))).isEqualTo(2_500);
+        assertThat(Money.milligrams(null)).isZero();
+    }
+
+    @Test
+    void fallsBackToBigDecimalWhenTheProductOverflows() {
+        long paise = Long.MAX_VALUE / 100;
+        long expected = BigDecimal.valueOf(paise).multiply(BigDecimal.valueOf(300))
+                .divide(BigDecimal.valueOf(10_000), 0, RoundingMode.HALF_UP).longValueExact();
+
+        assertThat(Money.basisPoints(paise, 300)).isEqualTo(expected);
+        assertThat(Money.lineValue(4_000_000_000_000L, 10_000_000L, 1)).isEqualTo(40_000_000_000_000_000L);
+    }
+
+    @Test
+    void throwsRatherThanWrapsWhenTheResultDoesNotFit() {
+        assertThatThrownBy(() -> Money.basisPoints(Long.MAX_VALUE, 20_000)).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> Money.times(Long.MAX_VALUE / 2, 3)).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> Money.lineValue(Long.MAX_VALUE / 2, 100, 3)).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> Money.of(1e30)).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> Money.of(Double.NaN)).isInstanceOf(ArithmeticException.class);
+    }
+}
@@ -0,0 +1,79 @@
+package com.luxegem.invoice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.luxegem.invoice.model.InventoryImportFormat;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InventoryImportReaderTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void readsQuotedFieldsThatSpanLines() throws IOException {
+        try (InventoryImportReader reader = csv("""
+                \uFEFFitem_code,itemName,description,grossWeight
+                R1,"Ring, plain","Band with ""milgrain""
+                edge
+
+                and box",2.5
+                R2,Chain,,10
+                """)) {
+            InventoryImportReader.Row first = reader.next();
+            assertThat(first.error()).isNull();
+            assertThat(first.lineNumber()).isEqualTo(2);
+            assertThat(first.request().itemCode()).isEqualTo("R1");
+            assertThat(first.request().itemName()).isEqualTo("Ring, plain");
+            assertThat(first.request().description()).isEqualTo("Band with \"milgrain\"\nedge\n\nand box");
+            assertThat(first.request().grossWeight()).isEqualTo(2.5);
+
+            InventoryImportReader.Row second = reader.next();
+            assertThat(second.lineNumber()).isEqualTo(6);
+            assertThat(second.request().itemName()).isEqualTo("Chain");
+            assertThat(second.request().description()).isNull();
+
+            assertThat(reader.next()).isNull();
+        }
+    }
+
+    @Test
+    void skipsBlankLinesAndKeepsLineNumbers() throws IOException {
+        try (InventoryImportReader reader = csv("itemName,stockQuantity\n\nRing,1\n   \nBangle,x\n")) {
+            InventoryImportReader.Row ring = reader.next();
+            assertThat(ring.lineNumber()).isEqualTo(3);
+            assertThat(ring.request().stockQuantity()).isEqualTo(1);
+
+            InventoryImportReader.Row bangle = reader.next();
+            assertThat(bangle.lineNumber()).isEqualTo(5);
+            assertThat(bangle.error()).contains("stockquantity is not a whole number");
+
+            assertThat(reader.next()).isNull();
+        }
+    }
+
+    @Test
+    void reportsAQuoteLeftOpenAtItsFirstLine() throws IOException {
+        try (InventoryImportReader reader = csv("itemName,description\nRing,ok\nChain,\"never closed\nBangle,x\n")) {
+            assertThat(reader.next().request().itemName()).isEqualTo("Ring");
+
+            InventoryImportReader.Row unclosed = reader.next();
+            assertThat(unclosed.lineNumber()).isEqualTo(3);
+            assertThat(unclosed.error()).contains("line 3 is never closed");
+
+            assertThat(reader.next()).isNull();
+        }
+    }
+
+    private InventoryImportReader csv(String content) throws IOException {
+        Path file = Files.writeString(directory.resolve("import.csv"), content, StandardCharsets.UTF_8);
+        return new InventoryImportReader(file, InventoryImportFormat.CSV, new ObjectMapper());
+    }
+}
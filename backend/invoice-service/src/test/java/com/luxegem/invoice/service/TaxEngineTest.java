@@ -0,0 +1,76 @@
+package com.luxegem.invoice.service;
+
+import com.luxegem.invoice.entity.TaxRuleEntity;
+import com.luxegem.invoice.repository.TaxRuleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TaxEngineTest {
+
+    private final TaxRuleRepository repository = mock(TaxRuleRepository.class);
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final List<TaxRuleEntity> rules = new ArrayList<>();
+    private final TaxEngine engine = new TaxEngine(repository, jdbcTemplate);
+
+    @BeforeEach
+    void setUp() {
+        when(repository.count()).thenAnswer(invocation -> (long) rules.size());
+        when(repository.saveAll(anyList())).thenAnswer(invocation -> {
+            rules.addAll(invocation.getArgument(0));
+            return invocation.getArgument(0);
+        });
+        when(repository.findAll()).thenAnswer(invocation -> List.copyOf(rules));
+        when(jdbcTemplate.queryForObject(anyString(), eq(String.class)))
+                .thenAnswer(invocation -> rules.size() + "@v1");
+    }
+
+    @Test
+    void seedsTheDefaultRules() {
+        engine.load();
+
+        assertThat(engine.rateBasisPoints(null, "Ring", "GOLD_22K")).isEqualTo(300);
+        assertThat(engine.rateBasisPoints("71023910", "Loose stone", null)).isEqualTo(25);
+        assertThat(engine.rateBasisPoints("7103", null, null)).isEqualTo(25);
+        assertThat(engine.rateBasisPoints("7113", "Ring", "GOLD_22K")).isEqualTo(300);
+    }
+
+    @Test
+    void taxesEachLineOfABatchAtItsOwnRate() {
+        engine.load();
+        TaxBatch batch = new TaxBatch(2);
+        batch.add("7113", "Ring", "GOLD_22K", 10_000_050);
+        batch.add("7102", null, null, 2_000_002);
+
+        engine.apply(batch);
+
+        assertThat(batch.rateBasisPoints(0)).isEqualTo(300);
+        // 3% of 1,00,000.50 is 3,000.015 rupees
+        assertThat(batch.taxPaise(0)).isEqualTo(300_002);
+        assertThat(batch.rateBasisPoints(1)).isEqualTo(25);
+        // 0.25% of 20,000.02 is 50.00005 rupees
+        assertThat(batch.taxPaise(1)).isEqualTo(5_000);
+        assertThat(batch.totalTaxPaise()).isEqualTo(305_002);
+    }
+
+    @Test
+    void recompilesOnlyWhenTheRulesChange() {
+        engine.load();
+        rules.add(new TaxRuleEntity(null, null, "SILVER", new BigDecimal("5.00"), null));
+
+        assertThat(engine.rateBasisPoints(null, null, "SILVER_999")).isEqualTo(300);
+        engine.reloadIfChanged();
+        assertThat(engine.rateBasisPoints(null, null, "SILVER_999")).isEqualTo(500);
+    }
+}
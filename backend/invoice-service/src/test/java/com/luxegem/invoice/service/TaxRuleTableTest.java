@@ -0,0 +1,75 @@
+package com.luxegem.invoice.service;
+
+import com.luxegem.invoice.entity.TaxRuleEntity;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaxRuleTableTest {
+
+    private static TaxRuleEntity rule(String hsnCode, String category, String metal, String ratePercent) {
+        return new TaxRuleEntity(hsnCode, category, metal, new BigDecimal(ratePercent), null);
+    }
+
+    private final TaxRuleTable table = TaxRuleTable.compile(List.of(
+            rule(null, null, null, "3.00"),
+            rule("7102", null, null, "0.25"),
+            rule("7103", null, null, "0.25"),
+            rule("71", null, null, "1.00"),
+            rule("711319", null, null, "1.50"),
+            rule(null, "Coin", "GOLD", "2.00"),
+            rule(null, "Coin", null, "4.00"),
+            rule(null, null, "SILVER", "5.00"),
+            rule(null, null, "GOLD", "6.00"),
+            rule(null, null, "GOLD_24K", "7.00")), "test");
+
+    @Test
+    void longestHsnPrefixWins() {
+        assertThat(table.rateFor("71131910", "Coin", "GOLD_22K")).isEqualTo(150);
+        assertThat(table.rateFor("71131100", "Coin", "GOLD_22K")).isEqualTo(100);
+    }
+
+    @Test
+    void cutStonesTakeAQuarterPercent() {
+        assertThat(table.rateFor("7102", "Ring", "GOLD_22K")).isEqualTo(25);
+        assertThat(table.rateFor("71023910", null, null)).isEqualTo(25);
+        assertThat(table.rateFor("71031000", null, null)).isEqualTo(25);
+    }
+
+    @Test
+    void categoryAndMetalComeBeforeCategory() {
+        assertThat(table.rateFor(null, "coin", "GOLD_22K")).isEqualTo(200);
+        assertThat(table.rateFor("9999", "Coin", "GOLD")).isEqualTo(200);
+        assertThat(table.rateFor(null, "Coin", "SILVER_999")).isEqualTo(400);
+        assertThat(table.rateFor(null, "Coin", null)).isEqualTo(400);
+    }
+
+    @Test
+    void categoryComesBeforeMetal() {
+        assertThat(table.rateFor(null, "COIN", "SILVER_925")).isEqualTo(400);
+    }
+
+    @Test
+    void longestMetalPrefixWins() {
+        assertThat(table.rateFor(null, "Ring", "GOLD_24K")).isEqualTo(700);
+        assertThat(table.rateFor(null, "Ring", "gold_22k")).isEqualTo(600);
+        assertThat(table.rateFor(null, null, "SILVER")).isEqualTo(500);
+        // A metal prefix only matches up to the purity separator.
+        assertThat(table.rateFor(null, null, "GOLDEN")).isEqualTo(300);
+    }
+
+    @Test
+    void fallsBackToTheDefaultRule() {
+        assertThat(table.rateFor(null, "Ring", "PLATINUM_950")).isEqualTo(300);
+        assertThat(table.rateFor("9999", null, null)).isEqualTo(300);
+        assertThat(table.rateFor(null, null, null)).isEqualTo(300);
+    }
+
+    @Test
+    void isZeroWithoutRules() {
+        assertThat(TaxRuleTable.EMPTY.rateFor("7102", "Coin", "GOLD_22K")).isZero();
+    }
+}
@@ -0,0 +1,77 @@
+package com.luxegem.market.client;
+
+import com.luxegem.market.model.ProviderStatsResponse;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+
+/**
+ * GETs from third-party market data providers through the pooled, strictly
+ * timed-out {@code providerRestTemplate}. Each provider may have at most
+ * {@code market.providers.max-concurrent} calls in flight; a call over the
+ * limit fails at once rather than queueing behind a slow provider. Latency
+ * and outcome of every call are recorded per provider. Response bodies are
+ * handed to the caller's parser as a stream, never buffered.
+ */
+@Component
+public class ProviderHttpClient {
+
+    private final RestTemplate restTemplate;
+    private final int maxConcurrent;
+    private final Map<String, Semaphore> permits = new ConcurrentHashMap<>();
+    private final Map<String, ProviderStats> stats = new ConcurrentHashMap<>();
+
+    public ProviderHttpClient(
+            @Qualifier("providerRestTemplate") RestTemplate restTemplate,
+            @Value("${market.providers.max-concurrent:2}") int maxConcurrent) {
+        this.restTemplate = restTemplate;
+        this.maxConcurrent = maxConcurrent;
+    }
+
+    /** Reads a response body into a typed value; throws when the body does not match the expected shape. */
+    @FunctionalInterface
+    public interface ResponseParser<T> {
+        T parse(InputStream body) throws IOException;
+    }
+
+    public <T> T get(String provider, String url, ResponseParser<T> parser) {
+        Semaphore semaphore = permits.computeIfAbsent(provider, name -> new Semaphore(maxConcurrent));
+        ProviderStats providerStats = stats.computeIfAbsent(provider, ProviderStats::new);
+        if (!semaphore.tryAcquire()) {
+            providerStats.rejected();
+            throw new IllegalStateException(provider + " already has " + maxConcurrent + " calls in flight");
+        }
+        long started = System.nanoTime();
+        boolean success = false;
+        try {
+            T response = Objects.requireNonNull(restTemplate.execute(url, HttpMethod.GET,
+                    request -> request.getHeaders().setAccept(List.of(MediaType.APPLICATION_JSON)),
+                    httpResponse -> parser.parse(httpResponse.getBody())),
+                    () -> "empty response from " + provider);
+            success = true;
+            return response;
+        } finally {
+            semaphore.release();
+            providerStats.record((System.nanoTime() - started) / 1_000_000, success);
+        }
+    }
+
+    public List<ProviderStatsResponse> stats() {
+        return stats.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .map(entry -> entry.getValue().snapshot(
+                        maxConcurrent - permits.get(entry.getKey()).availablePermits()))
+                .toList();
+    }
+}
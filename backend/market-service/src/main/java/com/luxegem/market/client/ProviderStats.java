@@ -0,0 +1,60 @@
+package com.luxegem.market.client;
+
+import com.luxegem.market.model.ProviderStatsResponse;
+
+import java.util.Arrays;
+
+/**
+ * Call counts and latencies for one provider. Percentiles are taken over a
+ * fixed window of the most recent calls.
+ */
+class ProviderStats {
+
+    private static final int WINDOW = 256;
+
+    private final String provider;
+    private final long[] recent = new long[WINDOW];
+    private int recentCount;
+    private int next;
+    private long calls;
+    private long failures;
+    private long rejected;
+    private long totalMs;
+    private long maxMs;
+    private long lastMs;
+    private long lastSuccessAt;
+
+    ProviderStats(String provider) {
+        this.provider = provider;
+    }
+
+    synchronized void record(long latencyMs, boolean success) {
+        calls++;
+        if (success) {
+            lastSuccessAt = System.currentTimeMillis();
+        } else {
+            failures++;
+        }
+        totalMs += latencyMs;
+        maxMs = Math.max(maxMs, latencyMs);
+        lastMs = latencyMs;
+        recent[next] = latencyMs;
+        next = (next + 1) % WINDOW;
+        recentCount = Math.min(recentCount + 1, WINDOW);
+    }
+
+    synchronized void rejected() {
+        rejected++;
+    }
+
+    synchronized ProviderStatsResponse snapshot(int inFlight) {
+        long p95 = 0;
+        if (recentCount > 0) {
+            long[] sorted = Arrays.copyOf(recent, recentCount);
+            Arrays.sort(sorted);
+            p95 = sorted[(int) Math.ceil(recentCount * 0.95) - 1];
+        }
+        return new ProviderStatsResponse(provider, calls, failures, rejected, inFlight,
+                calls == 0 ? 0 : (double) totalMs / calls, p95, maxMs, lastMs, lastSuccessAt);
+    }
+}
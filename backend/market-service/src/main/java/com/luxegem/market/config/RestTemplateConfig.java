@@ -1,18 +1,56 @@
 package com.luxegem.market.config;
 
 import com.luxegem.market.client.HttpClientLoggingInterceptor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+/**
+ * Both templates share one JDK {@link HttpClient}, which keeps connections
+ * alive and reuses them per host. Calls to other LuxeGem services get a
+ * generous read timeout; calls to third-party market data providers get a
+ * strict one, so a hung provider fails fast instead of holding a thread.
+ */
 @Configuration
 public class RestTemplateConfig {
 
     @Bean
-    public RestTemplate restTemplate(RestTemplateBuilder builder) {
+    public HttpClient httpClient(@Value("${http.client.connect-timeout-ms:2000}") long connectTimeoutMs) {
+        return HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+    }
+
+    @Bean
+    @Primary
+    public RestTemplate restTemplate(RestTemplateBuilder builder, HttpClient httpClient,
+            @Value("${services.http.read-timeout-ms:30000}") long readTimeoutMs) {
         return builder
+                .requestFactory(() -> requestFactory(httpClient, readTimeoutMs))
                 .interceptors(new HttpClientLoggingInterceptor())
                 .build();
     }
+
+    @Bean
+    public RestTemplate providerRestTemplate(RestTemplateBuilder builder, HttpClient httpClient,
+            @Value("${market.providers.read-timeout-ms:5000}") long readTimeoutMs) {
+        return builder
+                .requestFactory(() -> requestFactory(httpClient, readTimeoutMs))
+                .interceptors(new HttpClientLoggingInterceptor())
+                .build();
+    }
+
+    private static JdkClientHttpRequestFactory requestFactory(HttpClient httpClient, long readTimeoutMs) {
+        JdkClientHttpRequestFactory factory = new JdkClientHttpRequestFactory(httpClient);
+        factory.setReadTimeout(Duration.ofMillis(readTimeoutMs));
+        return factory;
+    }
 }
@@ -1,87 +1,176 @@
 package com.luxegem.market.controller;
 
+import com.luxegem.market.client.ProviderHttpClient;
+import com.luxegem.market.model.CandleResponse;
+import com.luxegem.market.model.CryptoPricesResponse;
+import com.luxegem.market.model.DiamondRatesResponse;
+import com.luxegem.market.model.MarketOverviewResponse;
 import com.luxegem.market.model.MarketRateResponse;
+import com.luxegem.market.model.MetalPricesResponse;
+import com.luxegem.market.model.MetalRateResponse;
+import com.luxegem.market.model.ProviderStatsResponse;
+import com.luxegem.market.model.PurityRateTableResponse;
+import com.luxegem.market.model.ReadModelVersionResponse;
 import com.luxegem.market.model.SalesCategoryResponse;
+import com.luxegem.market.model.SpotRateTableResponse;
 import com.luxegem.market.model.StockAlertResponse;
-import com.luxegem.market.repository.MarketRateRepository;
-import com.luxegem.market.repository.SalesCategoryRepository;
-import com.luxegem.market.repository.StockAlertRepository;
+import com.luxegem.market.model.TickResponse;
+import com.luxegem.market.service.CandleResolution;
 import com.luxegem.market.service.MarketDataService;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import com.luxegem.market.service.MarketReadModel;
+import com.luxegem.market.service.PurityRateService;
+import com.luxegem.market.service.RateStreamService;
+import com.luxegem.market.service.TickHistoryService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.security.Principal;
 import java.util.List;
-import java.util.Map;
 
 @RestController
 @RequestMapping("/api/market")
 public class MarketController {
 
-    private static final Logger logger = LoggerFactory.getLogger(MarketController.class);
-
-    private final MarketRateRepository marketRateRepository;
-    private final SalesCategoryRepository salesCategoryRepository;
-    private final StockAlertRepository stockAlertRepository;
+    private final MarketReadModel marketReadModel;
     private final MarketDataService marketDataService;
+    private final PurityRateService purityRateService;
+    private final ProviderHttpClient providerHttpClient;
+    private final TickHistoryService tickHistoryService;
+    private final RateStreamService rateStreamService;
 
     public MarketController(
-            MarketRateRepository marketRateRepository,
-            SalesCategoryRepository salesCategoryRepository,
-            StockAlertRepository stockAlertRepository,
-            MarketDataService marketDataService
+            MarketReadModel marketReadModel,
+            MarketDataService marketDataService,
+            PurityRateService purityRateService,
+            ProviderHttpClient providerHttpClient,
+            TickHistoryService tickHistoryService,
+            RateStreamService rateStreamService
     ) {
-        this.marketRateRepository = marketRateRepository;
-        this.salesCategoryRepository = salesCategoryRepository;
-        this.stockAlertRepository = stockAlertRepository;
+        this.marketReadModel = marketReadModel;
         this.marketDataService = marketDataService;
+        this.purityRateService = purityRateService;
+        this.providerHttpClient = providerHttpClient;
+        this.tickHistoryService = tickHistoryService;
+        this.rateStreamService = rateStreamService;
     }
 
+    /**
+     * Served from the read model; answers 304 when If-None-Match carries the current content tag
+     */
     @GetMapping("/rates")
-    public List<MarketRateResponse> rates() {
-        return marketRateRepository.findAll().stream()
-                .map(rate -> new MarketRateResponse(
-                        rate.getMetal(),
-                        rate.getPricePerGram(),
-                        rate.getUnit() == null ? "g" : rate.getUnit(),
-                        rate.getCurrency() == null ? "INR" : rate.getCurrency(),
-                        rate.getChangePercent()))
-                .toList();
+    public List<MarketRateResponse> rates(WebRequest request) {
+        MarketReadModel.Versioned<List<MarketRateResponse>> rates = marketReadModel.rates();
+        return request.checkNotModified("\"rates-" + rates.tag() + "\"") ? null : rates.value();
+    }
+
+    /**
+     * Server-sent "rate" events: every metal's current rate on connect, then each change with its day change percent
+     */
+    @GetMapping(value = "/rates/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter rateStream() {
+        return rateStreamService.subscribe();
+    }
+
+    /**
+     * Per-purity rates (INR per gram) with derived purities filled in, served from memory
+     */
+    @GetMapping("/rates/purity")
+    public PurityRateTableResponse purityRates() {
+        return purityRateService.current();
     }
 
     @GetMapping("/sales-categories")
-    public List<SalesCategoryResponse> salesCategories() {
-        return salesCategoryRepository.findAll().stream()
-                .map(category -> new SalesCategoryResponse(category.getName(), category.getPercent(), category.getTotalSales()))
-                .toList();
+    public List<SalesCategoryResponse> salesCategories(Principal principal, WebRequest request) {
+        String shopId = principal != null ? principal.getName() : "admin";
+        MarketReadModel.Versioned<List<SalesCategoryResponse>> categories = marketReadModel.salesCategories(shopId);
+        return request.checkNotModified("\"sales-categories-" + shopId + "-" + categories.tag() + "\"")
+                ? null : categories.value();
     }
 
     @GetMapping("/stock-alerts")
-    public List<StockAlertResponse> stockAlerts() {
-        return stockAlertRepository.findAll().stream()
-                .map(alert -> new StockAlertResponse(alert.getItem(), alert.getNote(), alert.getLevel()))
-                .toList();
+    public List<StockAlertResponse> stockAlerts(Principal principal, WebRequest request) {
+        String shopId = principal != null ? principal.getName() : "admin";
+        MarketReadModel.Versioned<List<StockAlertResponse>> alerts = marketReadModel.stockAlerts(shopId);
+        return request.checkNotModified("\"stock-alerts-" + shopId + "-" + alerts.tag() + "\"")
+                ? null : alerts.value();
+    }
+
+    /**
+     * Versions of the caller's rates, sales categories and stock alerts, for cheap "has anything changed" checks
+     */
+    @GetMapping("/read-model/version")
+    public ReadModelVersionResponse readModelVersion(Principal principal) {
+        String shopId = principal != null ? principal.getName() : "admin";
+        return new ReadModelVersionResponse(
+                marketReadModel.version(),
+                marketReadModel.rates().version(),
+                marketReadModel.salesCategories(shopId).version(),
+                marketReadModel.stockAlerts(shopId).version());
+    }
+
+    // ========== PRICE HISTORY ENDPOINTS ==========
+
+    /**
+     * Instruments with recorded history: market rate labels and XAU/USD, XAG/USD, XPT/USD spot prices
+     */
+    @GetMapping("/history/instruments")
+    public List<String> historyInstruments() {
+        return tickHistoryService.instruments();
+    }
+
+    /**
+     * OHLC candles for one instrument at 1m, 1h or 1d, latest {@code limit} in range, oldest first
+     */
+    @GetMapping("/history/candles")
+    public List<CandleResponse> candles(
+            @RequestParam String instrument,
+            @RequestParam(defaultValue = "1h") String resolution,
+            @RequestParam(defaultValue = "0") long from,
+            @RequestParam(defaultValue = "" + Long.MAX_VALUE) long to,
+            @RequestParam(defaultValue = "500") int limit) {
+        CandleResolution candleResolution = CandleResolution.of(resolution)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Resolution must be one of 1m, 1h, 1d"));
+        return tickHistoryService.candles(instrument, candleResolution, from, to, Math.min(Math.max(limit, 1), 5000))
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "No history for " + instrument));
+    }
+
+    /**
+     * Raw ticks for one instrument; without {@code from} only the recent ticks held in memory
+     */
+    @GetMapping("/history/ticks")
+    public List<TickResponse> ticks(
+            @RequestParam String instrument,
+            @RequestParam(required = false) Long from,
+            @RequestParam(defaultValue = "" + Long.MAX_VALUE) long to,
+            @RequestParam(defaultValue = "100") int limit) {
+        int max = Math.min(Math.max(limit, 1), 5000);
+        return (from == null ? tickHistoryService.recentTicks(instrument, max)
+                : tickHistoryService.ticks(instrument, from, to, max))
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "No history for " + instrument));
     }
 
     // ========== REAL-TIME MARKET DATA ENDPOINTS ==========
 
     /**
-     * Get real-time market overview from live APIs
-     * Includes cryptocurrencies, precious metals, and diamonds
+     * Get real-time market overview
+     * Includes cryptocurrencies and precious metals
      */
     @GetMapping("/overview")
-    public Map<String, Object> getMarketOverview() {
-        logger.info("Fetching real-time market overview");
+    public MarketOverviewResponse getMarketOverview() {
         return marketDataService.getMarketOverview();
     }
 
     /**
-     * Get cryptocurrency prices from CoinGecko API
+     * Get cryptocurrency prices
      * Returns: Bitcoin, Ethereum prices in USD with market cap
      */
     @GetMapping("/crypto")
-    public Map<String, Object> getCryptoPrices() {
-        logger.info("Fetching cryptocurrency prices");
+    public CryptoPricesResponse getCryptoPrices() {
         return marketDataService.getCryptoPrices();
     }
 
@@ -90,54 +179,72 @@ public class MarketController {
      * Returns: Gold, Silver, Platinum prices per ounce
      */
     @GetMapping("/metals")
-    public Map<String, Object> getMetalsPrices() {
-        logger.info("Fetching precious metals prices");
+    public MetalPricesResponse getMetalsPrices() {
         return marketDataService.getMetalsPrices();
     }
 
     /**
-     * Get specific product market rates
-     * @param product Type of product (diamond, gold, silver, platinum, crypto)
+     * Call counts and latency per market data provider
+     */
+    @GetMapping("/providers")
+    public List<ProviderStatsResponse> providerStats() {
+        return providerHttpClient.stats();
+    }
+
+    /**
+     * Rates for any other product fall back to the full overview
+     * @param product Type of product
      */
     @GetMapping("/rates/{product}")
-    public Map<String, Object> getProductRates(@PathVariable String product) {
-        logger.info("Fetching market rates for product: {}", product);
-        return marketDataService.getProductRates(product);
+    public MarketOverviewResponse getProductRates(@PathVariable String product) {
+        return marketDataService.getMarketOverview();
+    }
+
+    /**
+     * Get cryptocurrency rates
+     */
+    @GetMapping("/rates/crypto")
+    public CryptoPricesResponse getCryptoRates() {
+        return marketDataService.getCryptoPrices();
+    }
+
+    /**
+     * Provider spot prices converted to INR per gram by purity, precomputed on each poll
+     */
+    @GetMapping("/rates/spot")
+    public SpotRateTableResponse getSpotRates() {
+        return marketDataService.getSpotRates();
     }
 
     /**
      * Get diamond rates
      */
     @GetMapping("/rates/diamond")
-    public Map<String, Object> getDiamondRates() {
-        logger.info("Fetching diamond rates");
-        return marketDataService.getProductRates("diamond");
+    public DiamondRatesResponse getDiamondRates() {
+        return marketDataService.getDiamondRates();
     }
 
     /**
      * Get gold rates
      */
     @GetMapping("/rates/gold")
-    public Map<String, Object> getGoldRates() {
-        logger.info("Fetching gold rates");
-        return marketDataService.getProductRates("gold");
+    public MetalRateResponse getGoldRates() {
+        return marketDataService.getMetalRate("gold");
     }
 
     /**
      * Get silver rates
      */
     @GetMapping("/rates/silver")
-    public Map<String, Object> getSilverRates() {
-        logger.info("Fetching silver rates");
-        return marketDataService.getProductRates("silver");
+    public MetalRateResponse getSilverRates() {
+        return marketDataService.getMetalRate("silver");
     }
 
     /**
      * Get platinum rates
      */
     @GetMapping("/rates/platinum")
-    public Map<String, Object> getPlatinumRates() {
-        logger.info("Fetching platinum rates");
-        return marketDataService.getProductRates("platinum");
+    public MetalRateResponse getPlatinumRates() {
+        return marketDataService.getMetalRate("platinum");
     }
 }
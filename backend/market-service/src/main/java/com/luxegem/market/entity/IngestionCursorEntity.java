@@ -0,0 +1,50 @@
+package com.luxegem.market.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * Watermark for an upstream event feed: the id of the last event applied.
+ */
+@Entity
+@Table(name = "ingestion_cursors")
+public class IngestionCursorEntity {
+
+    @Id
+    @Column(length = 80)
+    private String source;
+
+    @Column(nullable = false)
+    private long lastEventId;
+
+    @Column
+    private LocalDateTime updatedAt;
+
+    public IngestionCursorEntity() {
+    }
+
+    public IngestionCursorEntity(String source) {
+        this.source = source;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public long getLastEventId() {
+        return lastEventId;
+    }
+
+    public void advanceTo(long eventId) {
+        this.lastEventId = eventId;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+}
@@ -54,4 +54,9 @@ public class MarketRateEntity {
     public double getChangePercent() {
         return changePercent;
     }
+
+    public void update(double pricePerGram, double changePercent) {
+        this.pricePerGram = pricePerGram;
+        this.changePercent = changePercent;
+    }
 }
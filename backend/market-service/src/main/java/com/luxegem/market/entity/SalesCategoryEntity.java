@@ -1,36 +1,46 @@
 package com.luxegem.market.entity;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 
 @Entity
-@Table(name = "sales_categories")
+@Table(name = "sales_categories", uniqueConstraints = @UniqueConstraint(columnNames = {"shop_id", "name"}))
 public class SalesCategoryEntity {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @Column(name = "shop_id")
+    private String shopId;
+
+    @Column(name = "name")
     private String name;
+
     private int percent;
     private double totalSales;
 
     public SalesCategoryEntity() {
     }
 
-    public SalesCategoryEntity(String name, int percent, double totalSales) {
+    public SalesCategoryEntity(String shopId, String name) {
+        this.shopId = shopId;
         this.name = name;
-        this.percent = percent;
-        this.totalSales = totalSales;
     }
 
     public Long getId() {
         return id;
     }
 
+    public String getShopId() {
+        return shopId;
+    }
+
     public String getName() {
         return name;
     }
@@ -39,7 +49,15 @@ public class SalesCategoryEntity {
         return percent;
     }
 
+    public void setPercent(int percent) {
+        this.percent = percent;
+    }
+
     public double getTotalSales() {
         return totalSales;
     }
+
+    public void addSales(double amount) {
+        this.totalSales = Math.max(0, this.totalSales + amount);
+    }
 }
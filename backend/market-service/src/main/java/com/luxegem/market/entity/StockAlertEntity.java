@@ -1,36 +1,52 @@
 package com.luxegem.market.entity;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 
 @Entity
-@Table(name = "stock_alerts")
+@Table(name = "stock_alerts", uniqueConstraints = @UniqueConstraint(columnNames = {"shop_id", "item_code"}))
 public class StockAlertEntity {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @Column(name = "shop_id")
+    private String shopId;
+
+    @Column(name = "item_code")
+    private String itemCode;
+
     private String item;
     private String note;
     private String level;
+    private Integer quantity;
 
     public StockAlertEntity() {
     }
 
-    public StockAlertEntity(String item, String note, String level) {
-        this.item = item;
-        this.note = note;
-        this.level = level;
+    public StockAlertEntity(String shopId, String itemCode) {
+        this.shopId = shopId;
+        this.itemCode = itemCode;
     }
 
     public Long getId() {
         return id;
     }
 
+    public String getShopId() {
+        return shopId;
+    }
+
+    public String getItemCode() {
+        return itemCode;
+    }
+
     public String getItem() {
         return item;
     }
@@ -42,4 +58,15 @@ public class StockAlertEntity {
     public String getLevel() {
         return level;
     }
+
+    public int getQuantity() {
+        return quantity == null ? 0 : quantity;
+    }
+
+    public void update(String item, int quantity, String level) {
+        this.item = item;
+        this.quantity = quantity;
+        this.level = level;
+        this.note = quantity <= 0 ? "Out of stock" : String.format("Only %d left in stock", quantity);
+    }
 }
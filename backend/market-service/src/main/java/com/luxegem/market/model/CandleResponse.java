@@ -0,0 +1,15 @@
+package com.luxegem.market.model;
+
+/**
+ * @param time  start of the bucket, epoch millis
+ * @param ticks number of ticks aggregated into the candle
+ */
+public record CandleResponse(
+        long time,
+        double open,
+        double high,
+        double low,
+        double close,
+        long ticks
+) {
+}
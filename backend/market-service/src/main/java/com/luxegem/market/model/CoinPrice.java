@@ -0,0 +1,17 @@
+package com.luxegem.market.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * @param usd       price of one coin in USD
+ * @param marketCap market capitalisation in USD, when the provider reports it
+ * @param volume24h 24 hour trading volume in USD, when the provider reports it
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record CoinPrice(
+        double usd,
+        @JsonProperty("market_cap") Double marketCap,
+        @JsonProperty("volume_24h") Double volume24h
+) {
+}
@@ -0,0 +1,7 @@
+package com.luxegem.market.model;
+
+/**
+ * Crypto prices as parsed from a provider.
+ */
+public record CryptoPrices(CoinPrice bitcoin, CoinPrice ethereum) {
+}
@@ -0,0 +1,16 @@
+package com.luxegem.market.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * @param updatedAt when the prices were fetched, epoch millis
+ * @param source    {@code live}, or {@code fallback} until the provider first answers
+ */
+public record CryptoPricesResponse(
+        CoinPrice bitcoin,
+        CoinPrice ethereum,
+        @JsonProperty("updated_at") long updatedAt,
+        String source,
+        String provider
+) {
+}
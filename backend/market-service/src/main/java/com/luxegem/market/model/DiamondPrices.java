@@ -0,0 +1,7 @@
+package com.luxegem.market.model;
+
+/**
+ * Diamond prices as parsed from a provider, USD per stone by carat weight.
+ */
+public record DiamondPrices(double oneCarat, double twoCarat, double fiveCarat, String quality) {
+}
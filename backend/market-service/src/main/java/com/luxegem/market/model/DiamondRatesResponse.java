@@ -0,0 +1,15 @@
+package com.luxegem.market.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public record DiamondRatesResponse(
+        @JsonProperty("1carat_price_usd") double oneCaratPriceUsd,
+        @JsonProperty("2carat_price_usd") double twoCaratPriceUsd,
+        @JsonProperty("5carat_price_usd") double fiveCaratPriceUsd,
+        String currency,
+        String quality,
+        @JsonProperty("updated_at") long updatedAt,
+        String source,
+        String provider
+) {
+}
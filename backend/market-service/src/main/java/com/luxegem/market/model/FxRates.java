@@ -0,0 +1,9 @@
+package com.luxegem.market.model;
+
+/**
+ * Exchange rates as parsed from a provider.
+ *
+ * @param usdInr INR per US dollar
+ */
+public record FxRates(double usdInr) {
+}
@@ -0,0 +1,15 @@
+package com.luxegem.market.model;
+
+import java.util.Map;
+
+/**
+ * Event as published by invoice-service on {@code GET /api/events}.
+ */
+public record InvoiceEventMessage(
+        long id,
+        String type,
+        String aggregateId,
+        String shopId,
+        Map<String, Object> payload,
+        String createdAt) {
+}
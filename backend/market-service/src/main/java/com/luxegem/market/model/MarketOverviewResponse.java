@@ -0,0 +1,13 @@
+package com.luxegem.market.model;
+
+/**
+ * @param timestamp when the snapshot was published, epoch millis
+ * @param status    {@code active}, or {@code degraded} while crypto or metals prices are not live
+ */
+public record MarketOverviewResponse(
+        CryptoPricesResponse cryptocurrencies,
+        MetalPricesResponse metals,
+        long timestamp,
+        String status
+) {
+}
@@ -0,0 +1,16 @@
+package com.luxegem.market.model;
+
+/**
+ * Spot prices as parsed from a provider, USD per troy ounce.
+ */
+public record MetalPrices(double gold, double silver, double platinum) {
+
+    public double price(String metal) {
+        return switch (metal) {
+            case "gold" -> gold;
+            case "silver" -> silver;
+            case "platinum" -> platinum;
+            default -> throw new IllegalArgumentException("Unknown metal " + metal);
+        };
+    }
+}
@@ -0,0 +1,19 @@
+package com.luxegem.market.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Spot prices in USD per troy ounce.
+ *
+ * @param updatedAt when the prices were fetched, epoch millis
+ * @param source    {@code live}, or {@code fallback} until the provider first answers
+ */
+public record MetalPricesResponse(
+        double gold,
+        double silver,
+        double platinum,
+        @JsonProperty("updated_at") long updatedAt,
+        String source,
+        String provider
+) {
+}
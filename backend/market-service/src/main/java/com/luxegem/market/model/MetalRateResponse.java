@@ -0,0 +1,14 @@
+package com.luxegem.market.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public record MetalRateResponse(
+        String metal,
+        @JsonProperty("price_per_oz_usd") double pricePerOzUsd,
+        String currency,
+        String unit,
+        @JsonProperty("updated_at") long updatedAt,
+        String source,
+        String provider
+) {
+}
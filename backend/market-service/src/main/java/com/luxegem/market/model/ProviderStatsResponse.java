@@ -0,0 +1,20 @@
+package com.luxegem.market.model;
+
+/**
+ * @param rejected      calls refused because the provider's concurrency limit was reached
+ * @param p95Ms         95th percentile latency over the most recent calls
+ * @param lastSuccessAt epoch millis of the last successful call, 0 if none
+ */
+public record ProviderStatsResponse(
+        String provider,
+        long calls,
+        long failures,
+        long rejected,
+        int inFlight,
+        double avgMs,
+        long p95Ms,
+        long maxMs,
+        long lastMs,
+        long lastSuccessAt
+) {
+}
@@ -0,0 +1,17 @@
+package com.luxegem.market.model;
+
+/**
+ * One metal's rate as pushed on the rate stream.
+ *
+ * @param changePercent change against the previous day's close
+ * @param updatedAt     when the rate was published, epoch millis
+ */
+public record RateStreamEvent(
+        String metal,
+        double pricePerGram,
+        String unit,
+        String currency,
+        double changePercent,
+        long updatedAt
+) {
+}
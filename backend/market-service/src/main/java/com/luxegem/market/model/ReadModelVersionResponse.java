@@ -0,0 +1,14 @@
+package com.luxegem.market.model;
+
+/**
+ * Versions of the caller's market data; a version only moves when its data changes.
+ *
+ * @param version overall read model version, across all shops
+ */
+public record ReadModelVersionResponse(
+        long version,
+        long rates,
+        long salesCategories,
+        long stockAlerts
+) {
+}
@@ -0,0 +1,26 @@
+package com.luxegem.market.model;
+
+import java.util.List;
+
+/**
+ * Provider spot prices converted to INR per gram by purity.
+ *
+ * @param version         increases only when a converted rate changes
+ * @param changedAt       when this version was computed, epoch millis
+ * @param usdInr          INR per US dollar used for the conversion
+ * @param metalsUpdatedAt when the spot prices were last fetched, epoch millis
+ * @param fxUpdatedAt     when the exchange rate was last fetched, epoch millis
+ * @param fresh           false when either input is a fallback or older than its maximum age
+ */
+public record SpotRateTableResponse(
+        long version,
+        long changedAt,
+        double usdInr,
+        long metalsUpdatedAt,
+        long fxUpdatedAt,
+        String metalsSource,
+        String fxSource,
+        boolean fresh,
+        List<PurityRate> rates
+) {
+}
@@ -0,0 +1,7 @@
+package com.luxegem.market.model;
+
+/**
+ * @param time when the price was quoted, epoch millis
+ */
+public record TickResponse(long time, double price) {
+}
@@ -0,0 +1,98 @@
+package com.luxegem.market.provider;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.luxegem.market.client.ProviderHttpClient;
+import com.luxegem.market.model.CoinPrice;
+import com.luxegem.market.model.CryptoPrices;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Set;
+
+/**
+ * Bitcoin and Ethereum prices from CoinGecko's simple price API, parsed
+ * token by token straight into {@link CryptoPrices}.
+ */
+@Component
+public class CoinGeckoProvider implements MarketDataProvider {
+
+    private final ProviderHttpClient providerClient;
+    private final JsonFactory jsonFactory;
+    private final String baseUrl;
+
+    public CoinGeckoProvider(ProviderHttpClient providerClient, ObjectMapper objectMapper,
+            @Value("${market.providers.coingecko.base-url:https://api.coingecko.com/api/v3}") String baseUrl) {
+        this.providerClient = providerClient;
+        this.jsonFactory = objectMapper.getFactory();
+        this.baseUrl = baseUrl;
+    }
+
+    @Override
+    public String name() {
+        return "coingecko";
+    }
+
+    @Override
+    public Set<MarketFeed> feeds() {
+        return Set.of(MarketFeed.CRYPTO);
+    }
+
+    @Override
+    public CryptoPrices fetchCrypto() {
+        String url = baseUrl + "/simple/price?ids=bitcoin,ethereum&vs_currencies=usd&include_market_cap=true&include_24hr_vol=true";
+        return providerClient.get(name(), url, this::parse);
+    }
+
+    /** {@code {"bitcoin": {"usd": .., "usd_market_cap": .., "usd_24h_vol": ..}, "ethereum": {..}}} */
+    CryptoPrices parse(InputStream body) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "Expected a JSON object of coin prices");
+            }
+            CoinPrice bitcoin = null;
+            CoinPrice ethereum = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String coin = parser.currentName();
+                parser.nextToken();
+                switch (coin) {
+                    case "bitcoin" -> bitcoin = parseCoin(parser);
+                    case "ethereum" -> ethereum = parseCoin(parser);
+                    default -> parser.skipChildren();
+                }
+            }
+            if (bitcoin == null || ethereum == null) {
+                throw new JsonParseException(parser, "Response is missing bitcoin or ethereum");
+            }
+            return new CryptoPrices(bitcoin, ethereum);
+        }
+    }
+
+    private static CoinPrice parseCoin(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            throw new JsonParseException(parser, "Expected a coin price object");
+        }
+        Double usd = null;
+        Double marketCap = null;
+        Double volume = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "usd" -> usd = parser.getDoubleValue();
+                case "usd_market_cap" -> marketCap = parser.getDoubleValue();
+                case "usd_24h_vol" -> volume = parser.getDoubleValue();
+                default -> parser.skipChildren();
+            }
+        }
+        if (usd == null) {
+            throw new JsonParseException(parser, "Coin price has no usd field");
+        }
+        return new CoinPrice(usd, marketCap, volume);
+    }
+}
@@ -0,0 +1,92 @@
+package com.luxegem.market.provider;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.luxegem.market.client.ProviderHttpClient;
+import com.luxegem.market.model.FxRates;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Set;
+
+/**
+ * USD/INR reference rate from Frankfurter (European Central Bank rates,
+ * published once per working day), parsed token by token into
+ * {@link FxRates}.
+ */
+@Component
+public class FrankfurterProvider implements MarketDataProvider {
+
+    private final ProviderHttpClient providerClient;
+    private final JsonFactory jsonFactory;
+    private final String baseUrl;
+
+    public FrankfurterProvider(ProviderHttpClient providerClient, ObjectMapper objectMapper,
+            @Value("${market.providers.frankfurter.base-url:https://api.frankfurter.app}") String baseUrl) {
+        this.providerClient = providerClient;
+        this.jsonFactory = objectMapper.getFactory();
+        this.baseUrl = baseUrl;
+    }
+
+    @Override
+    public String name() {
+        return "frankfurter";
+    }
+
+    @Override
+    public Set<MarketFeed> feeds() {
+        return Set.of(MarketFeed.FX);
+    }
+
+    @Override
+    public FxRates fetchFx() {
+        return providerClient.get(name(), baseUrl + "/latest?from=USD&to=INR", this::parse);
+    }
+
+    /** {@code {"amount": 1.0, "base": "USD", "date": "..", "rates": {"INR": ..}}} */
+    FxRates parse(InputStream body) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "Expected a JSON object");
+            }
+            double amount = 1;
+            Double inr = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                if ("amount".equals(field)) {
+                    amount = parser.getDoubleValue();
+                } else if ("base".equals(field) && !"USD".equals(parser.getText())) {
+                    throw new JsonParseException(parser, "Expected USD base, got " + parser.getText());
+                } else if ("rates".equals(field) && parser.currentToken() == JsonToken.START_OBJECT) {
+                    inr = parseInr(parser);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            if (inr == null || !(inr > 0) || !(amount > 0)) {
+                throw new JsonParseException(parser, "Response has no INR rate");
+            }
+            return new FxRates(inr / amount);
+        }
+    }
+
+    private static Double parseInr(JsonParser parser) throws IOException {
+        Double inr = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String currency = parser.currentName();
+            parser.nextToken();
+            if ("INR".equals(currency)) {
+                inr = parser.getDoubleValue();
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return inr;
+    }
+}
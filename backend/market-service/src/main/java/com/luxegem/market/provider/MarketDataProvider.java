@@ -0,0 +1,42 @@
+package com.luxegem.market.provider;
+
+import com.luxegem.market.model.CryptoPrices;
+import com.luxegem.market.model.DiamondPrices;
+import com.luxegem.market.model.FxRates;
+import com.luxegem.market.model.MetalPrices;
+
+import java.util.Set;
+
+/**
+ * A source of market prices. Implementations are Spring beans; which provider
+ * serves each {@link MarketFeed} is chosen by name in configuration
+ * ({@code market.providers.crypto}, {@code .metals}, {@code .diamonds},
+ * {@code .fx}).
+ * A provider implements the fetch method of every feed it lists in
+ * {@link #feeds()}. Fetches are called from the background poller only and
+ * throw when the provider cannot answer; the poller then keeps the previous
+ * prices.
+ */
+public interface MarketDataProvider {
+
+    /** Name used in configuration, responses and provider stats */
+    String name();
+
+    Set<MarketFeed> feeds();
+
+    default CryptoPrices fetchCrypto() {
+        throw new UnsupportedOperationException(name() + " does not supply " + MarketFeed.CRYPTO);
+    }
+
+    default MetalPrices fetchMetals() {
+        throw new UnsupportedOperationException(name() + " does not supply " + MarketFeed.METALS);
+    }
+
+    default DiamondPrices fetchDiamonds() {
+        throw new UnsupportedOperationException(name() + " does not supply " + MarketFeed.DIAMONDS);
+    }
+
+    default FxRates fetchFx() {
+        throw new UnsupportedOperationException(name() + " does not supply " + MarketFeed.FX);
+    }
+}
@@ -0,0 +1,15 @@
+package com.luxegem.market.provider;
+
+/**
+ * Kinds of market data a {@link MarketDataProvider} can supply.
+ */
+public enum MarketFeed {
+    /** USD prices per coin, keyed by CoinGecko coin id */
+    CRYPTO,
+    /** USD per troy ounce, keyed by lower-case metal name */
+    METALS,
+    /** USD per stone by carat weight */
+    DIAMONDS,
+    /** INR per US dollar */
+    FX
+}
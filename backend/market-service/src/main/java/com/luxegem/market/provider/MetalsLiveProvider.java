@@ -0,0 +1,87 @@
+package com.luxegem.market.provider;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.luxegem.market.client.ProviderHttpClient;
+import com.luxegem.market.model.MetalPrices;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Set;
+
+/**
+ * Gold, silver and platinum spot prices from metals.live, parsed token by
+ * token straight into {@link MetalPrices}.
+ */
+@Component
+public class MetalsLiveProvider implements MarketDataProvider {
+
+    private final ProviderHttpClient providerClient;
+    private final JsonFactory jsonFactory;
+    private final String baseUrl;
+
+    public MetalsLiveProvider(ProviderHttpClient providerClient, ObjectMapper objectMapper,
+            @Value("${market.providers.metals-live.base-url:https://api.metals.live/v1/spot}") String baseUrl) {
+        this.providerClient = providerClient;
+        this.jsonFactory = objectMapper.getFactory();
+        this.baseUrl = baseUrl;
+    }
+
+    @Override
+    public String name() {
+        return "metals.live";
+    }
+
+    @Override
+    public Set<MarketFeed> feeds() {
+        return Set.of(MarketFeed.METALS);
+    }
+
+    @Override
+    public MetalPrices fetchMetals() {
+        return providerClient.get(name(), baseUrl + "/metals?metals=gold,silver,platinum", this::parse);
+    }
+
+    /** {@code {"metals": {"gold": .., "silver": .., "platinum": ..}, ...}} */
+    MetalPrices parse(InputStream body) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "Expected a JSON object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                if ("metals".equals(field) && parser.currentToken() == JsonToken.START_OBJECT) {
+                    return parseMetals(parser);
+                }
+                parser.skipChildren();
+            }
+            throw new JsonParseException(parser, "Response has no metals object");
+        }
+    }
+
+    private static MetalPrices parseMetals(JsonParser parser) throws IOException {
+        Double gold = null;
+        Double silver = null;
+        Double platinum = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String metal = parser.currentName();
+            parser.nextToken();
+            switch (metal) {
+                case "gold" -> gold = parser.getDoubleValue();
+                case "silver" -> silver = parser.getDoubleValue();
+                case "platinum" -> platinum = parser.getDoubleValue();
+                default -> parser.skipChildren();
+            }
+        }
+        if (gold == null || silver == null || platinum == null) {
+            throw new JsonParseException(parser, "Response is missing gold, silver or platinum");
+        }
+        return new MetalPrices(gold, silver, platinum);
+    }
+}
@@ -0,0 +1,137 @@
+package com.luxegem.market.provider;
+
+import com.luxegem.market.model.CoinPrice;
+import com.luxegem.market.model.CryptoPrices;
+import com.luxegem.market.model.DiamondPrices;
+import com.luxegem.market.model.FxRates;
+import com.luxegem.market.model.MetalPrices;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * A local, seeded market feed for offline runs, load tests and replaying
+ * incidents. Every instrument follows a random walk that moves
+ * {@code market.simulated.tick-rate} times a second; the n-th tick is the same
+ * for a given seed, so two runs with the same seed see the same prices in the
+ * same order. Latency and failures can be injected per fetch. Each feed draws
+ * them from its own seeded sequence, so a feed's n-th fetch is delayed and
+ * fails the same way whichever order the feeds are polled in.
+ */
+@Component
+public class SimulatedMarketDataProvider implements MarketDataProvider {
+
+    // bitcoin, ethereum, gold, silver, platinum, 1, 2 and 5 carat diamonds, USD/INR
+    private static final double[] START_PRICES =
+            { 42500.0, 2250.0, 2050.0, 25.50, 1050.0, 4000.0, 9000.0, 27500.0, 83.0 };
+    private static final double[] CIRCULATING_SUPPLY = { 19_600_000, 120_000_000 };
+
+    private final Random ticks;
+    private final Map<MarketFeed, Random> faults = new EnumMap<>(MarketFeed.class);
+    private final double tickRate;
+    private final double volatility;
+    private final long latencyMs;
+    private final long latencyJitterMs;
+    private final double failureRate;
+    private final long startedAt = System.currentTimeMillis();
+    private final double[] prices = START_PRICES.clone();
+    private long appliedTicks;
+
+    public SimulatedMarketDataProvider(
+            @Value("${market.simulated.seed:42}") long seed,
+            @Value("${market.simulated.tick-rate:1}") double tickRate,
+            @Value("${market.simulated.volatility:0.0005}") double volatility,
+            @Value("${market.simulated.latency-ms:0}") long latencyMs,
+            @Value("${market.simulated.latency-jitter-ms:0}") long latencyJitterMs,
+            @Value("${market.simulated.failure-rate:0}") double failureRate) {
+        this.ticks = new Random(seed);
+        for (MarketFeed feed : MarketFeed.values()) {
+            faults.put(feed, new Random(~seed ^ feed.ordinal()));
+        }
+        this.tickRate = tickRate;
+        this.volatility = volatility;
+        this.latencyMs = latencyMs;
+        this.latencyJitterMs = latencyJitterMs;
+        this.failureRate = failureRate;
+    }
+
+    @Override
+    public String name() {
+        return "simulated";
+    }
+
+    @Override
+    public Set<MarketFeed> feeds() {
+        return EnumSet.allOf(MarketFeed.class);
+    }
+
+    @Override
+    public CryptoPrices fetchCrypto() {
+        double[] current = prices(MarketFeed.CRYPTO);
+        return new CryptoPrices(
+                new CoinPrice(round(current[0]), round(current[0] * CIRCULATING_SUPPLY[0]), null),
+                new CoinPrice(round(current[1]), round(current[1] * CIRCULATING_SUPPLY[1]), null));
+    }
+
+    @Override
+    public MetalPrices fetchMetals() {
+        double[] current = prices(MarketFeed.METALS);
+        return new MetalPrices(round(current[2]), round(current[3]), round(current[4]));
+    }
+
+    @Override
+    public DiamondPrices fetchDiamonds() {
+        double[] current = prices(MarketFeed.DIAMONDS);
+        return new DiamondPrices(round(current[5]), round(current[6]), round(current[7]), "Premium");
+    }
+
+    @Override
+    public FxRates fetchFx() {
+        return new FxRates(Math.round(prices(MarketFeed.FX)[8] * 10000) / 10000.0);
+    }
+
+    /** Injects latency and failures, then returns every instrument's price as of now. */
+    private double[] prices(MarketFeed feed) {
+        long delay;
+        boolean fail;
+        Random feedFaults = faults.get(feed);
+        synchronized (feedFaults) {
+            delay = latencyMs + (latencyJitterMs > 0 ? (long) (feedFaults.nextDouble() * (latencyJitterMs + 1)) : 0);
+            fail = feedFaults.nextDouble() < failureRate;
+        }
+        if (delay > 0) {
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while simulating latency", e);
+            }
+        }
+        if (fail) {
+            throw new IllegalStateException("Simulated " + feed.name().toLowerCase(Locale.ROOT) + " feed failure");
+        }
+        synchronized (this) {
+            advanceTo((long) ((System.currentTimeMillis() - startedAt) * tickRate / 1000));
+            return prices.clone();
+        }
+    }
+
+    /** Applies every tick due since the last fetch, in order. */
+    private void advanceTo(long dueTicks) {
+        for (; appliedTicks < dueTicks; appliedTicks++) {
+            for (int i = 0; i < prices.length; i++) {
+                prices[i] *= Math.exp(volatility * ticks.nextGaussian());
+            }
+        }
+    }
+
+    private static double round(double price) {
+        return Math.round(price * 100) / 100.0;
+    }
+}
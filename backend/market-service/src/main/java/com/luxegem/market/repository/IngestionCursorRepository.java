@@ -0,0 +1,7 @@
+package com.luxegem.market.repository;
+
+import com.luxegem.market.entity.IngestionCursorEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface IngestionCursorRepository extends JpaRepository<IngestionCursorEntity, String> {
+}
@@ -3,5 +3,12 @@ package com.luxegem.market.repository;
 import com.luxegem.market.entity.SalesCategoryEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.List;
+import java.util.Optional;
+
 public interface SalesCategoryRepository extends JpaRepository<SalesCategoryEntity, Long> {
+
+    List<SalesCategoryEntity> findByShopIdOrderByTotalSalesDesc(String shopId);
+
+    Optional<SalesCategoryEntity> findByShopIdAndName(String shopId, String name);
 }
@@ -3,5 +3,12 @@ package com.luxegem.market.repository;
 import com.luxegem.market.entity.StockAlertEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.List;
+import java.util.Optional;
+
 public interface StockAlertRepository extends JpaRepository<StockAlertEntity, Long> {
+
+    List<StockAlertEntity> findByShopIdOrderByQuantityAsc(String shopId);
+
+    Optional<StockAlertEntity> findByShopIdAndItemCode(String shopId, String itemCode);
 }
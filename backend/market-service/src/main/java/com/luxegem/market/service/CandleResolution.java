@@ -0,0 +1,47 @@
+package com.luxegem.market.service;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Optional;
+
+/** Candle widths served by {@link TickHistoryService}; buckets start on the minute, hour or day in local time. */
+public enum CandleResolution {
+    MINUTE("1m", ChronoUnit.MINUTES),
+    HOUR("1h", ChronoUnit.HOURS),
+    DAY("1d", ChronoUnit.DAYS);
+
+    private final String label;
+    private final ChronoUnit unit;
+
+    CandleResolution(String label, ChronoUnit unit) {
+        this.label = label;
+        this.unit = unit;
+    }
+
+    public String label() {
+        return label;
+    }
+
+    public static Optional<CandleResolution> of(String label) {
+        return Arrays.stream(values()).filter(resolution -> resolution.label.equals(label)).findFirst();
+    }
+
+    /** Start of the bucket holding {@code epochMillis}, epoch millis. */
+    long bucketStart(long epochMillis, ZoneId zone) {
+        return ZonedDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), zone)
+                .truncatedTo(unit)
+                .toInstant()
+                .toEpochMilli();
+    }
+
+    /** Start of the bucket {@code count} buckets before the one starting at {@code bucketStart}. */
+    long bucketsBefore(long bucketStart, long count, ZoneId zone) {
+        return ZonedDateTime.ofInstant(Instant.ofEpochMilli(bucketStart), zone)
+                .minus(count, unit)
+                .toInstant()
+                .toEpochMilli();
+    }
+}
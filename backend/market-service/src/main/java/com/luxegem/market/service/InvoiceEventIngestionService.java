@@ -0,0 +1,195 @@
+package com.luxegem.market.service;
+
+import com.luxegem.market.entity.IngestionCursorEntity;
+import com.luxegem.market.entity.SalesCategoryEntity;
+import com.luxegem.market.entity.StockAlertEntity;
+import com.luxegem.market.model.InvoiceEventMessage;
+import com.luxegem.market.repository.IngestionCursorRepository;
+import com.luxegem.market.repository.SalesCategoryRepository;
+import com.luxegem.market.repository.StockAlertRepository;
+import com.luxegem.market.security.JwtService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Follows invoice-service's event log with a persisted watermark and keeps the
+ * per-shop sales-by-category totals and low-stock alerts up to date. Each
+ * event touches one category or one alert row, so reads stay O(categories)
+ * no matter how many invoices a shop has.
+ */
+@Service
+public class InvoiceEventIngestionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(InvoiceEventIngestionService.class);
+    private static final String SOURCE = "invoice-service";
+    private static final long SERVICE_TOKEN_TTL_MS = 5 * 60 * 1000L;
+
+    private final RestTemplate restTemplate;
+    private final JwtService jwtService;
+    private final IngestionCursorRepository cursorRepository;
+    private final SalesCategoryRepository salesCategoryRepository;
+    private final StockAlertRepository stockAlertRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final String invoiceBaseUrl;
+    private final int batchSize;
+    private final int warningThreshold;
+    private final int criticalThreshold;
+
+    public InvoiceEventIngestionService(
+            RestTemplate restTemplate,
+            JwtService jwtService,
+            IngestionCursorRepository cursorRepository,
+            SalesCategoryRepository salesCategoryRepository,
+            StockAlertRepository stockAlertRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${services.invoice.base-url}") String invoiceBaseUrl,
+            @Value("${market.ingestion.batch-size:500}") int batchSize,
+            @Value("${market.stock-alerts.warning-threshold:5}") int warningThreshold,
+            @Value("${market.stock-alerts.critical-threshold:2}") int criticalThreshold) {
+        this.restTemplate = restTemplate;
+        this.jwtService = jwtService;
+        this.cursorRepository = cursorRepository;
+        this.salesCategoryRepository = salesCategoryRepository;
+        this.stockAlertRepository = stockAlertRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.invoiceBaseUrl = invoiceBaseUrl;
+        this.batchSize = batchSize;
+        this.warningThreshold = warningThreshold;
+        this.criticalThreshold = criticalThreshold;
+    }
+
+    @Scheduled(fixedDelayString = "${market.ingestion.interval-ms:5000}")
+    public void poll() {
+        try {
+            int applied;
+            do {
+                long after = cursorRepository.findById(SOURCE).map(IngestionCursorEntity::getLastEventId).orElse(0L);
+                List<InvoiceEventMessage> events = fetch(after);
+                applied = events.size();
+                if (applied > 0) {
+                    transactionTemplate.executeWithoutResult(status -> apply(events));
+                }
+            } while (applied == batchSize);
+        } catch (Exception e) {
+            logger.warn("Invoice event ingestion failed, will retry: {}", e.getMessage());
+        }
+    }
+
+    private List<InvoiceEventMessage> fetch(long after) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(jwtService.generateServiceToken("market-service", SERVICE_TOKEN_TTL_MS));
+        List<InvoiceEventMessage> events = restTemplate.exchange(
+                invoiceBaseUrl + "/api/events?after={after}&limit={limit}",
+                HttpMethod.GET,
+                new HttpEntity<>(headers),
+                new ParameterizedTypeReference<List<InvoiceEventMessage>>() {
+                },
+                after, batchSize).getBody();
+        return events == null ? List.of() : events;
+    }
+
+    private void apply(List<InvoiceEventMessage> events) {
+        IngestionCursorEntity cursor = cursorRepository.findById(SOURCE)
+                .orElseGet(() -> new IngestionCursorEntity(SOURCE));
+        Set<String> touchedShops = new HashSet<>();
+
+        for (InvoiceEventMessage event : events) {
+            if (event.id() <= cursor.getLastEventId() || event.shopId() == null) {
+                continue;
+            }
+            Map<String, Object> payload = event.payload();
+            switch (event.type()) {
+                case "INVOICE_CREATED" -> {
+                    if (!isCancelled(payload.get("status"))) {
+                        addSales(event.shopId(), payload, 1);
+                        touchedShops.add(event.shopId());
+                    }
+                }
+                case "INVOICE_STATUS_CHANGED" -> {
+                    boolean wasCancelled = isCancelled(payload.get("previousStatus"));
+                    boolean isCancelled = isCancelled(payload.get("status"));
+                    if (wasCancelled != isCancelled) {
+                        addSales(event.shopId(), payload, isCancelled ? -1 : 1);
+                        touchedShops.add(event.shopId());
+                    }
+                }
+                case "STOCK_CHANGED" -> updateStockAlert(event.shopId(), event.aggregateId(), payload);
+                default -> {
+                }
+            }
+        }
+
+        touchedShops.forEach(this::recomputeShares);
+        cursor.advanceTo(events.get(events.size() - 1).id());
+        cursorRepository.save(cursor);
+    }
+
+    private void addSales(String shopId, Map<String, Object> payload, int sign) {
+        String category = categoryFor(String.valueOf(payload.get("type")));
+        SalesCategoryEntity entity = salesCategoryRepository.findByShopIdAndName(shopId, category)
+                .orElseGet(() -> new SalesCategoryEntity(shopId, category));
+        entity.addSales(sign * toDouble(payload.get("amount")));
+        salesCategoryRepository.save(entity);
+    }
+
+    private void recomputeShares(String shopId) {
+        List<SalesCategoryEntity> categories = salesCategoryRepository.findByShopIdOrderByTotalSalesDesc(shopId);
+        double total = categories.stream().mapToDouble(SalesCategoryEntity::getTotalSales).sum();
+        for (SalesCategoryEntity category : categories) {
+            category.setPercent(total <= 0 ? 0 : (int) Math.round(category.getTotalSales() * 100 / total));
+        }
+        salesCategoryRepository.saveAll(categories);
+    }
+
+    private void updateStockAlert(String shopId, String itemCode, Map<String, Object> payload) {
+        int quantity = (int) toDouble(payload.get("stockQuantity"));
+        if (quantity > warningThreshold) {
+            stockAlertRepository.findByShopIdAndItemCode(shopId, itemCode).ifPresent(stockAlertRepository::delete);
+            return;
+        }
+
+        StockAlertEntity alert = stockAlertRepository.findByShopIdAndItemCode(shopId, itemCode)
+                .orElseGet(() -> new StockAlertEntity(shopId, itemCode));
+        alert.update(String.valueOf(payload.get("itemName")), quantity,
+                quantity <= criticalThreshold ? "Critical" : "Warning");
+        stockAlertRepository.save(alert);
+    }
+
+    private String categoryFor(String invoiceType) {
+        String type = invoiceType.toUpperCase(Locale.ROOT);
+        if (type.startsWith("GOLD")) {
+            return "Gold Jewelry";
+        }
+        if (type.equals("DIAMOND")) {
+            return "Diamond";
+        }
+        return "Silver & Others";
+    }
+
+    private boolean isCancelled(Object status) {
+        return status != null && String.valueOf(status).toLowerCase(Locale.ROOT).startsWith("cancel");
+    }
+
+    private double toDouble(Object value) {
+        if (value instanceof Number number) {
+            return number.doubleValue();
+        }
+        return value == null ? 0 : Double.parseDouble(String.valueOf(value));
+    }
+}
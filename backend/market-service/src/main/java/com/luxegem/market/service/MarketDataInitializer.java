@@ -1,11 +1,7 @@
 package com.luxegem.market.service;
 
 import com.luxegem.market.entity.MarketRateEntity;
-import com.luxegem.market.entity.SalesCategoryEntity;
-import com.luxegem.market.entity.StockAlertEntity;
 import com.luxegem.market.repository.MarketRateRepository;
-import com.luxegem.market.repository.SalesCategoryRepository;
-import com.luxegem.market.repository.StockAlertRepository;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Component;
 
@@ -15,17 +11,9 @@ import java.util.List;
 public class MarketDataInitializer implements CommandLineRunner {
 
     private final MarketRateRepository marketRateRepository;
-    private final SalesCategoryRepository salesCategoryRepository;
-    private final StockAlertRepository stockAlertRepository;
 
-    public MarketDataInitializer(
-            MarketRateRepository marketRateRepository,
-            SalesCategoryRepository salesCategoryRepository,
-            StockAlertRepository stockAlertRepository
-    ) {
+    public MarketDataInitializer(MarketRateRepository marketRateRepository) {
         this.marketRateRepository = marketRateRepository;
-        this.salesCategoryRepository = salesCategoryRepository;
-        this.stockAlertRepository = stockAlertRepository;
     }
 
     @Override
@@ -43,20 +31,5 @@ public class MarketDataInitializer implements CommandLineRunner {
                     new MarketRateEntity("PLATINUM", 3650.00, "g", "INR", 0.3)
             ));
         }
-
-        if (salesCategoryRepository.count() == 0) {
-            salesCategoryRepository.saveAll(List.of(
-                    new SalesCategoryEntity("Gold Jewelry", 62, 7890),
-                    new SalesCategoryEntity("Diamond", 28, 3560),
-                    new SalesCategoryEntity("Silver & Others", 10, 1000)
-            ));
-        }
-
-        if (stockAlertRepository.count() == 0) {
-            stockAlertRepository.saveAll(List.of(
-                    new StockAlertEntity("Pearl Earring Set", "Only 2 left in stock", "Critical"),
-                    new StockAlertEntity("Silver Charm Bracelet", "Low stock (5 left)", "Warning")
-            ));
-        }
     }
 }
@@ -1,235 +1,240 @@
 package com.luxegem.market.service;
 
+import com.luxegem.market.model.CoinPrice;
+import com.luxegem.market.model.CryptoPrices;
+import com.luxegem.market.model.CryptoPricesResponse;
+import com.luxegem.market.model.DiamondPrices;
+import com.luxegem.market.model.DiamondRatesResponse;
+import com.luxegem.market.model.FxRates;
+import com.luxegem.market.model.MarketOverviewResponse;
+import com.luxegem.market.model.MetalPrices;
+import com.luxegem.market.model.MetalPricesResponse;
+import com.luxegem.market.model.MetalRateResponse;
+import com.luxegem.market.model.SpotRateTableResponse;
+import com.luxegem.market.provider.MarketDataProvider;
+import com.luxegem.market.provider.MarketFeed;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import java.util.*;
-
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Crypto, precious metal and diamond prices, polled in the background from
+ * the {@link MarketDataProvider} configured for each {@link MarketFeed}. Each
+ * refresh fetches all feeds concurrently and publishes an immutable
+ * {@link MarketSnapshot} with every response already built, so requests only
+ * read the current snapshot and never wait on a provider. A provider that
+ * fails keeps serving its last prices under their original
+ * {@code updated_at}; until it first answers, fixed fallback prices are served.
+ *
+ * <p>The exchange rate is polled only once it is older than
+ * {@code market.fx.refresh-ms}, and each snapshot carries the spot prices
+ * converted to INR per gram by {@link SpotRateConverter}.
+ *
+ * <p>Refreshes run on a poller thread of their own rather than the shared
+ * Spring scheduler, which a refresh would otherwise occupy for up to
+ * {@code market.data.poll-timeout-ms} while ingestion, purity rate and stream
+ * jobs wait behind it.
+ */
 @Service
 public class MarketDataService {
 
     private static final Logger logger = LoggerFactory.getLogger(MarketDataService.class);
-    private final RestTemplate restTemplate;
-    private final ObjectMapper objectMapper;
+    private static final List<String> METALS = List.of("gold", "silver", "platinum");
+    private static final CryptoPrices FALLBACK_CRYPTO = new CryptoPrices(
+            new CoinPrice(42500.0, 835000000000.0, null),
+            new CoinPrice(2250.0, 270000000000.0, null));
+    private static final MetalPrices FALLBACK_METALS = new MetalPrices(2050.0, 25.50, 1050.0);
+    private static final DiamondPrices FALLBACK_DIAMONDS = new DiamondPrices(4000.0, 9000.0, 27500.0, "Premium");
+    private static final FxRates FALLBACK_FX = new FxRates(83.0);
+    private final Map<MarketFeed, MarketDataProvider> providers;
+    private final TaskExecutor taskExecutor;
+    private final ScheduledExecutorService poller;
+    private final long pollMs;
+    private final long pollTimeoutMs;
+    private final long fxRefreshMs;
+    private final SpotRateConverter spotRateConverter;
+    private final AtomicReference<MarketSnapshot> snapshot;
+
+    public MarketDataService(
+            List<MarketDataProvider> availableProviders,
+            @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor,
+            @Value("${market.data.poll-ms:30000}") long pollMs,
+            @Value("${market.data.poll-timeout-ms:8000}") long pollTimeoutMs,
+            @Value("${market.providers.crypto:coingecko}") String cryptoProvider,
+            @Value("${market.providers.metals:metals.live}") String metalsProvider,
+            @Value("${market.providers.diamonds:simulated}") String diamondsProvider,
+            @Value("${market.providers.fx:frankfurter}") String fxProvider,
+            @Value("${market.fx.refresh-ms:3600000}") long fxRefreshMs,
+            @Value("${market.fx.max-age-ms:129600000}") long fxMaxAgeMs,
+            @Value("${market.spot-rates.max-metals-age-ms:300000}") long metalsMaxAgeMs) {
+        this.providers = new EnumMap<>(MarketFeed.class);
+        this.providers.put(MarketFeed.CRYPTO, select(availableProviders, MarketFeed.CRYPTO, cryptoProvider));
+        this.providers.put(MarketFeed.METALS, select(availableProviders, MarketFeed.METALS, metalsProvider));
+        this.providers.put(MarketFeed.DIAMONDS, select(availableProviders, MarketFeed.DIAMONDS, diamondsProvider));
+        this.providers.put(MarketFeed.FX, select(availableProviders, MarketFeed.FX, fxProvider));
+        this.taskExecutor = taskExecutor;
+        this.poller = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("market-poll-"));
+        this.pollMs = pollMs;
+        this.pollTimeoutMs = pollTimeoutMs;
+        this.fxRefreshMs = fxRefreshMs;
+        this.spotRateConverter = new SpotRateConverter(metalsMaxAgeMs, fxMaxAgeMs);
+        long now = System.currentTimeMillis();
+        this.snapshot = new AtomicReference<>(build(
+                fallback(MarketFeed.CRYPTO, FALLBACK_CRYPTO, now),
+                fallback(MarketFeed.METALS, FALLBACK_METALS, now),
+                fallback(MarketFeed.DIAMONDS, FALLBACK_DIAMONDS, now),
+                fallback(MarketFeed.FX, FALLBACK_FX, now),
+                now));
+    }
 
-    private static final String COINGECKO_API = "https://api.coingecko.com/api/v3";
-    private static final String METALS_API = "https://api.metals.live/v1/spot";
+    @PostConstruct
+    void startPolling() {
+        poller.scheduleWithFixedDelay(() -> {
+            // An escaping exception would cancel every later run.
+            try {
+                refresh();
+            } catch (RuntimeException e) {
+                logger.error("Market data refresh failed", e);
+            }
+        }, 0, pollMs, TimeUnit.MILLISECONDS);
+    }
 
-    public MarketDataService(RestTemplate restTemplate, ObjectMapper objectMapper) {
-        this.restTemplate = restTemplate;
-        this.objectMapper = objectMapper;
+    @PreDestroy
+    void stopPolling() {
+        poller.shutdownNow();
     }
 
     /**
-     * Get cryptocurrency prices from CoinGecko
+     * Polls every feed in parallel and publishes a new snapshot. Runs on the poller thread, never on a
+     * request thread; a feed that has not answered within the poll timeout keeps its previous data.
      */
-    public Map<String, Object> getCryptoPrices() {
-        try {
-            String url = COINGECKO_API + "/simple/price?ids=bitcoin,ethereum&vs_currencies=usd&include_market_cap=true&include_24hr_vol=true";
-            logger.debug("Fetching crypto prices from CoinGecko: {}", url);
-            
-            Map response = restTemplate.getForObject(url, Map.class);
-            logger.info("Successfully fetched crypto prices");
-            return response;
-        } catch (Exception e) {
-            logger.error("Failed to fetch crypto prices: {}", e.getMessage());
-            return generateMockCryptoPrices();
-        }
+    public void refresh() {
+        MarketSnapshot previous = snapshot.get();
+        CompletableFuture<MarketSnapshot.Feed<CryptoPrices>> crypto =
+                pollAsync(MarketFeed.CRYPTO, MarketDataProvider::fetchCrypto, previous.crypto());
+        CompletableFuture<MarketSnapshot.Feed<MetalPrices>> metals =
+                pollAsync(MarketFeed.METALS, MarketDataProvider::fetchMetals, previous.metals());
+        CompletableFuture<MarketSnapshot.Feed<DiamondPrices>> diamonds =
+                pollAsync(MarketFeed.DIAMONDS, MarketDataProvider::fetchDiamonds, previous.diamonds());
+        // Reference FX rates move daily at most
+        CompletableFuture<MarketSnapshot.Feed<FxRates>> fx =
+                previous.fx().live() && System.currentTimeMillis() - previous.fx().updatedAt() < fxRefreshMs
+                        ? CompletableFuture.completedFuture(previous.fx())
+                        : pollAsync(MarketFeed.FX, MarketDataProvider::fetchFx, previous.fx());
+        snapshot.set(build(crypto.join(), metals.join(), diamonds.join(), fx.join(), System.currentTimeMillis()));
     }
 
     /**
-     * Get precious metals prices
+     * Cryptocurrency prices from the latest snapshot
      */
-    public Map<String, Object> getMetalsPrices() {
-        try {
-            String url = METALS_API + "/metals?metals=gold,silver,platinum";
-            logger.debug("Fetching metals prices: {}", url);
-            
-            String response = restTemplate.getForObject(url, String.class);
-            JsonNode jsonNode = objectMapper.readTree(response);
-            
-            Map<String, Object> result = new HashMap<>();
-            JsonNode metals = jsonNode.get("metals");
-            
-            if (metals != null) {
-                result.put("gold", metals.get("gold"));
-                result.put("silver", metals.get("silver"));
-                result.put("platinum", metals.get("platinum"));
-            }
-            
-            logger.info("Successfully fetched metals prices");
-            return result;
-        } catch (Exception e) {
-            logger.error("Failed to fetch metals prices: {}", e.getMessage());
-            return generateMockMetalsPrices();
-        }
+    public CryptoPricesResponse getCryptoPrices() {
+        return snapshot.get().cryptoRates();
     }
 
     /**
-     * Get market overview with all rates
+     * Precious metals prices from the latest snapshot
      */
-    public Map<String, Object> getMarketOverview() {
-        Map<String, Object> overview = new HashMap<>();
-        
-        try {
-            // Fetch crypto prices
-            Map<String, Object> cryptoPrices = getCryptoPrices();
-            overview.put("cryptocurrencies", cryptoPrices);
-            
-            // Fetch metals prices
-            Map<String, Object> metalsPrices = getMetalsPrices();
-            overview.put("metals", metalsPrices);
-            
-            // Add market status
-            overview.put("timestamp", System.currentTimeMillis());
-            overview.put("status", "active");
-            
-            logger.info("Market overview generated successfully");
-        } catch (Exception e) {
-            logger.error("Error generating market overview: {}", e.getMessage());
-            overview.put("error", "Failed to fetch real-time data");
-            overview.put("data", generateMockMarketData());
-        }
-        
-        return overview;
+    public MetalPricesResponse getMetalsPrices() {
+        return snapshot.get().metalsRates();
     }
 
     /**
-     * Get specific product market rates
+     * Market overview with all rates from the latest snapshot
      */
-    public Map<String, Object> getProductRates(String productType) {
-        Map<String, Object> rates = new HashMap<>();
-        
-        switch (productType.toLowerCase()) {
-            case "diamond":
-                rates = getDiamondRates();
-                break;
-            case "gold":
-                rates = getGoldRates();
-                break;
-            case "silver":
-                rates = getSilverRates();
-                break;
-            case "platinum":
-                rates = getPlatinumRates();
-                break;
-            case "crypto":
-                rates = getCryptoPrices();
-                break;
-            default:
-                rates = getMarketOverview();
-        }
-        
-        return rates;
+    public MarketOverviewResponse getMarketOverview() {
+        return snapshot.get().overview();
     }
 
-    private Map<String, Object> getDiamondRates() {
-        try {
-            // Diamond prices vary by carat, color, clarity
-            Map<String, Object> rates = new HashMap<>();
-            rates.put("1carat_price_usd", 3500 + Math.random() * 1000);
-            rates.put("2carat_price_usd", 8000 + Math.random() * 2000);
-            rates.put("5carat_price_usd", 25000 + Math.random() * 5000);
-            rates.put("currency", "USD");
-            rates.put("updated_at", System.currentTimeMillis());
-            rates.put("quality", "Premium");
-            logger.debug("Generated diamond rates");
-            return rates;
-        } catch (Exception e) {
-            logger.error("Error fetching diamond rates: {}", e.getMessage());
-            return new HashMap<>();
-        }
+    /**
+     * Diamond prices by carat weight from the latest snapshot
+     */
+    public DiamondRatesResponse getDiamondRates() {
+        return snapshot.get().diamondRates();
     }
 
-    private Map<String, Object> getGoldRates() {
-        try {
-            Map<String, Object> metalsPrices = getMetalsPrices();
-            Map<String, Object> result = new HashMap<>();
-            
-            if (metalsPrices.containsKey("gold")) {
-                result.put("gold", metalsPrices.get("gold"));
-            } else {
-                result.put("price_per_oz_usd", 2000 + Math.random() * 100);
-            }
-            
-            result.put("currency", "USD");
-            result.put("unit", "per ounce");
-            result.put("updated_at", System.currentTimeMillis());
-            logger.debug("Generated gold rates");
-            return result;
-        } catch (Exception e) {
-            logger.error("Error fetching gold rates: {}", e.getMessage());
-            return new HashMap<>();
-        }
+    /**
+     * One metal's spot price from the latest snapshot
+     */
+    public MetalRateResponse getMetalRate(String metal) {
+        return snapshot.get().metalRates().get(metal);
     }
 
-    private Map<String, Object> getSilverRates() {
-        try {
-            Map<String, Object> metalsPrices = getMetalsPrices();
-            Map<String, Object> result = new HashMap<>();
-            
-            if (metalsPrices.containsKey("silver")) {
-                result.put("silver", metalsPrices.get("silver"));
-            } else {
-                result.put("price_per_oz_usd", 25 + Math.random() * 5);
-            }
-            
-            result.put("currency", "USD");
-            result.put("unit", "per ounce");
-            result.put("updated_at", System.currentTimeMillis());
-            logger.debug("Generated silver rates");
-            return result;
-        } catch (Exception e) {
-            logger.error("Error fetching silver rates: {}", e.getMessage());
-            return new HashMap<>();
-        }
+    /**
+     * Spot prices in INR per gram by purity from the latest snapshot
+     */
+    public SpotRateTableResponse getSpotRates() {
+        return snapshot.get().spotRates();
     }
 
-    private Map<String, Object> getPlatinumRates() {
+    private static MarketDataProvider select(List<MarketDataProvider> available, MarketFeed feed, String name) {
+        return available.stream()
+                .filter(provider -> provider.name().equals(name) && provider.feeds().contains(feed))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("No market data provider named '" + name
+                        + "' supplies " + feed + "; available: " + available.stream()
+                                .filter(provider -> provider.feeds().contains(feed))
+                                .map(MarketDataProvider::name)
+                                .collect(Collectors.joining(", "))));
+    }
+
+    private <T> CompletableFuture<MarketSnapshot.Feed<T>> pollAsync(MarketFeed feed,
+            Function<MarketDataProvider, T> fetch, MarketSnapshot.Feed<T> previous) {
+        return CompletableFuture.supplyAsync(() -> poll(feed, fetch, previous), taskExecutor)
+                .completeOnTimeout(previous, pollTimeoutMs, TimeUnit.MILLISECONDS);
+    }
+
+    private <T> MarketSnapshot.Feed<T> poll(MarketFeed feed, Function<MarketDataProvider, T> fetch,
+            MarketSnapshot.Feed<T> previous) {
+        MarketDataProvider provider = providers.get(feed);
         try {
-            Map<String, Object> metalsPrices = getMetalsPrices();
-            Map<String, Object> result = new HashMap<>();
-            
-            if (metalsPrices.containsKey("platinum")) {
-                result.put("platinum", metalsPrices.get("platinum"));
-            } else {
-                result.put("price_per_oz_usd", 1000 + Math.random() * 200);
-            }
-            
-            result.put("currency", "USD");
-            result.put("unit", "per ounce");
-            result.put("updated_at", System.currentTimeMillis());
-            logger.debug("Generated platinum rates");
-            return result;
+            return new MarketSnapshot.Feed<>(provider.name(), fetch.apply(provider), System.currentTimeMillis(), true);
         } catch (Exception e) {
-            logger.error("Error fetching platinum rates: {}", e.getMessage());
-            return new HashMap<>();
+            logger.warn("Failed to fetch {} prices from {}, serving {} data: {}", feed, provider.name(),
+                    previous.live() ? "last fetched" : "fallback", e.getMessage());
+            return previous;
         }
     }
 
-    private Map<String, Object> generateMockCryptoPrices() {
-        Map<String, Object> mock = new HashMap<>();
-        mock.put("bitcoin", Map.of("usd", 42500.0, "market_cap", 835000000000.0));
-        mock.put("ethereum", Map.of("usd", 2250.0, "market_cap", 270000000000.0));
-        return mock;
+    private <T> MarketSnapshot.Feed<T> fallback(MarketFeed feed, T data, long now) {
+        return new MarketSnapshot.Feed<>(providers.get(feed).name(), data, now, false);
     }
 
-    private Map<String, Object> generateMockMetalsPrices() {
-        Map<String, Object> mock = new HashMap<>();
-        mock.put("gold", 2050.0);
-        mock.put("silver", 25.50);
-        mock.put("platinum", 1050.0);
-        return mock;
-    }
-
-    private Map<String, Object> generateMockMarketData() {
-        Map<String, Object> mock = new HashMap<>();
-        mock.put("cryptocurrencies", generateMockCryptoPrices());
-        mock.put("metals", generateMockMetalsPrices());
-        mock.put("diamonds", Map.of("price", 3500.0));
-        return mock;
+    /**
+     * Builds every response once per refresh.
+     */
+    private MarketSnapshot build(MarketSnapshot.Feed<CryptoPrices> crypto, MarketSnapshot.Feed<MetalPrices> metals,
+            MarketSnapshot.Feed<DiamondPrices> diamonds, MarketSnapshot.Feed<FxRates> fx, long now) {
+        CryptoPricesResponse cryptoRates = new CryptoPricesResponse(crypto.data().bitcoin(),
+                crypto.data().ethereum(), crypto.updatedAt(), crypto.source(), crypto.provider());
+        MetalPricesResponse metalsRates = new MetalPricesResponse(metals.data().gold(), metals.data().silver(),
+                metals.data().platinum(), metals.updatedAt(), metals.source(), metals.provider());
+        // Diamond prices vary by carat, color, clarity
+        DiamondRatesResponse diamondRates = new DiamondRatesResponse(diamonds.data().oneCarat(),
+                diamonds.data().twoCarat(), diamonds.data().fiveCarat(), "USD", diamonds.data().quality(),
+                diamonds.updatedAt(), diamonds.source(), diamonds.provider());
+
+        Map<String, MetalRateResponse> metalRates = new HashMap<>();
+        for (String metal : METALS) {
+            metalRates.put(metal, new MetalRateResponse(metal, metals.data().price(metal), "USD", "per ounce",
+                    metals.updatedAt(), metals.source(), metals.provider()));
+        }
+        MarketOverviewResponse overview = new MarketOverviewResponse(cryptoRates, metalsRates, now,
+                crypto.live() && metals.live() ? "active" : "degraded");
+        return new MarketSnapshot(crypto, metals, diamonds, fx, now, cryptoRates, metalsRates, diamondRates,
+                Map.copyOf(metalRates), overview, spotRateConverter.apply(metals, fx, now));
     }
 }
@@ -0,0 +1,214 @@
+package com.luxegem.market.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.luxegem.market.entity.MarketRateEntity;
+import com.luxegem.market.entity.SalesCategoryEntity;
+import com.luxegem.market.entity.StockAlertEntity;
+import com.luxegem.market.model.MarketRateResponse;
+import com.luxegem.market.model.SalesCategoryResponse;
+import com.luxegem.market.model.StockAlertResponse;
+import com.luxegem.market.repository.MarketRateRepository;
+import com.luxegem.market.repository.SalesCategoryRepository;
+import com.luxegem.market.repository.StockAlertRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Market rates and every shop's sales categories and stock alerts, held in
+ * memory as one immutable, versioned snapshot. Each refresh reads only the
+ * per-table counters kept by {@link TableVersionInstaller}'s triggers and
+ * reloads just the tables whose counter moved. Every list carries the version
+ * at which it last changed, for cheap change checks; a shop's version does not
+ * move when only other shops' data changed.
+ *
+ * <p>Versions count from zero in each process, so every list also carries a
+ * digest of its JSON for ETags, which stays the same across restarts and
+ * instances for as long as the content does.
+ */
+@Service
+public class MarketReadModel {
+
+    private static final Logger logger = LoggerFactory.getLogger(MarketReadModel.class);
+
+    static final List<String> TABLES = List.of("market_rates", "sales_categories", "stock_alerts");
+
+    /**
+     * A value and the read model version at which it last changed.
+     *
+     * @param tag digest of the value's JSON
+     */
+    public record Versioned<T>(long version, T value, String tag) {
+    }
+
+    private record Snapshot(
+            long version,
+            Map<String, Long> tableVersions,
+            Versioned<List<MarketRateResponse>> rates,
+            Map<String, Versioned<List<SalesCategoryResponse>>> salesCategories,
+            Map<String, Versioned<List<StockAlertResponse>>> stockAlerts) {
+    }
+
+    private static final String EMPTY_TAG = DigestUtils.md5DigestAsHex("[]".getBytes(StandardCharsets.UTF_8));
+    private static final Versioned<List<MarketRateResponse>> NO_RATES = new Versioned<>(0, List.of(), EMPTY_TAG);
+    private static final Versioned<List<SalesCategoryResponse>> NO_CATEGORIES =
+            new Versioned<>(0, List.of(), EMPTY_TAG);
+    private static final Versioned<List<StockAlertResponse>> NO_ALERTS = new Versioned<>(0, List.of(), EMPTY_TAG);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final MarketRateRepository marketRateRepository;
+    private final SalesCategoryRepository salesCategoryRepository;
+    private final StockAlertRepository stockAlertRepository;
+    private volatile Snapshot snapshot;
+
+    public MarketReadModel(
+            JdbcTemplate jdbcTemplate,
+            ObjectMapper objectMapper,
+            MarketRateRepository marketRateRepository,
+            SalesCategoryRepository salesCategoryRepository,
+            StockAlertRepository stockAlertRepository) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.marketRateRepository = marketRateRepository;
+        this.salesCategoryRepository = salesCategoryRepository;
+        this.stockAlertRepository = stockAlertRepository;
+    }
+
+    public long version() {
+        Snapshot current = snapshot;
+        return current == null ? 0 : current.version();
+    }
+
+    public Versioned<List<MarketRateResponse>> rates() {
+        Snapshot current = snapshot;
+        return current == null ? NO_RATES : current.rates();
+    }
+
+    public Versioned<List<SalesCategoryResponse>> salesCategories(String shopId) {
+        Snapshot current = snapshot;
+        return current == null ? NO_CATEGORIES : current.salesCategories().getOrDefault(shopId, NO_CATEGORIES);
+    }
+
+    public Versioned<List<StockAlertResponse>> stockAlerts(String shopId) {
+        Snapshot current = snapshot;
+        return current == null ? NO_ALERTS : current.stockAlerts().getOrDefault(shopId, NO_ALERTS);
+    }
+
+    /** Skipped until {@link TableVersionInstaller} has done the first load. */
+    @Scheduled(fixedDelayString = "${market.read-model.refresh-ms:1000}")
+    public void refreshIfLoaded() {
+        if (snapshot != null) {
+            refresh();
+        }
+    }
+
+    /**
+     * Reloads the tables whose counter moved since the last refresh. Counters are
+     * read before the data, so a write landing in between is picked up next time.
+     */
+    public synchronized void refresh() {
+        Map<String, Long> tableVersions = new HashMap<>();
+        jdbcTemplate.query("SELECT table_name, version FROM table_versions",
+                rs -> { tableVersions.put(rs.getString(1), rs.getLong(2)); });
+        Snapshot previous = snapshot;
+        if (previous != null && previous.tableVersions().equals(tableVersions)) {
+            return;
+        }
+
+        long next = (previous == null ? 0 : previous.version()) + 1;
+        Versioned<List<MarketRateResponse>> rates = previous == null ? null : previous.rates();
+        if (rates == null || changed("market_rates", previous, tableVersions)) {
+            List<MarketRateResponse> loaded = marketRateRepository.findAll().stream()
+                    .sorted(Comparator.comparing(MarketRateEntity::getId))
+                    .map(rate -> new MarketRateResponse(
+                            rate.getMetal(),
+                            rate.getPricePerGram(),
+                            rate.getUnit() == null ? "g" : rate.getUnit(),
+                            rate.getCurrency() == null ? "INR" : rate.getCurrency(),
+                            rate.getChangePercent()))
+                    .toList();
+            rates = rates != null && rates.value().equals(loaded) ? rates : versioned(next, loaded);
+        }
+
+        Map<String, Versioned<List<SalesCategoryResponse>>> salesCategories =
+                previous == null ? Map.of() : previous.salesCategories();
+        if (previous == null || changed("sales_categories", previous, tableVersions)) {
+            salesCategories = merge(salesCategories, byShop(salesCategoryRepository.findAll(),
+                    SalesCategoryEntity::getShopId,
+                    Comparator.comparingDouble(SalesCategoryEntity::getTotalSales).reversed()
+                            .thenComparing(SalesCategoryEntity::getId),
+                    category -> new SalesCategoryResponse(category.getName(), category.getPercent(),
+                            category.getTotalSales())), next);
+        }
+
+        Map<String, Versioned<List<StockAlertResponse>>> stockAlerts =
+                previous == null ? Map.of() : previous.stockAlerts();
+        if (previous == null || changed("stock_alerts", previous, tableVersions)) {
+            stockAlerts = merge(stockAlerts, byShop(stockAlertRepository.findAll(),
+                    StockAlertEntity::getShopId,
+                    Comparator.comparingInt(StockAlertEntity::getQuantity).thenComparing(StockAlertEntity::getId),
+                    alert -> new StockAlertResponse(alert.getItem(), alert.getNote(), alert.getLevel())), next);
+        }
+
+        boolean anyChanged = rates.version() == next
+                || salesCategories.values().stream().anyMatch(categories -> categories.version() == next)
+                || stockAlerts.values().stream().anyMatch(alerts -> alerts.version() == next);
+        snapshot = new Snapshot(anyChanged ? next : previous.version(), Map.copyOf(tableVersions), rates,
+                salesCategories, stockAlerts);
+        if (anyChanged) {
+            logger.info("Market read model v{}: {} rates, {} shops with categories, {} shops with alerts", next,
+                    rates.value().size(), salesCategories.size(), stockAlerts.size());
+        }
+    }
+
+    private static boolean changed(String table, Snapshot previous, Map<String, Long> tableVersions) {
+        return !tableVersions.getOrDefault(table, 0L).equals(previous.tableVersions().getOrDefault(table, 0L));
+    }
+
+    private <T> Versioned<T> versioned(long version, T value) {
+        try {
+            return new Versioned<>(version, value, DigestUtils.md5DigestAsHex(objectMapper.writeValueAsBytes(value)));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static <E, T> Map<String, List<T>> byShop(List<E> rows, Function<E, String> shopId,
+            Comparator<E> order, Function<E, T> toResponse) {
+        return rows.stream()
+                .filter(row -> shopId.apply(row) != null)
+                .sorted(order)
+                .collect(Collectors.groupingBy(shopId,
+                        Collectors.mapping(toResponse, Collectors.toUnmodifiableList())));
+    }
+
+    /** Keeps the previous entry, and its version, for every shop whose list is unchanged. */
+    private <T> Map<String, Versioned<List<T>>> merge(Map<String, Versioned<List<T>>> previous,
+            Map<String, List<T>> loaded, long version) {
+        Set<String> shops = new HashSet<>(previous.keySet());
+        shops.addAll(loaded.keySet());
+        Map<String, Versioned<List<T>>> result = new HashMap<>();
+        for (String shop : shops) {
+            List<T> value = loaded.getOrDefault(shop, List.of());
+            Versioned<List<T>> old = previous.get(shop);
+            result.put(shop, old != null && old.value().equals(value) ? old : versioned(version, value));
+        }
+        return Map.copyOf(result);
+    }
+}
@@ -0,0 +1,52 @@
+package com.luxegem.market.service;
+
+import com.luxegem.market.model.CryptoPrices;
+import com.luxegem.market.model.CryptoPricesResponse;
+import com.luxegem.market.model.DiamondPrices;
+import com.luxegem.market.model.DiamondRatesResponse;
+import com.luxegem.market.model.FxRates;
+import com.luxegem.market.model.MarketOverviewResponse;
+import com.luxegem.market.model.MetalPrices;
+import com.luxegem.market.model.MetalPricesResponse;
+import com.luxegem.market.model.MetalRateResponse;
+import com.luxegem.market.model.SpotRateTableResponse;
+
+import java.util.Map;
+
+/**
+ * One poll of the market data providers, with every endpoint's response
+ * already assembled. Immutable once published, so requests share it without
+ * copying.
+ *
+ * @param refreshedAt when this snapshot was published, epoch millis
+ * @param metalRates  {@code /rates/{metal}} responses by lower-case metal
+ * @param spotRates   spot prices converted to INR per gram by purity
+ */
+record MarketSnapshot(
+        Feed<CryptoPrices> crypto,
+        Feed<MetalPrices> metals,
+        Feed<DiamondPrices> diamonds,
+        Feed<FxRates> fx,
+        long refreshedAt,
+        CryptoPricesResponse cryptoRates,
+        MetalPricesResponse metalsRates,
+        DiamondRatesResponse diamondRates,
+        Map<String, MetalRateResponse> metalRates,
+        MarketOverviewResponse overview,
+        SpotRateTableResponse spotRates
+) {
+
+    /**
+     * The last prices received for one feed.
+     *
+     * @param provider  name of the provider configured for the feed
+     * @param updatedAt when they were fetched, epoch millis; kept from the last success while the provider fails
+     * @param live      false while serving built-in fallback prices because the provider has never answered
+     */
+    record Feed<T>(String provider, T data, long updatedAt, boolean live) {
+
+        String source() {
+            return live ? "live" : "fallback";
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.luxegem.market.service;
+
+import com.luxegem.market.model.MarketRateResponse;
+import com.luxegem.market.model.PurityRate;
+import com.luxegem.market.model.PurityRateTableResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Per-purity metal rates, kept in memory as an immutable, versioned table.
+ * The table is rebuilt from {@link MarketReadModel}'s rates on a short interval; the
+ * version only moves when a rate actually changes, so consumers can poll it
+ * cheaply and skip unchanged tables.
+ *
+ * <p>Rates quoted in {@code market_rates} (e.g. {@code GOLD (22K)}) are used
+ * as is. The other standard purities of a metal are derived from its finest
+ * quoted rate by fineness: 18K gold is 18/24 of the 24K rate, 925 silver is
+ * 925/999 of the 999 rate.
+ */
+@Service
+public class PurityRateService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PurityRateService.class);
+
+    private static final Pattern LABEL = Pattern.compile("^\\s*([A-Za-z]+)\\s*(?:\\(\\s*([^)]*?)\\s*\\))?\\s*$");
+
+    /** Purities quoted for each metal, finest first; the first is assumed when a rate names no purity. */
+    private static final Map<String, List<String>> STANDARD_PURITIES = Map.of(
+            "GOLD", List.of("24K", "22K", "18K", "14K"),
+            "SILVER", List.of("999", "925"),
+            "PLATINUM", List.of("950"));
+
+    private final MarketReadModel marketReadModel;
+    private volatile PurityRateTableResponse table =
+            new PurityRateTableResponse(0, System.currentTimeMillis(), List.of());
+
+    public PurityRateService(MarketReadModel marketReadModel) {
+        this.marketReadModel = marketReadModel;
+    }
+
+    public PurityRateTableResponse current() {
+        return table;
+    }
+
+    @Scheduled(fixedDelayString = "${market.purity-rates.refresh-ms:5000}")
+    public synchronized void refresh() {
+        List<PurityRate> rates = derive(marketReadModel.rates().value());
+        PurityRateTableResponse previous = table;
+        if (!rates.equals(previous.rates())) {
+            table = new PurityRateTableResponse(previous.version() + 1, System.currentTimeMillis(),
+                    List.copyOf(rates));
+            logger.info("Purity rate table v{}: {} rates", previous.version() + 1, rates.size());
+        }
+    }
+
+    /** Metal and purity named by a {@code market_rates} label, both upper-case. */
+    record RateKey(String metal, String purity) {
+    }
+
+    /** {@code GOLD (22K)} is GOLD 22K, {@code PLATINUM} is PLATINUM 950; {@code null} when not a rate label. */
+    static RateKey key(String label) {
+        Matcher matcher = label == null ? null : LABEL.matcher(label);
+        if (matcher == null || !matcher.matches()) {
+            return null;
+        }
+        String metal = matcher.group(1).toUpperCase(Locale.ROOT);
+        String purity = matcher.group(2) == null || matcher.group(2).isEmpty()
+                ? STANDARD_PURITIES.getOrDefault(metal, List.of("")).get(0)
+                : matcher.group(2).toUpperCase(Locale.ROOT);
+        return new RateKey(metal, purity);
+    }
+
+    static List<PurityRate> derive(List<MarketRateResponse> marketRates) {
+        Map<String, Map<String, Double>> quoted = new TreeMap<>();
+        for (MarketRateResponse rate : marketRates) {
+            RateKey key = key(rate.metal());
+            if (key == null || rate.pricePerGram() <= 0) {
+                continue;
+            }
+            quoted.computeIfAbsent(key.metal(), metal -> new LinkedHashMap<>()).put(key.purity(), rate.pricePerGram());
+        }
+
+        List<PurityRate> rates = new ArrayList<>();
+        quoted.forEach((metal, byPurity) -> {
+            String base = byPurity.keySet().stream()
+                    .max(Comparator.comparingDouble(PurityRateService::fineness))
+                    .orElseThrow();
+            double basePrice = byPurity.get(base);
+            double baseFineness = fineness(base);
+
+            List<String> purities = new ArrayList<>(STANDARD_PURITIES.getOrDefault(metal, List.of()));
+            byPurity.keySet().stream().filter(purity -> !purities.contains(purity)).forEach(purities::add);
+            purities.sort(Comparator.comparingDouble(PurityRateService::fineness).reversed());
+            for (String purity : purities) {
+                Double price = byPurity.get(purity);
+                if (price != null) {
+                    rates.add(new PurityRate(metal, purity, price, false));
+                } else if (baseFineness > 0 && fineness(purity) > 0) {
+                    double derived = Math.round(basePrice * fineness(purity) / baseFineness * 100) / 100.0;
+                    rates.add(new PurityRate(metal, purity, derived, true));
+                }
+            }
+        });
+        return rates;
+    }
+
+    /** {@code 22K} is 22/24, {@code 925} is 0.925, {@code 99} is 0.99; zero when unknown. */
+    static double fineness(String purity) {
+        try {
+            if (purity.endsWith("K")) {
+                return Double.parseDouble(purity.substring(0, purity.length() - 1)) / 24;
+            }
+            double value = Double.parseDouble(purity);
+            return value >= 100 ? value / 1000 : value / 100;
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
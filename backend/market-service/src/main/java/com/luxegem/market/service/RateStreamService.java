@@ -0,0 +1,228 @@
+package com.luxegem.market.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.luxegem.market.model.MarketRateResponse;
+import com.luxegem.market.model.PurityRate;
+import com.luxegem.market.model.RateStreamEvent;
+import com.luxegem.market.model.SpotRateTableResponse;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Pushes market rate changes to every subscriber over server-sent events.
+ *
+ * <p>There is one sink: an immutable state holding the latest event of each
+ * metal, each tagged with the publish sequence number that produced it, and
+ * its JSON serialized once. Publishing swaps the state and wakes every
+ * subscriber. A subscriber keeps only the sequence number it has sent up to
+ * and, when woken, sends the metals that changed since then from whatever
+ * the state is at that moment. A slow consumer therefore skips intermediate
+ * values instead of queueing them, and each subscriber costs one emitter and
+ * a few fields, not a buffer.
+ *
+ * <p>Rates follow the live price pipeline: while the converted spot table is
+ * fresh, each market rate is streamed at its converted INR per gram as soon
+ * as a new table is built, without waiting for it to reach the database.
+ * Otherwise, and for rates the table does not cover, the stored rate is
+ * streamed.
+ *
+ * <p>Sends run on a small dedicated pool with at most one task per
+ * subscriber, so a stalled connection ties up one sender thread rather than
+ * the scheduler or request threads.
+ */
+@Service
+public class RateStreamService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RateStreamService.class);
+
+    private record Published(long seq, RateStreamEvent event, String json) {
+    }
+
+    /** @param metals latest event per metal, in market rate order */
+    private record State(long seq, Map<String, Published> metals) {
+    }
+
+    private final MarketReadModel marketReadModel;
+    private final MarketDataService marketDataService;
+    private final TickHistoryService tickHistoryService;
+    private final ObjectMapper objectMapper;
+    private final long timeoutMs;
+    private final ExecutorService senders;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private volatile State state = new State(0, Map.of());
+    private long publishedRatesVersion;
+    private long publishedSpotVersion;
+
+    public RateStreamService(
+            MarketReadModel marketReadModel,
+            MarketDataService marketDataService,
+            TickHistoryService tickHistoryService,
+            ObjectMapper objectMapper,
+            @Value("${market.stream.send-threads:8}") int sendThreads,
+            @Value("${market.stream.timeout-ms:1800000}") long timeoutMs) {
+        this.marketReadModel = marketReadModel;
+        this.marketDataService = marketDataService;
+        this.tickHistoryService = tickHistoryService;
+        this.objectMapper = objectMapper;
+        this.timeoutMs = timeoutMs;
+        this.senders = Executors.newFixedThreadPool(sendThreads, new CustomizableThreadFactory("rate-stream-"));
+    }
+
+    /** A new subscription; the current rate of every metal is sent first, then each change. */
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+        // Clients reconnect on their own; ending the response releases the connection cleanly.
+        emitter.onTimeout(emitter::complete);
+        subscribers.add(subscriber);
+        subscriber.signal();
+        return emitter;
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    /**
+     * Publishes the metals whose rate changed since the spot table or read
+     * model version last published. Both checks are in memory.
+     */
+    @Scheduled(fixedDelayString = "${market.stream.check-ms:500}")
+    public void publishChanges() {
+        MarketReadModel.Versioned<List<MarketRateResponse>> rates = marketReadModel.rates();
+        SpotRateTableResponse spot = marketDataService.getSpotRates();
+        if (rates.version() == 0
+                || (rates.version() == publishedRatesVersion && spot.version() == publishedSpotVersion)) {
+            return;
+        }
+        Map<PurityRateService.RateKey, Double> live = new HashMap<>();
+        if (spot.fresh()) {
+            for (PurityRate rate : spot.rates()) {
+                live.put(new PurityRateService.RateKey(rate.metal(), rate.purity()), rate.pricePerGram());
+            }
+        }
+        State previous = state;
+        long seq = previous.seq();
+        long now = System.currentTimeMillis();
+        Map<String, Published> metals = new LinkedHashMap<>();
+        for (MarketRateResponse rate : rates.value()) {
+            double price = live.getOrDefault(PurityRateService.key(rate.metal()), rate.pricePerGram());
+            Published last = previous.metals().get(rate.metal());
+            if (last != null && last.event().pricePerGram() == price
+                    && Objects.equals(last.event().unit(), rate.unit())
+                    && Objects.equals(last.event().currency(), rate.currency())) {
+                metals.put(rate.metal(), last);
+                continue;
+            }
+            RateStreamEvent event = new RateStreamEvent(rate.metal(), price, rate.unit(), rate.currency(),
+                    tickHistoryService.dayChangePercent(rate.metal(), price, now), now);
+            metals.put(rate.metal(), new Published(++seq, event, json(event)));
+        }
+        publishedRatesVersion = rates.version();
+        publishedSpotVersion = spot.version();
+        if (seq != previous.seq()) {
+            state = new State(seq, Collections.unmodifiableMap(metals));
+            subscribers.forEach(Subscriber::signal);
+            logger.info("Published {} rate changes to {} subscribers", seq - previous.seq(), subscribers.size());
+        }
+    }
+
+    /** Keeps idle connections open through proxies and finds the ones that have gone away. */
+    @Scheduled(fixedDelayString = "${market.stream.heartbeat-ms:15000}")
+    public void heartbeat() {
+        subscribers.forEach(subscriber -> {
+            subscriber.heartbeatDue = true;
+            subscriber.signal();
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        senders.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    }
+
+    private String json(RateStreamEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean heartbeatDue;
+        // Only touched by the sender holding draining.
+        private long sentSeq;
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void signal() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    senders.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    draining.set(false);
+                }
+            }
+        }
+
+        /** Sends what changed since the last send; loops if more was published meanwhile. */
+        private void drain() {
+            try {
+                do {
+                    State current = state;
+                    boolean sent = false;
+                    for (Published published : current.metals().values()) {
+                        if (published.seq() > sentSeq) {
+                            emitter.send(SseEmitter.event()
+                                    .id(Long.toString(published.seq()))
+                                    .name("rate")
+                                    .data(published.json(), MediaType.APPLICATION_JSON));
+                            sent = true;
+                        }
+                    }
+                    sentSeq = current.seq();
+                    if (heartbeatDue && !sent) {
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                    }
+                    heartbeatDue = false;
+                    draining.set(false);
+                } while ((state.seq() > sentSeq || heartbeatDue) && draining.compareAndSet(false, true));
+            } catch (IOException | IllegalStateException e) {
+                // The connection is gone; the container completes the emitter.
+                subscribers.remove(this);
+            }
+        }
+    }
+}
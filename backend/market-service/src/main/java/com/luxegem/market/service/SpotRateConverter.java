@@ -0,0 +1,69 @@
+package com.luxegem.market.service;
+
+import com.luxegem.market.model.FxRates;
+import com.luxegem.market.model.MarketRateResponse;
+import com.luxegem.market.model.MetalPrices;
+import com.luxegem.market.model.PurityRate;
+import com.luxegem.market.model.SpotRateTableResponse;
+
+import java.util.List;
+
+/**
+ * The conversion stage of the market data pipeline: spot prices in USD per
+ * troy ounce and the USD/INR rate in, INR per gram for every standard
+ * purity out. Each metal's spot price is taken as its finest standard
+ * purity (24K, 999, 950) and the other purities are derived by fineness,
+ * the same way as {@link PurityRateService}.
+ *
+ * <p>The converted rates are cached with the inputs they came from and only
+ * recomputed when a spot price or the exchange rate changes; polls that
+ * bring the same inputs just refresh the freshness fields.
+ */
+final class SpotRateConverter {
+
+    static final double GRAMS_PER_TROY_OUNCE = 31.1034768;
+
+    private final long maxMetalsAgeMs;
+    private final long maxFxAgeMs;
+    private MetalPrices convertedMetals;
+    private FxRates convertedFx;
+    private List<PurityRate> rates = List.of();
+    private long version;
+    private long changedAt;
+
+    SpotRateConverter(long maxMetalsAgeMs, long maxFxAgeMs) {
+        this.maxMetalsAgeMs = maxMetalsAgeMs;
+        this.maxFxAgeMs = maxFxAgeMs;
+    }
+
+    synchronized SpotRateTableResponse apply(MarketSnapshot.Feed<MetalPrices> metals,
+            MarketSnapshot.Feed<FxRates> fx, long now) {
+        if (!metals.data().equals(convertedMetals) || !fx.data().equals(convertedFx)) {
+            List<PurityRate> converted = convert(metals.data(), fx.data());
+            if (!converted.equals(rates)) {
+                rates = converted;
+                version++;
+                changedAt = now;
+            }
+            convertedMetals = metals.data();
+            convertedFx = fx.data();
+        }
+        boolean fresh = metals.live() && fx.live()
+                && now - metals.updatedAt() <= maxMetalsAgeMs
+                && now - fx.updatedAt() <= maxFxAgeMs;
+        return new SpotRateTableResponse(version, changedAt, fx.data().usdInr(), metals.updatedAt(),
+                fx.updatedAt(), metals.source(), fx.source(), fresh, rates);
+    }
+
+    static List<PurityRate> convert(MetalPrices metals, FxRates fx) {
+        return List.copyOf(PurityRateService.derive(List.of(
+                perGram("GOLD", metals.gold(), fx),
+                perGram("SILVER", metals.silver(), fx),
+                perGram("PLATINUM", metals.platinum(), fx))));
+    }
+
+    private static MarketRateResponse perGram(String metal, double usdPerOunce, FxRates fx) {
+        double inrPerGram = Math.round(usdPerOunce * fx.usdInr() / GRAMS_PER_TROY_OUNCE * 100) / 100.0;
+        return new MarketRateResponse(metal, inrPerGram, "g", "INR", 0);
+    }
+}
@@ -0,0 +1,99 @@
+package com.luxegem.market.service;
+
+import com.luxegem.market.entity.MarketRateEntity;
+import com.luxegem.market.model.PurityRate;
+import com.luxegem.market.model.SpotRateTableResponse;
+import com.luxegem.market.repository.MarketRateRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Makes the converted spot table the live source of {@code market_rates}.
+ * Whenever a new, fresh version of the table appears, each existing rate row
+ * whose metal and purity it covers is set to the converted INR per gram, and
+ * the finest purity of a metal with no row yet is added. Everything reading
+ * {@code market_rates} then moves with the market: the read model and its
+ * ETags, the per-purity table invoice-service quotes, reprices and values
+ * stock from, the tick history and the rate stream.
+ *
+ * <p>Stale or fallback tables are never written, so an outage leaves the
+ * last good rates in place rather than built-in defaults.
+ */
+@Service
+public class SpotRatePublisher {
+
+    private static final Logger logger = LoggerFactory.getLogger(SpotRatePublisher.class);
+
+    private final MarketDataService marketDataService;
+    private final MarketRateRepository marketRateRepository;
+    private final MarketReadModel marketReadModel;
+    private final TickHistoryService tickHistoryService;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private long publishedVersion;
+
+    public SpotRatePublisher(
+            MarketDataService marketDataService,
+            MarketRateRepository marketRateRepository,
+            MarketReadModel marketReadModel,
+            TickHistoryService tickHistoryService,
+            PlatformTransactionManager transactionManager,
+            @Value("${market.spot-rates.publish:true}") boolean enabled) {
+        this.marketDataService = marketDataService;
+        this.marketRateRepository = marketRateRepository;
+        this.marketReadModel = marketReadModel;
+        this.tickHistoryService = tickHistoryService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+    }
+
+    /** Writes a converted table newer than the last one written. In-memory check only. */
+    @Scheduled(fixedDelayString = "${market.spot-rates.publish-check-ms:1000}")
+    public void publishIfChanged() {
+        SpotRateTableResponse table = marketDataService.getSpotRates();
+        if (!enabled || !table.fresh() || table.version() == publishedVersion) {
+            return;
+        }
+        Integer changed = transactionTemplate.execute(status -> write(table.rates()));
+        publishedVersion = table.version();
+        if (changed != null && changed > 0) {
+            // Hand the new rates on now rather than at the read model's next poll.
+            marketReadModel.refresh();
+            logger.info("Published {} market rates from spot table v{} (USD/INR {})", changed, table.version(),
+                    table.usdInr());
+        }
+    }
+
+    private int write(List<PurityRate> converted) {
+        Map<PurityRateService.RateKey, PurityRate> byKey = new HashMap<>();
+        converted.forEach(rate -> byKey.put(new PurityRateService.RateKey(rate.metal(), rate.purity()), rate));
+
+        long now = System.currentTimeMillis();
+        List<MarketRateEntity> changed = new ArrayList<>();
+        for (MarketRateEntity entity : marketRateRepository.findAll()) {
+            PurityRate rate = byKey.remove(PurityRateService.key(entity.getMetal()));
+            if (rate != null && rate.pricePerGram() != entity.getPricePerGram()) {
+                entity.update(rate.pricePerGram(),
+                        tickHistoryService.dayChangePercent(entity.getMetal(), rate.pricePerGram(), now));
+                changed.add(entity);
+            }
+        }
+        // Derived purities without a row are left to PurityRateService.
+        byKey.values().stream()
+                .filter(rate -> !rate.derived())
+                .forEach(rate -> changed.add(new MarketRateEntity(rate.metal() + " (" + rate.purity() + ")",
+                        rate.pricePerGram(), "g", "INR", 0)));
+        marketRateRepository.saveAll(changed);
+        return changed.size();
+    }
+}
@@ -0,0 +1,63 @@
+package com.luxegem.market.service;
+
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Installs {@code table_versions}: one counter per table behind
+ * {@link MarketReadModel}, bumped by a statement-level trigger on every
+ * insert, update, delete or truncate. Whoever writes the table (ingestion,
+ * the seed data, an operator's SQL), the read model sees the counter move and
+ * reloads that table. Loads the read model once the triggers are in place.
+ */
+@Component
+@Order(10)
+public class TableVersionInstaller implements CommandLineRunner {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final MarketReadModel marketReadModel;
+
+    public TableVersionInstaller(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+            MarketReadModel marketReadModel) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.marketReadModel = marketReadModel;
+    }
+
+    @Override
+    public void run(String... args) {
+        transactionTemplate.executeWithoutResult(status -> install());
+        marketReadModel.refresh();
+    }
+
+    private void install() {
+        jdbcTemplate.execute("""
+                CREATE TABLE IF NOT EXISTS table_versions (
+                    table_name varchar(64) PRIMARY KEY,
+                    version bigint NOT NULL
+                )
+                """);
+        jdbcTemplate.execute("""
+                CREATE OR REPLACE FUNCTION bump_table_version() RETURNS trigger
+                LANGUAGE plpgsql AS $$
+                BEGIN
+                    INSERT INTO table_versions AS v (table_name, version) VALUES (TG_TABLE_NAME, 1)
+                    ON CONFLICT (table_name) DO UPDATE SET version = v.version + 1;
+                    RETURN NULL;
+                END
+                $$
+                """);
+        for (String table : MarketReadModel.TABLES) {
+            jdbcTemplate.execute(String.format("""
+                    CREATE OR REPLACE TRIGGER trg_%1$s_version
+                    AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON %1$s
+                    FOR EACH STATEMENT EXECUTE FUNCTION bump_table_version()
+                    """, table));
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.luxegem.market.service;
+
+import com.luxegem.market.model.CandleResponse;
+import com.luxegem.market.model.MarketRateResponse;
+import com.luxegem.market.model.MetalPricesResponse;
+import com.luxegem.market.model.TickResponse;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.ZoneId;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Price history per instrument: every rate in {@code market_rates} (INR per
+ * gram, e.g. {@code GOLD (24K)}) and the live metal spot prices (USD per
+ * ounce, {@code XAU/USD}, {@code XAG/USD}, {@code XPT/USD}). A tick is
+ * recorded whenever a price is republished.
+ *
+ * <p>Each tick goes to the instrument's in-memory {@link TickSeries}, which
+ * keeps recent ticks and rolls the tick into 1m, 1h and 1d candles as it
+ * arrives, and is appended to the on-disk {@link TickSegments}. Candle
+ * queries read only the pre-aggregated candles; raw ticks are read from disk
+ * at startup, to rebuild the candles, and for tick queries reaching past the
+ * in-memory buffer.
+ */
+@Service
+public class TickHistoryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TickHistoryService.class);
+
+    private final MarketReadModel marketReadModel;
+    private final MarketDataService marketDataService;
+    private final Path directory;
+    private final long segmentBytes;
+    private final int retentionDays;
+    private final int recentTicks;
+    private final ZoneId zone = ZoneId.systemDefault();
+    private final Map<CandleResolution, Integer> retention = new EnumMap<>(CandleResolution.class);
+    private final Map<String, TickSeries> series = new ConcurrentHashMap<>();
+    private TickSegments segments;
+    private long recordedRatesVersion;
+    private long recordedSpotAt;
+
+    public TickHistoryService(
+            MarketReadModel marketReadModel,
+            MarketDataService marketDataService,
+            @Value("${market.history.dir:data/market-history}") String directory,
+            @Value("${market.history.segment-bytes:8388608}") long segmentBytes,
+            @Value("${market.history.retention-days:400}") int retentionDays,
+            @Value("${market.history.recent-ticks:1024}") int recentTicks,
+            @Value("${market.history.minute-candle-days:7}") int minuteCandleDays,
+            @Value("${market.history.hour-candle-days:90}") int hourCandleDays) {
+        this.marketReadModel = marketReadModel;
+        this.marketDataService = marketDataService;
+        this.directory = Path.of(directory);
+        this.segmentBytes = segmentBytes;
+        this.retentionDays = retentionDays;
+        this.recentTicks = recentTicks;
+        retention.put(CandleResolution.MINUTE, minuteCandleDays * 24 * 60);
+        retention.put(CandleResolution.HOUR, hourCandleDays * 24);
+        retention.put(CandleResolution.DAY, retentionDays);
+    }
+
+    /** Rebuilds candles and recent ticks from the segments on disk. */
+    @PostConstruct
+    void load() throws IOException {
+        long started = System.currentTimeMillis();
+        segments = new TickSegments(directory, segmentBytes, TimeUnit.DAYS.toMillis(retentionDays));
+        long[] ticks = new long[1];
+        segments.replay((instrument, time, price) -> {
+            seriesFor(instrument).add(time, price);
+            ticks[0]++;
+        });
+        logger.info("Loaded {} ticks for {} instruments from {} in {} ms", ticks[0], series.size(),
+                directory.toAbsolutePath(), System.currentTimeMillis() - started);
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        segments.close();
+    }
+
+    /** Records market rates and spot prices published since the last run. In-memory check only. */
+    @Scheduled(fixedDelayString = "${market.history.record-ms:1000}")
+    public void recordChanges() {
+        MarketReadModel.Versioned<List<MarketRateResponse>> rates = marketReadModel.rates();
+        if (rates.version() != 0 && rates.version() != recordedRatesVersion) {
+            long now = System.currentTimeMillis();
+            rates.value().forEach(rate -> record(rate.metal(), now, rate.pricePerGram()));
+            recordedRatesVersion = rates.version();
+        }
+
+        MetalPricesResponse spot = marketDataService.getMetalsPrices();
+        if ("live".equals(spot.source()) && spot.updatedAt() != recordedSpotAt) {
+            record("XAU/USD", spot.updatedAt(), spot.gold());
+            record("XAG/USD", spot.updatedAt(), spot.silver());
+            record("XPT/USD", spot.updatedAt(), spot.platinum());
+            recordedSpotAt = spot.updatedAt();
+        }
+    }
+
+    /** Adds a tick; it stays in memory even if writing it to disk fails. */
+    public void record(String instrument, long time, double price) {
+        if (instrument == null || !(price > 0)) {
+            return;
+        }
+        seriesFor(instrument).add(time, price);
+        try {
+            segments.append(instrument, time, price);
+        } catch (IOException e) {
+            logger.warn("Failed to write {} tick to {}: {}", instrument, directory, e.getMessage());
+        }
+    }
+
+    public List<String> instruments() {
+        return series.keySet().stream().sorted().toList();
+    }
+
+    /** The latest tick of an instrument, if it has any. */
+    public Optional<TickResponse> latest(String instrument) {
+        TickSeries ticks = series.get(instrument);
+        return Optional.ofNullable(ticks == null ? null : ticks.latest());
+    }
+
+    /**
+     * Percent change of {@code price} against the previous day's close (or the day's open when the
+     * instrument has no earlier day); zero without history.
+     */
+    public double dayChangePercent(String instrument, double price, long time) {
+        TickSeries ticks = series.get(instrument);
+        Double reference = ticks == null ? null : ticks.dayReference(time);
+        return reference == null || reference <= 0 ? 0 : Math.round((price - reference) / reference * 10000) / 100.0;
+    }
+
+    /** Up to {@code limit} of the latest ticks held in memory; empty for an unknown instrument. */
+    public Optional<List<TickResponse>> recentTicks(String instrument, int limit) {
+        return Optional.ofNullable(series.get(instrument))
+                .map(ticks -> ticks.recent(Long.MIN_VALUE, Long.MAX_VALUE, limit));
+    }
+
+    /** Up to {@code limit} of the latest candles starting in {@code [from, to]}; empty for an unknown instrument. */
+    public Optional<List<CandleResponse>> candles(String instrument, CandleResolution resolution, long from, long to,
+            int limit) {
+        return Optional.ofNullable(series.get(instrument))
+                .map(ticks -> ticks.candles(resolution, from, to, limit));
+    }
+
+    /**
+     * Up to {@code limit} of the latest ticks in {@code [from, to)}, from memory when the range is
+     * still buffered and from the segments otherwise; empty for an unknown instrument.
+     */
+    public Optional<List<TickResponse>> ticks(String instrument, long from, long to, int limit) {
+        TickSeries ticks = series.get(instrument);
+        if (ticks == null) {
+            return Optional.empty();
+        }
+        if (from >= ticks.oldestRecent()) {
+            return Optional.of(ticks.recent(from, to, limit));
+        }
+        Deque<TickResponse> latest = new ArrayDeque<>(limit);
+        try {
+            segments.scan(instrument, from, to, (name, time, price) -> {
+                if (latest.size() == limit) {
+                    latest.removeFirst();
+                }
+                latest.addLast(new TickResponse(time, price));
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return Optional.of(new ArrayList<>(latest));
+    }
+
+    private TickSeries seriesFor(String instrument) {
+        return series.computeIfAbsent(instrument, key -> new TickSeries(recentTicks, zone, retention));
+    }
+}
@@ -0,0 +1,194 @@
+package com.luxegem.market.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Tick history on disk as append-only segment files, read back through
+ * memory mapping. A segment is named after the time it was started,
+ * {@code ticks-<epoch millis>.seg}, and is self-contained:
+ *
+ * <pre>
+ * header      magic "LXTK" (int), format version (byte)
+ * instrument  1 (byte), id (short), name length (short), UTF-8 name
+ * tick        2 (byte), instrument id (short), epoch millis (long), price (double)
+ * </pre>
+ *
+ * An instrument record precedes the first tick of that instrument in each
+ * segment, so a tick costs 19 bytes. A new segment is started on every
+ * restart and once the current one reaches its size limit; segments wholly
+ * older than the retention period are deleted when a segment is started.
+ * A record cut short by a crash ends the segment.
+ */
+final class TickSegments implements Closeable {
+
+    /** Receives each tick read back from a segment. */
+    interface TickConsumer {
+        void accept(String instrument, long time, double price);
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(TickSegments.class);
+
+    private static final int MAGIC = 0x4C58544B;
+    private static final byte FORMAT_VERSION = 1;
+    private static final int HEADER_BYTES = 5;
+    private static final byte INSTRUMENT = 1;
+    private static final byte TICK = 2;
+    private static final int TICK_BYTES = 19;
+    private static final Pattern SEGMENT_NAME = Pattern.compile("ticks-(\\d+)\\.seg");
+
+    private final Path directory;
+    private final long segmentBytes;
+    private final long retentionMillis;
+    private final ByteBuffer record = ByteBuffer.allocate(TICK_BYTES);
+    private FileChannel current;
+    private final Map<String, Short> currentIds = new HashMap<>();
+
+    TickSegments(Path directory, long segmentBytes, long retentionMillis) throws IOException {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.retentionMillis = retentionMillis;
+        Files.createDirectories(directory);
+    }
+
+    /** Reads every tick in every segment, oldest segment first. */
+    void replay(TickConsumer consumer) throws IOException {
+        for (Segment segment : segments()) {
+            read(segment.path(), consumer);
+        }
+    }
+
+    /** Reads the ticks of one instrument in {@code [from, to)}, skipping segments outside the range. */
+    void scan(String instrument, long from, long to, TickConsumer consumer) throws IOException {
+        List<Segment> segments = segments();
+        for (int i = 0; i < segments.size(); i++) {
+            long start = segments.get(i).startedAt();
+            long end = i + 1 < segments.size() ? segments.get(i + 1).startedAt() : Long.MAX_VALUE;
+            if (start < to && end >= from) {
+                read(segments.get(i).path(), (name, time, price) -> {
+                    if (name.equals(instrument) && time >= from && time < to) {
+                        consumer.accept(name, time, price);
+                    }
+                });
+            }
+        }
+    }
+
+    synchronized void append(String instrument, long time, double price) throws IOException {
+        if (current == null || current.size() + TICK_BYTES > segmentBytes) {
+            startSegment(time);
+        }
+        Short id = currentIds.get(instrument);
+        if (id == null) {
+            id = (short) currentIds.size();
+            byte[] name = instrument.getBytes(StandardCharsets.UTF_8);
+            ByteBuffer definition = ByteBuffer.allocate(5 + name.length)
+                    .put(INSTRUMENT).putShort(id).putShort((short) name.length).put(name);
+            write(definition.flip());
+            currentIds.put(instrument, id);
+        }
+        record.clear();
+        write(record.put(TICK).putShort(id).putLong(time).putDouble(price).flip());
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (current != null) {
+            current.close();
+            current = null;
+        }
+    }
+
+    private record Segment(Path path, long startedAt) {
+    }
+
+    private List<Segment> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .map(path -> {
+                        Matcher name = SEGMENT_NAME.matcher(path.getFileName().toString());
+                        return name.matches() ? new Segment(path, Long.parseLong(name.group(1))) : null;
+                    })
+                    .filter(segment -> segment != null)
+                    .sorted((a, b) -> Long.compare(a.startedAt(), b.startedAt()))
+                    .toList();
+        }
+    }
+
+    private void startSegment(long time) throws IOException {
+        close();
+        currentIds.clear();
+        List<Segment> existing = segments();
+        // Each segment ends where the next begins; keep the last as the new one's predecessor.
+        for (int i = 0; i + 1 < existing.size(); i++) {
+            if (existing.get(i + 1).startedAt() < time - retentionMillis) {
+                Files.deleteIfExists(existing.get(i).path());
+                logger.info("Deleted expired tick segment {}", existing.get(i).path().getFileName());
+            }
+        }
+        long startedAt = existing.isEmpty() ? time : Math.max(time, existing.get(existing.size() - 1).startedAt() + 1);
+        Path path = directory.resolve("ticks-" + startedAt + ".seg");
+        current = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        write(ByteBuffer.allocate(HEADER_BYTES).putInt(MAGIC).put(FORMAT_VERSION).flip());
+    }
+
+    private void write(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            current.write(buffer);
+        }
+    }
+
+    private static void read(Path path, TickConsumer consumer) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.remaining() < HEADER_BYTES || buffer.getInt() != MAGIC || buffer.get() != FORMAT_VERSION) {
+            logger.warn("Skipping tick segment {}: not a version {} segment", path.getFileName(), FORMAT_VERSION);
+            return;
+        }
+        Map<Short, String> names = new HashMap<>();
+        while (buffer.hasRemaining()) {
+            int start = buffer.position();
+            byte type = buffer.get();
+            if (type == INSTRUMENT && buffer.remaining() >= 4) {
+                short id = buffer.getShort();
+                int length = buffer.getShort();
+                if (buffer.remaining() >= length) {
+                    byte[] name = new byte[length];
+                    buffer.get(name);
+                    names.put(id, new String(name, StandardCharsets.UTF_8));
+                    continue;
+                }
+            } else if (type == TICK && buffer.remaining() >= TICK_BYTES - 1) {
+                String name = names.get(buffer.getShort());
+                long time = buffer.getLong();
+                double price = buffer.getDouble();
+                if (name != null) {
+                    consumer.accept(name, time, price);
+                    continue;
+                }
+            }
+            logger.warn("Tick segment {} ends in an incomplete or unknown record at byte {}", path.getFileName(),
+                    start);
+            return;
+        }
+    }
+}
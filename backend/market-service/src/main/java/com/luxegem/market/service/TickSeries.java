@@ -0,0 +1,150 @@
+package com.luxegem.market.service;
+
+import com.luxegem.market.model.CandleResponse;
+import com.luxegem.market.model.TickResponse;
+
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * One instrument's history in memory: its latest ticks in a fixed-size ring
+ * buffer, and open/high/low/close candles per {@link CandleResolution},
+ * updated in place as each tick arrives. Candles older than their
+ * resolution's retention are dropped.
+ */
+final class TickSeries {
+
+    private static final class Candle {
+        long openTime;
+        long closeTime;
+        double open;
+        double high;
+        double low;
+        double close;
+        long ticks;
+
+        Candle(long time, double price) {
+            openTime = closeTime = time;
+            open = high = low = close = price;
+            ticks = 1;
+        }
+
+        void add(long time, double price) {
+            if (time < openTime) {
+                openTime = time;
+                open = price;
+            }
+            if (time >= closeTime) {
+                closeTime = time;
+                close = price;
+            }
+            high = Math.max(high, price);
+            low = Math.min(low, price);
+            ticks++;
+        }
+    }
+
+    private final long[] times;
+    private final double[] prices;
+    private int next;
+    private int size;
+    private final ZoneId zone;
+    private final Map<CandleResolution, Integer> retention;
+    private final Map<CandleResolution, NavigableMap<Long, Candle>> candles = new EnumMap<>(CandleResolution.class);
+
+    /**
+     * @param recentTicks ticks kept in the ring buffer
+     * @param retention   buckets kept per resolution
+     */
+    TickSeries(int recentTicks, ZoneId zone, Map<CandleResolution, Integer> retention) {
+        this.times = new long[recentTicks];
+        this.prices = new double[recentTicks];
+        this.zone = zone;
+        this.retention = retention;
+        for (CandleResolution resolution : CandleResolution.values()) {
+            candles.put(resolution, new TreeMap<>());
+        }
+    }
+
+    synchronized void add(long time, double price) {
+        times[next] = time;
+        prices[next] = price;
+        next = (next + 1) % times.length;
+        size = Math.min(size + 1, times.length);
+
+        candles.forEach((resolution, buckets) -> {
+            long bucket = resolution.bucketStart(time, zone);
+            Candle candle = buckets.get(bucket);
+            if (candle == null) {
+                buckets.put(bucket, new Candle(time, price));
+                buckets.headMap(resolution.bucketsBefore(buckets.lastKey(), retention.get(resolution), zone)).clear();
+            } else {
+                candle.add(time, price);
+            }
+        });
+    }
+
+    /** The latest tick, or {@code null} before the first. */
+    synchronized TickResponse latest() {
+        if (size == 0) {
+            return null;
+        }
+        int last = (next - 1 + times.length) % times.length;
+        return new TickResponse(times[last], prices[last]);
+    }
+
+    /**
+     * The price a day's change is measured from: the close of the last day before the one holding
+     * {@code time}, or that day's open when there is no earlier day. {@code null} when neither exists.
+     */
+    synchronized Double dayReference(long time) {
+        NavigableMap<Long, Candle> days = candles.get(CandleResolution.DAY);
+        long today = CandleResolution.DAY.bucketStart(time, zone);
+        Map.Entry<Long, Candle> previous = days.lowerEntry(today);
+        if (previous != null) {
+            return previous.getValue().close;
+        }
+        Candle current = days.get(today);
+        return current == null ? null : current.open;
+    }
+
+    /** Time of the oldest tick still in the ring buffer; {@link Long#MAX_VALUE} when empty. */
+    synchronized long oldestRecent() {
+        return size == 0 ? Long.MAX_VALUE : times[(next - size + times.length) % times.length];
+    }
+
+    /** Up to {@code limit} of the latest ring buffer ticks in {@code [from, to)}, oldest first. */
+    synchronized List<TickResponse> recent(long from, long to, int limit) {
+        List<TickResponse> ticks = new ArrayList<>();
+        for (int i = 1; i <= size && ticks.size() < limit; i++) {
+            int index = (next - i + times.length) % times.length;
+            if (times[index] >= from && times[index] < to) {
+                ticks.add(new TickResponse(times[index], prices[index]));
+            }
+        }
+        Collections.reverse(ticks);
+        return ticks;
+    }
+
+    /** Up to {@code limit} of the latest candles starting in {@code [from, to]}, oldest first. */
+    synchronized List<CandleResponse> candles(CandleResolution resolution, long from, long to, int limit) {
+        List<CandleResponse> result = new ArrayList<>();
+        for (Map.Entry<Long, Candle> entry : candles.get(resolution).subMap(from, true, to, true)
+                .descendingMap().entrySet()) {
+            if (result.size() == limit) {
+                break;
+            }
+            Candle candle = entry.getValue();
+            result.add(new CandleResponse(entry.getKey(), candle.open, candle.high, candle.low, candle.close,
+                    candle.ticks));
+        }
+        Collections.reverse(result);
+        return result;
+    }
+}
@@ -2,6 +2,7 @@ import type {
   CreateNotificationPayload,
   MarkAllReadResponse,
   NotificationItem,
+  NotificationScope,
   UnreadCountResponse
 } from '../types/notification'
 
@@ -35,8 +36,12 @@ export async function fetchUnreadCount(token: string): Promise<UnreadCountRespon
   return (await response.json()) as UnreadCountResponse
 }
 
-export async function markNotificationAsRead(token: string, id: number): Promise<NotificationItem> {
-  const response = await fetch(`${API_URL}/api/dashboard/notifications/${id}/read`, {
+export async function markNotificationAsRead(
+  token: string,
+  id: number,
+  scope: NotificationScope = 'SHOP'
+): Promise<NotificationItem> {
+  const response = await fetch(`${API_URL}/api/dashboard/notifications/${id}/read?scope=${scope}`, {
     method: 'PATCH',
     headers: {
       Authorization: `Bearer ${token}`
@@ -200,6 +200,31 @@ export function MonolithicDashboard({
             </div>
           </div>
 
+          {/* Stock Valuation */}
+          {data.inventoryValuation && data.inventoryValuation.metals.length > 0 && (
+            <div className="metals-section">
+              <h2>🏦 Stock Value at Market Rates</h2>
+              <p className="kpi-meta">
+                {formatMoney(data.inventoryValuation.totalValue)} across {data.inventoryValuation.pieces} pieces
+                ({data.inventoryValuation.netWeightGrams.toFixed(3)} g)
+                {data.inventoryValuation.unquotedWeightGrams > 0 &&
+                  ` · ${data.inventoryValuation.unquotedWeightGrams.toFixed(3)} g without a market rate`}
+              </p>
+              <div className="metals-grid">
+                {data.inventoryValuation.metals.map((metal) => (
+                  <div key={`${metal.metalType}-${metal.purity}`} className="metal-card">
+                    <h4>{metal.metalType} {metal.purity}</h4>
+                    <p className="price">{metal.value === null ? 'No market rate' : formatMoney(metal.value)}</p>
+                    <p>
+                      {metal.netWeightGrams.toFixed(3)} g · {metal.pieces} pcs
+                      {metal.ratePerGram !== null && ` @ ${formatMoney(metal.ratePerGram)}/g`}
+                    </p>
+                  </div>
+                ))}
+              </div>
+            </div>
+          )}
+
           {/* Recent Invoices */}
           <div className="recent-section">
             <h2>📋 Recent Invoices</h2>
@@ -143,11 +143,11 @@ export function NotificationCenter() {
             ) : (
               notifications.map((notification) => (
                 <button
-                  key={notification.id}
+                  key={`${notification.scope}-${notification.id}`}
                   type="button"
                   role="listitem"
                   className={`notification-card ${!notification.isRead ? 'unread' : ''}`}
-                  onClick={() => void markOneAsRead(notification.id)}
+                  onClick={() => void markOneAsRead(notification.id, notification.scope)}
                 >
                   <span className={`notification-type-icon ${typeClass(notification.type)}`} aria-hidden="true">
                     {typeIcon(notification.type)}
@@ -6,7 +6,13 @@ import {
   markAllNotificationsAsRead,
   markNotificationAsRead
 } from '../api/notificationApi'
-import type { CreateNotificationPayload, NotificationItem, ToastItem, NotificationType } from '../types/notification'
+import type {
+  CreateNotificationPayload,
+  NotificationItem,
+  NotificationScope,
+  ToastItem,
+  NotificationType
+} from '../types/notification'
 
 interface NotificationContextValue {
   notifications: NotificationItem[]
@@ -18,7 +24,7 @@ interface NotificationContextValue {
   refreshNotifications: () => Promise<void>
   toggleDropdown: () => void
   closeDropdown: () => void
-  markOneAsRead: (id: number) => Promise<void>
+  markOneAsRead: (id: number, scope?: NotificationScope) => Promise<void>
   markAllAsRead: () => Promise<void>
   createNewNotification: (payload: CreateNotificationPayload) => Promise<void>
   pushToast: (payload: { title: string; message: string; type: NotificationType; durationMs?: number }) => void
@@ -84,12 +90,12 @@ export function NotificationProvider({ children }: { children: React.ReactNode }
   }, [authToken])
 
   const markOneAsRead = useCallback(
-    async (id: number) => {
+    async (id: number, scope: NotificationScope = 'SHOP') => {
       if (!authToken) {
         return
       }
 
-      await markNotificationAsRead(authToken, id)
+      await markNotificationAsRead(authToken, id, scope)
       await refreshNotifications()
     },
     [authToken, refreshNotifications]
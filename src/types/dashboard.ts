@@ -54,12 +54,32 @@ export interface StockAlert {
   level: 'Critical' | 'Warning'
 }
 
+export interface MetalValuation {
+  metalType: string
+  purity: string
+  pieces: number
+  netWeightGrams: number
+  ratePerGram: number | null
+  value: number | null
+}
+
+export interface InventoryValuation {
+  rateVersion: number
+  ratesChangedAt: string | null
+  metals: MetalValuation[]
+  pieces: number
+  netWeightGrams: number
+  totalValue: number
+  unquotedWeightGrams: number
+}
+
 export interface DashboardPayload {
   overview: Overview
   marketRates: MarketRate[]
   invoices: Invoice[]
   salesByCategory: CategorySale[]
   stockAlerts: StockAlert[]
+  inventoryValuation: InventoryValuation | null
 }
 
 export interface CreateInvoicePayload {
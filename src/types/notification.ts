@@ -1,5 +1,7 @@
 export type NotificationType = 'SUCCESS' | 'WARNING' | 'ERROR' | 'INFO'
 
+export type NotificationScope = 'SHOP' | 'BROADCAST'
+
 export interface NotificationItem {
   id: number
   shopId: string
@@ -8,6 +10,9 @@ export interface NotificationItem {
   type: NotificationType
   isRead: boolean
   createdAt: string
+  occurrenceCount: number
+  referenceIds: string[]
+  scope: NotificationScope
 }
 
 export interface CreateNotificationPayload {